@@ -0,0 +1,56 @@
+#!/usr/bin/env python3
+"""Compare two JMH JSON result files (baseline vs candidate).
+
+Usage: benchmarks/compare.py baselines/<baseline>.json target/<candidate>.json [--threshold 5]
+
+Prints one line per benchmark/param combination with the score change and flags
+regressions larger than the threshold (percent) that are outside both error bounds.
+"""
+import argparse
+import json
+import sys
+
+
+def load(path):
+    with open(path) as f:
+        results = {}
+        for entry in json.load(f):
+            params = ",".join(f"{k}={v}" for k, v in sorted(entry.get("params", {}).items()))
+            key = f"{entry['benchmark'].rsplit('.', 2)[-2]}.{entry['benchmark'].rsplit('.', 1)[-1]}"
+            if params:
+                key += f" [{params}]"
+            metric = entry["primaryMetric"]
+            results[key] = (metric["score"], metric.get("scoreError") or 0.0, metric["scoreUnit"], entry["mode"])
+        return results
+
+
+def main():
+    parser = argparse.ArgumentParser()
+    parser.add_argument("baseline")
+    parser.add_argument("candidate")
+    parser.add_argument("--threshold", type=float, default=5.0)
+    args = parser.parse_args()
+
+    baseline, candidate = load(args.baseline), load(args.candidate)
+    regressions = 0
+    for key in sorted(set(baseline) | set(candidate)):
+        if key not in baseline or key not in candidate:
+            print(f"{'(new)' if key not in baseline else '(removed)':>10}  {key}")
+            continue
+        base, base_err, unit, mode = baseline[key]
+        cand, cand_err, _, _ = candidate[key]
+        change = (cand - base) / base * 100 if base else 0.0
+        # Lower is better for time-per-op modes, higher is better for throughput
+        worse = change > 0 if mode in ("avgt", "sample", "ss") else change < 0
+        significant = abs(cand - base) > (base_err + cand_err)
+        flag = ""
+        if worse and significant and abs(change) >= args.threshold:
+            flag = "  REGRESSION"
+            regressions += 1
+        print(f"{change:+9.1f}%  {key}: {base:.3f} -> {cand:.3f} {unit}{flag}")
+
+    sys.exit(1 if regressions else 0)
+
+
+if __name__ == "__main__":
+    main()
@@ -0,0 +1,21 @@
+#!/usr/bin/env bash
+# Record a baseline: full JMH run on the reference machine, written to
+# benchmarks/baselines/<yyyy-mm-dd>-<short-commit>.json.
+# Usage (from the repository root): benchmarks/record-baseline.sh [extra JMH options]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+if [ -n "$(git status --porcelain -- src benchmarks/src pom.xml benchmarks/pom.xml)" ]; then
+    echo "Uncommitted changes under src/ or benchmarks/: a baseline must match its commit" >&2
+    exit 1
+fi
+
+baseline="benchmarks/baselines/$(date +%F)-$(git rev-parse --short HEAD).json"
+mvn -q install -DskipTests
+mvn -q -f benchmarks/pom.xml package
+java -jar benchmarks/target/benchmarks.jar -rf json -rff "$baseline" "$@"
+
+echo "Baseline written: $baseline"
+echo "For the commit message:"
+echo "  CPU: $(grep -m1 'model name' /proc/cpuinfo 2>/dev/null | cut -d: -f2 | xargs || sysctl -n machdep.cpu.brand_string)"
+echo "  JDK: $(java -version 2>&1 | head -1)"
@@ -0,0 +1,99 @@
+package com.templatemanagement.benchmarks;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.templatemanagement.dto.TemplateVendorMappingDto;
+import com.templatemanagement.dto.response.TemplateResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding of a template version with its vendor mappings in each body format the
+ * REST API negotiates. Run {@link #main} for the encoded sizes of the same payloads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinaryFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"4", "32"})
+    public int fieldsPerConfig;
+
+    @Param({"5", "50"})
+    public int vendorMappings;
+
+    private ObjectMapper objectMapper;
+    private TemplateResponse templateResponse;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = CatalogFixtures.objectMapper(factory(format));
+        templateResponse = templateResponse(fieldsPerConfig, vendorMappings);
+        encoded = objectMapper.writeValueAsBytes(templateResponse);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return objectMapper.writeValueAsBytes(templateResponse);
+    }
+
+    @Benchmark
+    public TemplateResponse decode() throws IOException {
+        return objectMapper.readValue(encoded, TemplateResponse.class);
+    }
+
+    /**
+     * Prints the encoded size of each benchmark payload per format
+     */
+    public static void main(String[] args) throws IOException {
+        System.out.printf("%-16s %-15s %10s %10s %10s%n", "fieldsPerConfig", "vendorMappings", "json", "cbor", "smile");
+        for (int fields : new int[] {4, 32}) {
+            for (int vendors : new int[] {5, 50}) {
+                TemplateResponse response = templateResponse(fields, vendors);
+                int json = CatalogFixtures.objectMapper(factory("json")).writeValueAsBytes(response).length;
+                int cbor = CatalogFixtures.objectMapper(factory("cbor")).writeValueAsBytes(response).length;
+                int smile = CatalogFixtures.objectMapper(factory("smile")).writeValueAsBytes(response).length;
+                System.out.printf("%-16d %-15d %10d %10s %10s%n", fields, vendors, json,
+                        cbor + " (" + 100 * cbor / json + "%)", smile + " (" + 100 * smile / json + "%)");
+            }
+        }
+    }
+
+    private static TemplateResponse templateResponse(int fieldsPerConfig, int vendorMappings) {
+        UUID templateId = UUID.randomUUID();
+        List<TemplateVendorMappingDto> vendors =
+                CatalogFixtures.vendorMappings(templateId, 1, vendorMappings, fieldsPerConfig);
+        return TemplateResponse.of(CatalogFixtures.template(templateId, 1, fieldsPerConfig), vendors);
+    }
+
+    private static JsonFactory factory(String format) {
+        return switch (format) {
+            case "cbor" -> new CBORFactory();
+            case "smile" -> new SmileFactory();
+            default -> new JsonFactory();
+        };
+    }
+}
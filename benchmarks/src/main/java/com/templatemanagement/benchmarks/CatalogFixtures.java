@@ -0,0 +1,150 @@
+package com.templatemanagement.benchmarks;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.templatemanagement.dto.MasterTemplateDto;
+import com.templatemanagement.dto.TemplateVendorMappingDto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Synthetic templates and vendor mappings shaped like production rows. Each JSON column holds
+ * {@code fieldsPerConfig} entries, a mix of scalars, small lists and one level of nesting.
+ */
+public final class CatalogFixtures {
+
+    private static final String[] VENDORS = {"SmartComm", "Assentis", "LPS", "Messagepoint"};
+    private static final String[] VENDOR_TYPES = {"GENERATION", "PRINT", "EMAIL"};
+
+    private CatalogFixtures() {
+    }
+
+    /**
+     * ObjectMapper configured like the application's Spring Boot mapper
+     */
+    public static ObjectMapper objectMapper() {
+        return objectMapper(new JsonFactory());
+    }
+
+    /**
+     * Same configuration over another Jackson format (CBOR, Smile)
+     */
+    public static ObjectMapper objectMapper(JsonFactory factory) {
+        return new ObjectMapper(factory)
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    public static MasterTemplateDto template(UUID masterTemplateId, int templateVersion, int fieldsPerConfig) {
+        LocalDateTime now = LocalDateTime.now();
+        return MasterTemplateDto.builder()
+                .masterTemplateId(masterTemplateId)
+                .templateVersion(templateVersion)
+                .legacyTemplateId("LEG-" + templateVersion)
+                .legacyTemplateName("Legacy statement " + templateVersion)
+                .templateName("Monthly Statement")
+                .templateDescription("Monthly credit card statement with rewards summary")
+                .lineOfBusiness("CREDIT_CARD")
+                .templateCategory("STATEMENT")
+                .templateType("MONTHLY_STATEMENT_" + masterTemplateId.toString().substring(0, 8))
+                .languageCode("en")
+                .owningDept("CARD_SERVICING")
+                .notificationNeeded(true)
+                .regulatoryFlag(true)
+                .messageCenterDocFlag(true)
+                .displayName("Monthly Statement")
+                .activeFlag(true)
+                .sharedDocumentFlag(false)
+                .sharingScope("ACCOUNT")
+                .templateVariables(config("variable", fieldsPerConfig))
+                .dataExtractionConfig(config("extract", fieldsPerConfig))
+                .documentMatchingConfig(config("match", fieldsPerConfig))
+                .eligibilityCriteria(config("rule", fieldsPerConfig))
+                .accessControl(config("role", fieldsPerConfig))
+                .requiredFields(config("field", fieldsPerConfig))
+                .templateConfig(config("setting", fieldsPerConfig))
+                .startDate(1_700_000_000_000L)
+                .endDate(1_900_000_000_000L)
+                .createdBy("benchmark")
+                .createdTimestamp(now)
+                .updatedBy("benchmark")
+                .updatedTimestamp(now)
+                .recordStatus("ACTIVE")
+                .communicationType("LETTER")
+                .workflow("STANDARD")
+                .singleDocumentFlag(true)
+                .build();
+    }
+
+    public static TemplateVendorMappingDto vendorMapping(UUID masterTemplateId, int templateVersion, int index, int fieldsPerConfig) {
+        LocalDateTime now = LocalDateTime.now();
+        return TemplateVendorMappingDto.builder()
+                .templateVendorId(UUID.randomUUID())
+                .masterTemplateId(masterTemplateId)
+                .templateVersion(templateVersion)
+                .vendor(VENDORS[index % VENDORS.length])
+                .vendorTemplateKey("VTK-" + index)
+                .vendorTemplateName("Vendor template " + index)
+                .referenceKeyType("TEMPLATE_ID")
+                .startDate(1_700_000_000_000L)
+                .endDate(1_900_000_000_000L)
+                .vendorMappingVersion(1)
+                .primaryFlag(index == 0)
+                .activeFlag(true)
+                .templateStatus("APPROVED")
+                .schemaInfo(config("schema", fieldsPerConfig))
+                .templateFields(config("templateField", fieldsPerConfig))
+                .vendorConfig(config("vendorSetting", fieldsPerConfig))
+                .apiConfig(config("api", fieldsPerConfig))
+                .createdBy("benchmark")
+                .createdTimestamp(now)
+                .updatedBy("benchmark")
+                .updatedTimestamp(now)
+                .recordStatus("ACTIVE")
+                .vendorType(VENDOR_TYPES[index % VENDOR_TYPES.length])
+                .priorityOrder(index + 1)
+                .supportedRegions(List.of("US-EAST", "US-WEST", "EU"))
+                .vendorStatus("ACTIVE")
+                .rateLimitPerMinute(600)
+                .rateLimitPerDay(500_000)
+                .timeoutMs(5_000)
+                .maxRetryAttempts(3)
+                .retryBackoffMs(250)
+                .costPerUnit(new BigDecimal("0.0125"))
+                .costUnit("PAGE")
+                .supportedFormats(List.of("PDF", "AFP", "HTML"))
+                .lastHealthCheck(now)
+                .lastHealthStatus("UP")
+                .healthCheckEndpoint("https://vendor.example.com/health")
+                .build();
+    }
+
+    public static List<TemplateVendorMappingDto> vendorMappings(UUID masterTemplateId, int templateVersion, int count, int fieldsPerConfig) {
+        List<TemplateVendorMappingDto> mappings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            mappings.add(vendorMapping(masterTemplateId, templateVersion, i, fieldsPerConfig));
+        }
+        return mappings;
+    }
+
+    private static Map<String, Object> config(String prefix, int fields) {
+        Map<String, Object> config = new LinkedHashMap<>();
+        for (int i = 0; i < fields; i++) {
+            switch (i % 4) {
+                case 0 -> config.put(prefix + i, "value-" + i);
+                case 1 -> config.put(prefix + i, i * 31);
+                case 2 -> config.put(prefix + i, List.of("a" + i, "b" + i, "c" + i));
+                default -> config.put(prefix + i, Map.of("enabled", true, "threshold", i, "label", prefix + "-" + i));
+            }
+        }
+        return config;
+    }
+}
@@ -0,0 +1,67 @@
+package com.templatemanagement.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.templatemanagement.dto.TemplateVendorMappingDto;
+import com.templatemanagement.dto.response.PaginationResponse;
+import com.templatemanagement.dto.response.TemplateResponse;
+import com.templatemanagement.dto.response.TemplateVendorPageResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson encoding of the two largest response bodies: a template version with its vendor
+ * mappings, and a page of vendor mappings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"4", "32"})
+    public int fieldsPerConfig;
+
+    @Param({"5", "50"})
+    public int vendorMappings;
+
+    private ObjectMapper objectMapper;
+    private TemplateResponse templateResponse;
+    private TemplateVendorPageResponse vendorPageResponse;
+
+    @Setup
+    public void setUp() {
+        objectMapper = CatalogFixtures.objectMapper();
+        UUID templateId = UUID.randomUUID();
+        List<TemplateVendorMappingDto> vendors =
+                CatalogFixtures.vendorMappings(templateId, 1, vendorMappings, fieldsPerConfig);
+
+        templateResponse = TemplateResponse.of(CatalogFixtures.template(templateId, 1, fieldsPerConfig), vendors);
+        vendorPageResponse = TemplateVendorPageResponse.of(vendors, PaginationResponse.of(0, vendorMappings, vendorMappings * 4L));
+    }
+
+    @Benchmark
+    public byte[] templateResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(templateResponse);
+    }
+
+    @Benchmark
+    public byte[] vendorPageResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(vendorPageResponse);
+    }
+}
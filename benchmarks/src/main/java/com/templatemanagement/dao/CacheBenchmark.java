@@ -0,0 +1,118 @@
+package com.templatemanagement.dao;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.templatemanagement.benchmarks.CatalogFixtures;
+import com.templatemanagement.dto.MasterTemplateDto;
+import com.templatemanagement.dto.TemplateVendorMappingDto;
+import com.templatemanagement.snapshot.CatalogSnapshot;
+import com.templatemanagement.snapshot.CatalogSnapshotHolder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DAO cache paths: key construction, cache-hit lookups under concurrent readers, and the
+ * prefix scans behind {@code invalidateListCache} / {@code invalidateTemplate}, at catalog sizes
+ * from a small deployment to a large one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CacheBenchmark {
+
+    private static final String[] VENDOR_TYPES = {"GENERATION", "PRINT", "EMAIL"};
+
+    @Param({"500", "5000"})
+    public int templates;
+
+    private MasterTemplateDao templateDao;
+    private TemplateVendorMappingDao vendorDao;
+    private UUID[] templateIds;
+    private UUID uncachedTemplateId;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = CatalogFixtures.objectMapper();
+        CatalogSnapshotHolder snapshotHolder = new CatalogSnapshotHolder();
+        // No repository reads here, so the mapping stage stays off
+        RowMappingStage rowMapping = new RowMappingStage(false, 0, 1, 1);
+        templateDao = new MasterTemplateDao(null, objectMapper, snapshotHolder, rowMapping, 30, templates * 2L);
+        vendorDao = new TemplateVendorMappingDao(null, objectMapper, snapshotHolder, rowMapping, 30, templates * 2L * VENDOR_TYPES.length);
+
+        templateIds = new UUID[templates];
+        List<MasterTemplateDto> templateDtos = new ArrayList<>(templates);
+        List<TemplateVendorMappingDto> vendorDtos = new ArrayList<>();
+        for (int i = 0; i < templates; i++) {
+            UUID templateId = UUID.randomUUID();
+            templateIds[i] = templateId;
+            templateDtos.add(CatalogFixtures.template(templateId, 1, 4));
+            vendorDtos.addAll(CatalogFixtures.vendorMappings(templateId, 1, VENDOR_TYPES.length * 2, 4));
+        }
+        CatalogSnapshot snapshot = new CatalogSnapshot(Instant.now(), templateDtos, vendorDtos);
+        templateDao.warmCache(snapshot.getTemplates());
+        vendorDao.warmCache(snapshot.getVendorMappings(), snapshot.getRoutingLists());
+        uncachedTemplateId = UUID.randomUUID();
+    }
+
+    @Benchmark
+    public String buildCacheKey() {
+        return templateDao.buildCacheKey(randomTemplateId(), 1);
+    }
+
+    @Benchmark
+    public String buildRoutingKey() {
+        return vendorDao.buildRoutingKey(randomTemplateId(), 1, "GENERATION");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public MasterTemplateDto templateCacheHit() {
+        return templateDao.findByIdAndVersion(randomTemplateId(), 1).block();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public List<TemplateVendorMappingDto> routingCacheHit() {
+        return vendorDao.findActiveVendorsForRouting(randomTemplateId(), 1, "GENERATION").collectList().block();
+    }
+
+    /**
+     * Full scan of the routing cache for a template with no cached lists (the common case after a write)
+     */
+    @Benchmark
+    public void invalidateListCacheScan() {
+        vendorDao.invalidateListCache(uncachedTemplateId);
+    }
+
+    /**
+     * Full scan of the template and vendor caches for a template with nothing cached
+     */
+    @Benchmark
+    public void invalidateTemplateScan() {
+        templateDao.invalidateTemplate(uncachedTemplateId);
+        vendorDao.invalidateTemplate(uncachedTemplateId);
+    }
+
+    private UUID randomTemplateId() {
+        return templateIds[ThreadLocalRandom.current().nextInt(templateIds.length)];
+    }
+}
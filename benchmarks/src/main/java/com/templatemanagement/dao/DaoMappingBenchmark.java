@@ -0,0 +1,68 @@
+package com.templatemanagement.dao;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.templatemanagement.benchmarks.CatalogFixtures;
+import com.templatemanagement.dto.MasterTemplateDto;
+import com.templatemanagement.dto.TemplateVendorMappingDto;
+import com.templatemanagement.entity.MasterTemplateDefinitionEntity;
+import com.templatemanagement.entity.TemplateVendorMappingEntity;
+import com.templatemanagement.snapshot.CatalogSnapshotHolder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping on the DAO read path: {@code MasterTemplateDao.toDto} parses seven JSON
+ * columns, {@code TemplateVendorMappingDao.toDto} converts four JsonNode columns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DaoMappingBenchmark {
+
+    @Param({"4", "32"})
+    public int fieldsPerConfig;
+
+    private MasterTemplateDao templateDao;
+    private TemplateVendorMappingDao vendorDao;
+    private MasterTemplateDefinitionEntity templateEntity;
+    private TemplateVendorMappingEntity vendorEntity;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = CatalogFixtures.objectMapper();
+        CatalogSnapshotHolder snapshotHolder = new CatalogSnapshotHolder();
+        // No repository reads here, so the mapping stage stays off
+        RowMappingStage rowMapping = new RowMappingStage(false, 0, 1, 1);
+        templateDao = new MasterTemplateDao(null, objectMapper, snapshotHolder, rowMapping, 30, 1000);
+        vendorDao = new TemplateVendorMappingDao(null, objectMapper, snapshotHolder, rowMapping, 30, 500);
+
+        UUID templateId = UUID.randomUUID();
+        templateEntity = templateDao.toEntity(CatalogFixtures.template(templateId, 1, fieldsPerConfig));
+        vendorEntity = vendorDao.toEntity(CatalogFixtures.vendorMapping(templateId, 1, 0, fieldsPerConfig));
+    }
+
+    @Benchmark
+    public MasterTemplateDto templateToDto() {
+        return templateDao.toDto(templateEntity);
+    }
+
+    @Benchmark
+    public TemplateVendorMappingDto vendorToDto() {
+        return vendorDao.toDto(vendorEntity);
+    }
+}
@@ -0,0 +1,69 @@
+package com.templatemanagement.filter;
+
+import com.templatemanagement.accesslog.AccessLogWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request overhead of {@link CorrelationIdFilter}, with and without an incoming header,
+ * and of the ID generator against {@code UUID.randomUUID()}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CorrelationIdFilterBenchmark {
+
+    @Param({"true", "false"})
+    public boolean headerPresent;
+
+    private CorrelationIdFilter filter;
+    private WebFilterChain chain;
+    private MockServerHttpRequest request;
+
+    @Setup
+    public void setUp() {
+        AccessLogWriter accessLogWriter = new AccessLogWriter(new SimpleMeterRegistry(), true, 0.0, 500, 8192);
+        filter = new CorrelationIdFilter(accessLogWriter);
+        chain = exchange -> Mono.empty();
+        MockServerHttpRequest.BaseBuilder<?> builder = MockServerHttpRequest.get("/api/v1/templates");
+        if (headerPresent) {
+            builder.header(CorrelationContext.HEADER, "bench-correlation-id");
+        }
+        request = builder.build();
+    }
+
+    @Benchmark
+    public Void filter() {
+        return filter.filter(MockServerWebExchange.from(request), chain).block();
+    }
+
+    @Benchmark
+    public String generateCorrelationId() {
+        return CorrelationContext.generate();
+    }
+
+    @Benchmark
+    public String randomUuid() {
+        return UUID.randomUUID().toString();
+    }
+}
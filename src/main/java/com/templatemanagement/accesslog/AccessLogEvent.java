@@ -0,0 +1,18 @@
+package com.templatemanagement.accesslog;
+
+/**
+ * One completed HTTP request, captured on the event loop and formatted later by {@link AccessLogWriter}.
+ */
+public record AccessLogEvent(
+        long timestampMillis,
+        String correlationId,
+        String method,
+        String path,
+        int status,
+        long durationMicros,
+        String error) {
+
+    public boolean isError() {
+        return status >= 400 || error != null;
+    }
+}
@@ -0,0 +1,160 @@
+package com.templatemanagement.accesslog;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Structured access log. Request threads only sample and enqueue events into a lock-free
+ * ring buffer; a single background thread formats and writes them to the "access" logger.
+ * Errors and slow requests are always kept, successful requests are sampled, and events
+ * are dropped (and counted) rather than blocking when the buffer is full.
+ */
+@Slf4j
+@Component
+public class AccessLogWriter {
+
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger("access");
+    private static final int DRAIN_BATCH = 256;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final boolean enabled;
+    private final double sampleRate;
+    private final long slowThresholdMicros;
+    private final AccessLogRingBuffer<AccessLogEvent> buffer;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter sampledOut;
+    private final StringBuilder line = new StringBuilder(256);
+
+    private volatile boolean running;
+    private Thread drainer;
+
+    public AccessLogWriter(
+            MeterRegistry meterRegistry,
+            @Value("${access-log.enabled:true}") boolean enabled,
+            @Value("${access-log.sample-rate:0.1}") double sampleRate,
+            @Value("${access-log.slow-threshold-ms:500}") long slowThresholdMs,
+            @Value("${access-log.buffer-size:8192}") int bufferSize) {
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+        this.slowThresholdMicros = TimeUnit.MILLISECONDS.toMicros(slowThresholdMs);
+        this.buffer = new AccessLogRingBuffer<>(bufferSize);
+        this.written = Counter.builder("access.log.events").tag("result", "written").register(meterRegistry);
+        this.dropped = Counter.builder("access.log.events").tag("result", "dropped").register(meterRegistry);
+        this.sampledOut = Counter.builder("access.log.events").tag("result", "sampled_out").register(meterRegistry);
+        Gauge.builder("access.log.buffer.size", buffer, AccessLogRingBuffer::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        drainer = new Thread(this::drainLoop, "access-log-writer");
+        drainer.setDaemon(true);
+        drainer.start();
+        log.info("Access log started: sampleRate={}, slowThresholdMs={}, bufferSize={}",
+                sampleRate, TimeUnit.MICROSECONDS.toMillis(slowThresholdMicros), buffer.capacity());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (drainer == null) {
+            return;
+        }
+        running = false;
+        LockSupport.unpark(drainer);
+        drainer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    /**
+     * Record a completed request. Never blocks: unsampled events are discarded and a full buffer drops the event.
+     */
+    public void record(AccessLogEvent event) {
+        if (!enabled) {
+            return;
+        }
+        if (!event.isError() && event.durationMicros() < slowThresholdMicros
+                && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            sampledOut.increment();
+            return;
+        }
+        if (!buffer.offer(event)) {
+            dropped.increment();
+        }
+    }
+
+    private void drainLoop() {
+        while (running) {
+            if (buffer.drain(this::write, DRAIN_BATCH) == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        while (buffer.drain(this::write, DRAIN_BATCH) > 0) {
+            // flush what is left on shutdown
+        }
+    }
+
+    private void write(AccessLogEvent event) {
+        try {
+            line.setLength(0);
+            line.append("{\"timestamp\":\"").append(Instant.ofEpochMilli(event.timestampMillis()))
+                    .append("\",\"correlationId\":");
+            appendString(event.correlationId());
+            line.append(",\"method\":");
+            appendString(event.method());
+            line.append(",\"path\":");
+            appendString(event.path());
+            line.append(",\"status\":").append(event.status())
+                    .append(",\"durationMs\":").append(event.durationMicros() / 1000.0)
+                    .append(",\"slow\":").append(event.durationMicros() >= slowThresholdMicros);
+            if (event.error() != null) {
+                line.append(",\"error\":");
+                appendString(event.error());
+            }
+            line.append('}');
+
+            if (event.isError()) {
+                ACCESS_LOG.warn(line.toString());
+            } else {
+                ACCESS_LOG.info(line.toString());
+            }
+            written.increment();
+        } catch (RuntimeException e) {
+            log.warn("Failed to write access log event: {}", e.getMessage());
+        }
+    }
+
+    private void appendString(String value) {
+        if (value == null) {
+            line.append("null");
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                line.append('\\').append(c);
+            } else if (c < 0x20) {
+                line.append(String.format("\\u%04x", (int) c));
+            } else {
+                line.append(c);
+            }
+        }
+        line.append('"');
+    }
+}
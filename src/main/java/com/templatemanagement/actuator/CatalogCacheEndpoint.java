@@ -0,0 +1,107 @@
+package com.templatemanagement.actuator;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.templatemanagement.dao.CacheStats;
+import com.templatemanagement.dao.CatalogCaches;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Actuator endpoint for the DAO caches (/actuator/catalogcaches).
+ * <ul>
+ *   <li>GET /catalogcaches - stats and policy of every cache</li>
+ *   <li>GET /catalogcaches/{cache}?limit= - stats, policy and cached keys</li>
+ *   <li>GET /catalogcaches/{cache}/{key} - a single cached entry</li>
+ *   <li>DELETE /catalogcaches/{cache}?key= - invalidate one key, or the whole cache</li>
+ *   <li>DELETE /catalogcaches?templateId= - invalidate every entry of a template</li>
+ *   <li>POST /catalogcaches/{cache} {maximumSize, ttlSeconds} - resize / re-TTL</li>
+ * </ul>
+ * Unknown cache names and keys return 404, a malformed templateId 400. Not in the default web exposure: the operations dump
+ * and change production caches, so expose it only on a separate, secured management port.
+ */
+@Component
+@Endpoint(id = "catalogcaches")
+@RequiredArgsConstructor
+public class CatalogCacheEndpoint {
+
+    private static final int DEFAULT_KEY_LIMIT = 100;
+
+    private final CatalogCaches catalogCaches;
+
+    @ReadOperation
+    public Map<String, Object> caches() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        catalogCaches.getCaches().forEach((name, cache) -> result.put(name, describe(name, cache)));
+        return result;
+    }
+
+    @ReadOperation
+    public Map<String, Object> cache(@Selector String cache, @Nullable Integer limit) {
+        return catalogCaches.getCache(cache)
+                .map(found -> {
+                    Map<String, Object> result = describe(cache, found);
+                    result.put("keys", catalogCaches.getKeys(found, limit != null ? limit : DEFAULT_KEY_LIMIT));
+                    return result;
+                })
+                .orElse(null);
+    }
+
+    @ReadOperation
+    public Object entry(@Selector String cache, @Selector String key) {
+        return catalogCaches.getCache(cache)
+                .flatMap(found -> catalogCaches.getEntry(found, key))
+                .orElse(null);
+    }
+
+    @DeleteOperation
+    public Map<String, Object> invalidate(@Selector String cache, @Nullable String key) {
+        return catalogCaches.getCache(cache)
+                .map(found -> {
+                    catalogCaches.invalidate(cache, found, key);
+                    return describe(cache, found);
+                })
+                .orElse(null);
+    }
+
+    @DeleteOperation
+    public Map<String, Object> invalidateTemplate(String templateId) {
+        catalogCaches.invalidateTemplate(parseTemplateId(templateId));
+        return caches();
+    }
+
+    @WriteOperation
+    public Map<String, Object> reconfigure(@Selector String cache, @Nullable Long maximumSize, @Nullable Long ttlSeconds) {
+        return catalogCaches.getCache(cache)
+                .map(found -> {
+                    catalogCaches.reconfigure(cache, found, maximumSize, ttlSeconds);
+                    return describe(cache, found);
+                })
+                .orElse(null);
+    }
+
+    private static UUID parseTemplateId(String templateId) {
+        try {
+            return UUID.fromString(templateId);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException("Invalid templateId: " + templateId, "templateId is not a UUID");
+        }
+    }
+
+    private Map<String, Object> describe(String name, Cache<?, ?> cache) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("stats", CacheStats.of(name, cache));
+        result.put("policy", catalogCaches.getPolicy(cache));
+        return result;
+    }
+}
@@ -0,0 +1,23 @@
+package com.templatemanagement.changes;
+
+import com.templatemanagement.dto.CatalogChangeEvent;
+
+import java.util.UUID;
+
+/**
+ * Subscription filter of the change stream; null criteria match everything. A vendor criterion
+ * matches vendor mapping changes only. RESET markers always pass.
+ */
+public record CatalogChangeFilter(UUID templateId, String lineOfBusiness, String vendor) {
+
+    public static final CatalogChangeFilter ALL = new CatalogChangeFilter(null, null, null);
+
+    public boolean matches(CatalogChangeEvent event) {
+        if (event.getChangeType() == CatalogChangeEvent.ChangeType.RESET) {
+            return true;
+        }
+        return (templateId == null || templateId.equals(event.getMasterTemplateId()))
+                && (lineOfBusiness == null || lineOfBusiness.equals(event.getLineOfBusiness()))
+                && (vendor == null || vendor.equals(event.getVendor()));
+    }
+}
@@ -0,0 +1,256 @@
+package com.templatemanagement.changes;
+
+import com.templatemanagement.dao.CatalogChangeOutboxDao;
+import com.templatemanagement.dto.CatalogChangeEvent;
+import com.templatemanagement.tracing.ReactiveTracing;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.concurrent.Queues;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Relays the change outbox to change stream subscribers.
+ * <p>
+ * Every instance polls the shared outbox and publishes new events, in sequence order, to its own
+ * subscribers. Sequence numbers are taken at insert time but become visible at commit, so a
+ * missing number may belong to a transaction still in flight: the relay holds back at such a gap
+ * for catalog.changes.gap-timeout-ms before skipping it (rolled back transactions leave permanent
+ * gaps). Skipped numbers are counted in catalog.changes.gaps.skipped and re-read for
+ * catalog.changes.gap-recheck-ms; an event that turns up late cannot be slotted back into sequence
+ * order, so live subscribers get a RESET instead (catalog.changes.gaps.late). A transaction that
+ * commits after the re-check window is not seen by the stream at all; clients that must not miss
+ * a change reconcile through delta sync. Subscribers resuming from a sequence number first get the
+ * retained events after it from the outbox, then the live events, without duplicates. A subscriber
+ * that falls more than catalog.changes.subscriber-buffer events behind is disconnected and resumes
+ * from its last event.
+ */
+@Slf4j
+@Component
+public class CatalogChangeRelay {
+
+    private final CatalogChangeOutboxDao outboxDao;
+    private final Duration pollInterval;
+    private final int batchSize;
+    private final Duration gapTimeout;
+    private final Duration gapRecheck;
+    private final int subscriberBuffer;
+    private final Duration retention;
+    private final Sinks.Many<CatalogChangeEvent> sink = Sinks.many().multicast().directBestEffort();
+    private final Counter skippedSequences;
+    private final Counter lateEvents;
+
+    // Highest sequence number published; -1 until read from the outbox. Written by the poll loop only.
+    private volatile long lastPublished = -1;
+    private Instant gapDetectedAt;
+    // Gaps skipped within the last gap-recheck-ms, oldest first. Poll loop only.
+    private final Deque<SkippedGap> skippedGaps = new ArrayDeque<>();
+    private Disposable pollLoop;
+
+    public CatalogChangeRelay(
+            CatalogChangeOutboxDao outboxDao,
+            MeterRegistry registry,
+            @Value("${catalog.changes.poll-interval-ms:500}") long pollIntervalMs,
+            @Value("${catalog.changes.batch-size:500}") int batchSize,
+            @Value("${catalog.changes.gap-timeout-ms:5000}") long gapTimeoutMs,
+            @Value("${catalog.changes.gap-recheck-ms:300000}") long gapRecheckMs,
+            @Value("${catalog.changes.subscriber-buffer:1024}") int subscriberBuffer,
+            @Value("${catalog.changes.retention-hours:168}") long retentionHours) {
+        this.outboxDao = outboxDao;
+        this.pollInterval = Duration.ofMillis(pollIntervalMs);
+        this.batchSize = batchSize;
+        this.gapTimeout = Duration.ofMillis(gapTimeoutMs);
+        this.gapRecheck = Duration.ofMillis(gapRecheckMs);
+        this.subscriberBuffer = subscriberBuffer;
+        this.retention = Duration.ofHours(retentionHours);
+        this.skippedSequences = Counter.builder("catalog.changes.gaps.skipped")
+                .description("Outbox sequence numbers the relay skipped after the gap timeout")
+                .register(registry);
+        this.lateEvents = Counter.builder("catalog.changes.gaps.late")
+                .description("Outbox events that committed after the relay had skipped their sequence number")
+                .register(registry);
+    }
+
+    @PostConstruct
+    public void start() {
+        pollLoop = Flux.interval(Duration.ZERO, pollInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> poll()
+                        .onErrorResume(error -> {
+                            log.warn("Change outbox poll failed: error={}", error.getMessage());
+                            return Mono.empty();
+                        })
+                        .contextWrite(ReactiveTracing::suppress), 1)
+                .subscribe();
+        log.info("Change relay started: pollIntervalMs={}, gapTimeoutMs={}", pollInterval.toMillis(), gapTimeout.toMillis());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (pollLoop != null) {
+            pollLoop.dispose();
+        }
+        sink.tryEmitComplete();
+    }
+
+    /**
+     * Changes matching the filter: the retained events after since (when given), then live events
+     */
+    public Flux<CatalogChangeEvent> changes(Long since, CatalogChangeFilter filter) {
+        return Flux.defer(() -> {
+            // Subscribe to live events before reading the watermark, so nothing falls in between
+            Sinks.Many<CatalogChangeEvent> buffer = Sinks.many().unicast()
+                    .onBackpressureBuffer(Queues.<CatalogChangeEvent>get(subscriberBuffer).get());
+            Disposable live = sink.asFlux().subscribe(event -> {
+                if (buffer.tryEmitNext(event).isFailure()) {
+                    buffer.tryEmitError(new IllegalStateException(
+                            "Change stream subscriber fell more than " + subscriberBuffer + " events behind"));
+                }
+            });
+
+            AtomicLong lastEmitted = new AtomicLong(since != null ? since : Long.MIN_VALUE);
+            Flux<CatalogChangeEvent> history = since == null
+                    ? Flux.empty()
+                    : watermark().flatMapMany(upTo -> history(since, upTo));
+
+            return Flux.concat(history, buffer.asFlux())
+                    // A live RESET carries the current sequence number, which this subscriber may have passed
+                    .filter(event -> event.getSequenceNumber() > lastEmitted.get()
+                            || event.getChangeType() == CatalogChangeEvent.ChangeType.RESET)
+                    .doOnNext(event -> lastEmitted.set(event.getSequenceNumber()))
+                    .filter(filter::matches)
+                    .doFinally(signal -> live.dispose());
+        });
+    }
+
+    /**
+     * Drop outbox events older than catalog.changes.retention-hours
+     */
+    @Scheduled(initialDelayString = "${catalog.changes.purge-initial-delay-ms:60000}",
+            fixedDelayString = "${catalog.changes.purge-interval-ms:3600000}")
+    public void purge() {
+        try {
+            Integer deleted = outboxDao.deleteOlderThan(LocalDateTime.now().minus(retention))
+                    .contextWrite(ReactiveTracing::suppress)
+                    .block(Duration.ofMinutes(1));
+            log.info("Change outbox purged: deleted={}, retentionHours={}", deleted, retention.toHours());
+        } catch (RuntimeException e) {
+            log.warn("Change outbox purge failed: error={}", e.getMessage());
+        }
+    }
+
+    Mono<Void> poll() {
+        if (lastPublished < 0) {
+            return outboxDao.findMaxSequence()
+                    .doOnNext(max -> {
+                        lastPublished = max;
+                        log.info("Change relay positioned: sequence={}", max);
+                    })
+                    .then();
+        }
+        return outboxDao.findAfter(lastPublished, Long.MAX_VALUE, batchSize)
+                .collectList()
+                .doOnNext(this::publish)
+                .then(recheckSkippedGaps());
+    }
+
+    /**
+     * Re-read the skipped gaps still within gap-recheck-ms; a gap that now has events gets a RESET
+     */
+    private Mono<Void> recheckSkippedGaps() {
+        return Mono.defer(() -> {
+            Instant expiredBefore = Instant.now().minus(gapRecheck);
+            while (!skippedGaps.isEmpty() && skippedGaps.peekFirst().skippedAt().isBefore(expiredBefore)) {
+                skippedGaps.pollFirst();
+            }
+            if (skippedGaps.isEmpty()) {
+                return Mono.empty();
+            }
+            return Flux.fromIterable(List.copyOf(skippedGaps))
+                    .concatMap(gap -> outboxDao.findAfter(gap.from() - 1, gap.to(), batchSize)
+                            .collectList()
+                            .filter(late -> !late.isEmpty())
+                            .doOnNext(late -> resetForLateEvents(gap, late)))
+                    .then();
+        });
+    }
+
+    private void resetForLateEvents(SkippedGap gap, List<CatalogChangeEvent> late) {
+        skippedGaps.remove(gap);
+        lateEvents.increment(late.size());
+        log.warn("Change outbox events committed after their gap was skipped, resetting subscribers: from={}, to={}, late={}",
+                gap.from(), gap.to(), late.size());
+        sink.tryEmitNext(CatalogChangeEvent.builder()
+                .sequenceNumber(lastPublished)
+                .changeType(CatalogChangeEvent.ChangeType.RESET)
+                .build());
+    }
+
+    private void publish(List<CatalogChangeEvent> events) {
+        for (CatalogChangeEvent event : events) {
+            long sequence = event.getSequenceNumber();
+            if (sequence != lastPublished + 1) {
+                Instant now = Instant.now();
+                if (gapDetectedAt == null) {
+                    gapDetectedAt = now;
+                }
+                if (Duration.between(gapDetectedAt, now).compareTo(gapTimeout) < 0) {
+                    return;
+                }
+                log.warn("Skipping change outbox gap: from={}, to={}", lastPublished + 1, sequence - 1);
+                skippedSequences.increment(sequence - 1 - lastPublished);
+                skippedGaps.addLast(new SkippedGap(lastPublished + 1, sequence - 1, now));
+            }
+            gapDetectedAt = null;
+            lastPublished = sequence;
+            sink.tryEmitNext(event);
+        }
+    }
+
+    /**
+     * Sequence number up to which the outbox can be replayed without racing the relay; waits for
+     * the relay to position itself after a start
+     */
+    private Mono<Long> watermark() {
+        return Mono.fromSupplier(() -> lastPublished)
+                .filter(sequence -> sequence >= 0)
+                .repeatWhenEmpty(attempts -> attempts.delayElements(pollInterval));
+    }
+
+    private Flux<CatalogChangeEvent> history(long since, long upTo) {
+        Flux<CatalogChangeEvent> retained = outboxDao.findAfter(since, upTo, batchSize)
+                .collectList()
+                .expand(page -> page.size() < batchSize
+                        ? Mono.empty()
+                        : outboxDao.findAfter(page.get(page.size() - 1).getSequenceNumber(), upTo, batchSize).collectList())
+                .flatMapIterable(page -> page);
+
+        return outboxDao.findMinSequence()
+                .filter(min -> since < min - 1)
+                .map(min -> CatalogChangeEvent.builder()
+                        .sequenceNumber(min - 1)
+                        .changeType(CatalogChangeEvent.ChangeType.RESET)
+                        .build())
+                .flux()
+                .concatWith(retained);
+    }
+
+    private record SkippedGap(long from, long to, Instant skippedAt) {
+    }
+}
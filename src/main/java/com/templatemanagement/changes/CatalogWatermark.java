@@ -0,0 +1,42 @@
+package com.templatemanagement.changes;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+/**
+ * Position in delta sync order: updated_timestamp, then the row key (master template ID and
+ * version, or template vendor ID with version 0). Encoded as {@code epochMicros:id:version};
+ * clients treat it as opaque.
+ */
+public record CatalogWatermark(LocalDateTime changedAt, UUID id, int version) {
+
+    /** Before every row: a sync without watermark starts from the beginning */
+    public static final CatalogWatermark INITIAL =
+            new CatalogWatermark(LocalDateTime.of(1970, 1, 1, 0, 0), new UUID(0L, 0L), 0);
+
+    private static final LocalDateTime EPOCH = INITIAL.changedAt();
+
+    /**
+     * Parse an encoded watermark; null or blank yields INITIAL
+     */
+    public static CatalogWatermark parse(String value) {
+        if (value == null || value.isBlank()) {
+            return INITIAL;
+        }
+        String[] parts = value.split(":");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Invalid watermark: " + value);
+        }
+        try {
+            return new CatalogWatermark(EPOCH.plus(Long.parseLong(parts[0]), ChronoUnit.MICROS),
+                    UUID.fromString(parts[1]), Integer.parseInt(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid watermark: " + value, e);
+        }
+    }
+
+    public String encode() {
+        return ChronoUnit.MICROS.between(EPOCH, changedAt) + ":" + id + ":" + version;
+    }
+}
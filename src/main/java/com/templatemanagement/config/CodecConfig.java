@@ -0,0 +1,43 @@
+package com.templatemanagement.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+
+/**
+ * Binary bodies for the REST API: application/cbor and application/x-jackson-smile are negotiated
+ * through Accept and Content-Type alongside JSON, which stays the default.
+ * <p>
+ * Both mappers are built from Boot's Jackson2ObjectMapperBuilder, so they share the JSON mapper's
+ * modules and features (ISO dates, NON_NULL DTOs). The CBOR encoder writes single values only;
+ * streaming endpoints (NDJSON, SSE) keep their text media types.
+ */
+@Configuration
+public class CodecConfig implements WebFluxConfigurer {
+
+    private final ObjectMapper cborMapper;
+    private final ObjectMapper smileMapper;
+
+    public CodecConfig(ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder) {
+        // The builder bean is prototype-scoped: one instance per mapper
+        this.cborMapper = objectMapperBuilder.getObject().factory(new CBORFactory()).build();
+        this.smileMapper = objectMapperBuilder.getObject().factory(new SmileFactory()).build();
+    }
+
+    @Override
+    public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+        configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smileMapper));
+        configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smileMapper));
+        configurer.customCodecs().register(new Jackson2CborDecoder(cborMapper));
+        configurer.customCodecs().register(new Jackson2CborEncoder(cborMapper));
+    }
+}
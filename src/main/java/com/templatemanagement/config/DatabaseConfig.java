@@ -1,14 +1,36 @@
 package com.templatemanagement.config;
 
+import com.templatemanagement.metrics.MeteredConnectionFactory;
+import com.templatemanagement.tracing.ReactiveTracing;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
 import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.r2dbc.config.EnableR2dbcAuditing;
 import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
 import org.springframework.r2dbc.connection.R2dbcTransactionManager;
 import org.springframework.transaction.ReactiveTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * R2DBC configuration.
+ * <p>
+ * The pools are built here rather than by Spring Boot so that the ConnectionFactory handed to
+ * Spring Data can be metered and, when a read replica is configured, routed between the
+ * primary and replica pools. The pool beans themselves still get Boot's r2dbc.pool.* gauges.
+ */
 @Configuration
 @EnableR2dbcRepositories(basePackages = "com.templatemanagement.repository")
 @EnableR2dbcAuditing
@@ -19,4 +41,69 @@ public class DatabaseConfig {
     public ReactiveTransactionManager transactionManager(ConnectionFactory connectionFactory) {
         return new R2dbcTransactionManager(connectionFactory);
     }
+
+    /**
+     * Primary pool, built from spring.r2dbc.*
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool primaryConnectionPool(R2dbcProperties properties) {
+        R2dbcProperties.Pool pool = properties.getPool();
+        return buildPool("primary", properties.getUrl(), properties.getUsername(), properties.getPassword(),
+                pool.getInitialSize(), pool.getMaxSize(), pool.getMaxIdleTime());
+    }
+
+    /**
+     * Read replica pool (database.replica.enabled=true)
+     */
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnProperty(name = "database.replica.enabled", havingValue = "true")
+    public ConnectionPool replicaConnectionPool(
+            @Value("${database.replica.url}") String url,
+            @Value("${database.replica.username}") String username,
+            @Value("${database.replica.password}") String password,
+            @Value("${database.replica.pool.initial-size:5}") int initialSize,
+            @Value("${database.replica.pool.max-size:30}") int maxSize,
+            @Value("${database.replica.pool.max-idle-time:30m}") Duration maxIdleTime) {
+        return buildPool("replica", url, username, password, initialSize, maxSize, maxIdleTime);
+    }
+
+    /**
+     * ConnectionFactory used by repositories and transactions. Routes between the primary and
+     * replica pools when a replica is configured, otherwise uses the primary pool directly.
+     */
+    @Bean
+    @Primary
+    public ConnectionFactory connectionFactory(
+            @Qualifier("primaryConnectionPool") ConnectionPool primaryPool,
+            @Qualifier("replicaConnectionPool") ObjectProvider<ConnectionPool> replicaPool,
+            MeterRegistry meterRegistry,
+            ObjectProvider<ReactiveTracing> tracing) {
+        ConnectionFactory primary = new MeteredConnectionFactory(primaryPool, "primary", meterRegistry, tracing.getIfAvailable());
+        ConnectionPool replicaConnectionPool = replicaPool.getIfAvailable();
+        if (replicaConnectionPool == null) {
+            return primary;
+        }
+
+        ConnectionFactory replica = new MeteredConnectionFactory(replicaConnectionPool, "replica", meterRegistry, tracing.getIfAvailable());
+        ReadWriteRoutingConnectionFactory routing = new ReadWriteRoutingConnectionFactory();
+        routing.setTargetConnectionFactories(Map.of(
+                ReadRouting.Target.PRIMARY, primary,
+                ReadRouting.Target.REPLICA, replica));
+        routing.setDefaultTargetConnectionFactory(primary);
+        return routing;
+    }
+
+    private ConnectionPool buildPool(String name, String url, String username, String password,
+                                     int initialSize, int maxSize, Duration maxIdleTime) {
+        ConnectionFactory connectionFactory = ConnectionFactoryBuilder.withUrl(url)
+                .username(username)
+                .password(password)
+                .build();
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(connectionFactory)
+                .name(name)
+                .initialSize(initialSize)
+                .maxSize(maxSize)
+                .maxIdleTime(maxIdleTime)
+                .build());
+    }
 }
@@ -0,0 +1,35 @@
+package com.templatemanagement.config;
+
+import com.templatemanagement.filter.MdcContextLifter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.publisher.Hooks;
+import reactor.core.publisher.Operators;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+/**
+ * Bridges the correlation ID from the Reactor Context to the SLF4J MDC on every operator
+ * (correlation.mdc-bridge.enabled=true, off by default).
+ * <p>
+ * The hook wraps every operator of every reactive chain in the JVM, R2DBC and Netty internals
+ * included: it defeats operator fusion and costs a Context lookup and MDC access per signal.
+ * Enable it for debugging sessions only; error and access log lines carry correlationId explicitly.
+ */
+@Configuration
+@ConditionalOnProperty(name = "correlation.mdc-bridge.enabled", havingValue = "true")
+public class MdcConfig {
+
+    private static final String HOOK_KEY = MdcConfig.class.getName();
+
+    @PostConstruct
+    public void registerHook() {
+        Hooks.onEachOperator(HOOK_KEY, Operators.lift((scannable, subscriber) -> new MdcContextLifter<>(subscriber)));
+    }
+
+    @PreDestroy
+    public void removeHook() {
+        Hooks.resetOnEachOperator(HOOK_KEY);
+    }
+}
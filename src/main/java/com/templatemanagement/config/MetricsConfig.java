@@ -0,0 +1,17 @@
+package com.templatemanagement.config;
+
+import com.templatemanagement.metrics.RepositoryQueryMetricsPostProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public static RepositoryQueryMetricsPostProcessor repositoryQueryMetricsPostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new RepositoryQueryMetricsPostProcessor(meterRegistry);
+    }
+}
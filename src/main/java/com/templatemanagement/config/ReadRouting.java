@@ -0,0 +1,59 @@
+package com.templatemanagement.config;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Reactor Context keys that select the primary or read-replica connection pool.
+ * Reads opt in to the replica; anything that does not, including every transaction, stays on the primary.
+ * Reads whose results are cached must not opt in: after a write invalidates an entry, a lagging
+ * replica would put the pre-write row back into the cache for its whole TTL, for every client.
+ */
+public final class ReadRouting {
+
+    public enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    private static final String TARGET_KEY = ReadRouting.class.getName() + ".target";
+    private static final String PIN_PRIMARY_KEY = ReadRouting.class.getName() + ".pinPrimary";
+
+    private ReadRouting() {
+    }
+
+    /**
+     * Route the read to the replica unless the caller pinned this request to the primary
+     */
+    public static Context preferReplica(Context context) {
+        return context.hasKey(PIN_PRIMARY_KEY) ? context : context.put(TARGET_KEY, Target.REPLICA);
+    }
+
+    /**
+     * Keep every read of this request on the primary (read-your-writes)
+     */
+    public static Context pinPrimary(Context context) {
+        return context.put(PIN_PRIMARY_KEY, Boolean.TRUE);
+    }
+
+    /**
+     * Whether a replica-preferring read subscribed with this context may use the replica
+     */
+    public static boolean replicaAllowed(ContextView context) {
+        return !context.hasKey(PIN_PRIMARY_KEY);
+    }
+
+    /**
+     * Route the read to the primary, dropping any replica preference
+     */
+    public static Context primary(Context context) {
+        return context.delete(TARGET_KEY);
+    }
+
+    /**
+     * Pool a read subscribed with this context runs against
+     */
+    public static Target resolve(ContextView context) {
+        return context.getOrDefault(TARGET_KEY, Target.PRIMARY);
+    }
+}
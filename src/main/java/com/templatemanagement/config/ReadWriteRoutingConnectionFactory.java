@@ -0,0 +1,16 @@
+package com.templatemanagement.config;
+
+import org.springframework.r2dbc.connection.lookup.AbstractRoutingConnectionFactory;
+import reactor.core.publisher.Mono;
+
+/**
+ * Routes connection requests to the primary or replica pool based on {@link ReadRouting}.
+ * Connections already bound to a transaction are reused by Spring regardless of the route.
+ */
+public class ReadWriteRoutingConnectionFactory extends AbstractRoutingConnectionFactory {
+
+    @Override
+    protected Mono<Object> determineCurrentLookupKey() {
+        return Mono.deferContextual(context -> Mono.just(ReadRouting.resolve(context)));
+    }
+}
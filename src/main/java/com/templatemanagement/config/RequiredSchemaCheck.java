@@ -0,0 +1,85 @@
+package com.templatemanagement.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Checks at startup that the document_hub objects this service relies on exist, and logs a WARN
+ * naming the migration script (src/main/resources/db/migration) for each one that is missing.
+ * The schema is owned by Document Hub, so the service does not create anything itself; a missing
+ * unique index leaves concurrent creates open to duplicates rather than failing any request.
+ * The check runs in the background and never blocks or fails startup.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "schema.check.enabled", havingValue = "true", matchIfMissing = true)
+public class RequiredSchemaCheck {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * Required tables, indexes and triggers by name, with the script that creates them
+     */
+    private static final Map<String, String> REQUIRED = new LinkedHashMap<>();
+
+    static {
+        REQUIRED.put("trg_mtd_updated_timestamp", "V1__delta_sync.sql");
+        REQUIRED.put("trg_tvm_updated_timestamp", "V1__delta_sync.sql");
+        REQUIRED.put("idx_mtd_updated", "V1__delta_sync.sql");
+        REQUIRED.put("idx_tvm_updated", "V1__delta_sync.sql");
+        REQUIRED.put("uq_mtd_live_type_version", "V2__live_unique_indexes.sql");
+        REQUIRED.put("uq_tvm_live_vendor", "V2__live_unique_indexes.sql");
+        REQUIRED.put("catalog_change_outbox", "V3__catalog_change_outbox.sql");
+        REQUIRED.put("idx_cco_changed_at", "V3__catalog_change_outbox.sql");
+    }
+
+    private static final String PRESENT_OBJECTS =
+            "SELECT tablename AS name FROM pg_tables WHERE schemaname = 'document_hub' " +
+            "UNION ALL SELECT indexname FROM pg_indexes WHERE schemaname = 'document_hub' " +
+            "UNION ALL SELECT t.tgname FROM pg_trigger t " +
+            "JOIN pg_class c ON c.oid = t.tgrelid " +
+            "JOIN pg_namespace n ON n.oid = c.relnamespace " +
+            "WHERE n.nspname = 'document_hub' AND NOT t.tgisinternal";
+
+    private final R2dbcEntityTemplate entityTemplate;
+    private Disposable check;
+
+    public RequiredSchemaCheck(R2dbcEntityTemplate entityTemplate) {
+        this.entityTemplate = entityTemplate;
+    }
+
+    @PostConstruct
+    public void start() {
+        check = entityTemplate.getDatabaseClient()
+                .sql(PRESENT_OBJECTS)
+                .map((row, metadata) -> row.get("name", String.class))
+                .all()
+                .collectList()
+                .timeout(TIMEOUT)
+                .subscribe(present -> {
+                    Map<String, String> missing = new LinkedHashMap<>(REQUIRED);
+                    missing.keySet().removeAll(present);
+                    missing.forEach((name, script) ->
+                            log.warn("Required database object missing: name={}, migration=db/migration/{}", name, script));
+                    if (missing.isEmpty()) {
+                        log.info("Required database objects present: count={}", REQUIRED.size());
+                    }
+                }, error -> log.warn("Required database object check failed: error={}", error.getMessage()));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (check != null) {
+            check.dispose();
+        }
+    }
+}
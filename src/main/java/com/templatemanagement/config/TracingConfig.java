@@ -0,0 +1,88 @@
+package com.templatemanagement.config;
+
+import com.templatemanagement.tracing.ReactiveTracing;
+import com.templatemanagement.tracing.TracingPostProcessor;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.exporter.logging.LoggingSpanExporter;
+import io.opentelemetry.exporter.otlp.trace.OtlpGrpcSpanExporter;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.SdkTracerProviderBuilder;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * OpenTelemetry tracing (tracing.enabled=true).
+ * <p>
+ * Spans are exported through a batch processor to the exporter selected by tracing.exporter:
+ * "logging" writes finished spans to the application log (local use), "otlp" sends them to an
+ * OTLP/gRPC collector at tracing.otlp.endpoint, "none" records spans without exporting them.
+ * The defaults (none, 1% of new traces) keep the per-request cost low; enable an exporter and raise
+ * the ratio where traces are collected. Background pollers run with {@link ReactiveTracing#suppress}.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class TracingConfig {
+
+    private static final String INSTRUMENTATION_NAME = "template-management-service";
+
+    @Bean
+    public static TracingPostProcessor tracingPostProcessor(ObjectProvider<ReactiveTracing> tracing) {
+        return new TracingPostProcessor(tracing);
+    }
+
+    @Bean(destroyMethod = "close")
+    public OpenTelemetrySdk openTelemetry(
+            @Value("${spring.application.name}") String serviceName,
+            @Value("${tracing.exporter:none}") String exporter,
+            @Value("${tracing.otlp.endpoint:http://localhost:4317}") String otlpEndpoint,
+            @Value("${tracing.sampler.ratio:0.01}") double samplerRatio) {
+        Resource resource = Resource.getDefault().merge(Resource.create(
+                Attributes.of(AttributeKey.stringKey("service.name"), serviceName)));
+
+        SdkTracerProviderBuilder tracerProvider = SdkTracerProvider.builder()
+                .setResource(resource)
+                .setSampler(Sampler.parentBased(Sampler.traceIdRatioBased(samplerRatio)));
+        SpanExporter spanExporter = spanExporter(exporter, otlpEndpoint);
+        if (spanExporter != null) {
+            tracerProvider.addSpanProcessor(BatchSpanProcessor.builder(spanExporter).build());
+        }
+        log.info("Tracing enabled: exporter={}, samplerRatio={}", exporter, samplerRatio);
+
+        return OpenTelemetrySdk.builder()
+                .setTracerProvider(tracerProvider.build())
+                .setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance()))
+                .build();
+    }
+
+    @Bean
+    public ReactiveTracing reactiveTracing(OpenTelemetry openTelemetry) {
+        return new ReactiveTracing(openTelemetry.getTracer(INSTRUMENTATION_NAME));
+    }
+
+    private static SpanExporter spanExporter(String exporter, String otlpEndpoint) {
+        switch (exporter) {
+            case "otlp":
+                return OtlpGrpcSpanExporter.builder().setEndpoint(otlpEndpoint).build();
+            case "none":
+                return null;
+            case "logging":
+                return LoggingSpanExporter.create();
+            default:
+                throw new IllegalArgumentException("Unknown tracing.exporter: " + exporter);
+        }
+    }
+}
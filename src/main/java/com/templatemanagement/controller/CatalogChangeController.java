@@ -0,0 +1,114 @@
+package com.templatemanagement.controller;
+
+import com.templatemanagement.changes.CatalogChangeFilter;
+import com.templatemanagement.dto.CatalogChangeEvent;
+import com.templatemanagement.dto.TemplateDelta;
+import com.templatemanagement.dto.TemplateVendorDelta;
+import com.templatemanagement.processor.TemplateManagementProcessor;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * REST Controller for the catalog change stream and delta sync.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/templates/changes")
+@RequiredArgsConstructor
+@Tag(name = "Catalog Changes", description = "Push notification and delta sync of template and vendor mapping changes")
+public class CatalogChangeController {
+
+    private static final String HEADER_LAST_EVENT_ID = "Last-Event-ID";
+    private static final Duration HEARTBEAT_INTERVAL = Duration.ofSeconds(15);
+
+    private final TemplateManagementProcessor processor;
+
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Template delta sync",
+            description = "Template versions inserted, updated or archived after the watermark, in watermark order. " +
+                    "Resume with the watermark of the last record; fewer than limit records means caught up.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Changed template versions"),
+            @ApiResponse(responseCode = "400", description = "Invalid watermark or limit")
+    })
+    public Flux<TemplateDelta> getTemplateChanges(
+            @Parameter(description = "Watermark of the last record received; omit for a full sync")
+            @RequestParam(required = false) String since,
+            @Parameter(description = "Maximum records to return")
+            @RequestParam(defaultValue = "500") int limit) {
+
+        log.debug("GET /templates/changes - since={}, limit={}", since, limit);
+        return processor.processGetTemplateChanges(since, limit);
+    }
+
+    @GetMapping(value = "/vendors", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @Operation(summary = "Vendor mapping delta sync",
+            description = "Vendor mappings inserted, updated or archived after the watermark, in watermark order. " +
+                    "Resume with the watermark of the last record; fewer than limit records means caught up.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Changed vendor mappings"),
+            @ApiResponse(responseCode = "400", description = "Invalid watermark or limit")
+    })
+    public Flux<TemplateVendorDelta> getVendorMappingChanges(
+            @Parameter(description = "Watermark of the last record received; omit for a full sync")
+            @RequestParam(required = false) String since,
+            @Parameter(description = "Maximum records to return")
+            @RequestParam(defaultValue = "500") int limit) {
+
+        log.debug("GET /templates/changes/vendors - since={}, limit={}", since, limit);
+        return processor.processGetVendorMappingChanges(since, limit);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Subscribe to catalog changes",
+            description = "Server-Sent Events stream of catalog changes. The event id is the change's sequence number; " +
+                    "reconnect with Last-Event-ID (or since) to receive the retained changes after it. " +
+                    "A RESET event means changes may have been missed and the catalog must be reloaded. " +
+                    "Late-committing writes can be skipped; use delta sync to reconcile.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Change stream")
+    })
+    public Flux<ServerSentEvent<CatalogChangeEvent>> streamChanges(
+            @Parameter(description = "Resume after this sequence number")
+            @RequestParam(required = false) Long since,
+            @Parameter(description = "Only changes of this master template")
+            @RequestParam(required = false) UUID templateId,
+            @Parameter(description = "Only changes of templates in this line of business")
+            @RequestParam(required = false) String lineOfBusiness,
+            @Parameter(description = "Only vendor mapping changes of this vendor")
+            @RequestParam(required = false) String vendor,
+            @RequestHeader(value = HEADER_LAST_EVENT_ID, required = false) Long lastEventId) {
+
+        Long resumeAfter = lastEventId != null ? lastEventId : since;
+        log.debug("GET /templates/changes/stream - since={}, templateId={}, lob={}, vendor={}",
+                resumeAfter, templateId, lineOfBusiness, vendor);
+
+        Flux<ServerSentEvent<CatalogChangeEvent>> changes = processor
+                .processChangeStream(resumeAfter, new CatalogChangeFilter(templateId, lineOfBusiness, vendor))
+                .map(event -> ServerSentEvent.builder(event)
+                        .id(String.valueOf(event.getSequenceNumber()))
+                        .event(event.getChangeType().name())
+                        .build());
+        // Keeps idle connections open through proxies
+        Flux<ServerSentEvent<CatalogChangeEvent>> heartbeats = Flux.interval(HEARTBEAT_INTERVAL)
+                .map(tick -> ServerSentEvent.<CatalogChangeEvent>builder().comment("heartbeat").build());
+
+        return Flux.merge(changes, heartbeats);
+    }
+}
@@ -0,0 +1,73 @@
+package com.templatemanagement.controller;
+
+import com.templatemanagement.dto.TemplateVendorMappingDto;
+import com.templatemanagement.exception.PreconditionFailedException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Strong ETags derived from a row's version_number, and If-Match parsing back to the expected value.
+ * Rows written before version_number was maintained carry ETag "0". Lists get a weak ETag over
+ * their rows' IDs and version_numbers.
+ */
+final class ETags {
+
+    private ETags() {
+    }
+
+    static String of(Long versionNumber) {
+        return "\"" + (versionNumber != null ? versionNumber : 0L) + "\"";
+    }
+
+    /**
+     * Weak ETag of a vendor mapping list: any write to a listed row, or a row joining or leaving
+     * the list, changes it
+     */
+    static String ofList(List<TemplateVendorMappingDto> mappings) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (TemplateVendorMappingDto mapping : mappings) {
+                digest.update((mapping.getTemplateVendorId() + ":" + mapping.getVersionNumber() + ";")
+                        .getBytes(StandardCharsets.UTF_8));
+            }
+            return "W/\"" + HexFormat.of().formatHex(digest.digest(), 0, 8) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Expected version_number from an If-Match header; null when absent or "*" (no precondition).
+     * List entries this service never issued (weak or non-numeric) cannot match and are skipped.
+     * The conditional write checks one version, so a list naming several of ours, or none, is a 412.
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        Set<Long> versions = new LinkedHashSet<>();
+        for (String entry : ifMatch.split(",")) {
+            String value = entry.trim();
+            if (value.equals("*")) {
+                return null;
+            }
+            if (value.length() > 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                try {
+                    versions.add(Long.parseLong(value.substring(1, value.length() - 1)));
+                } catch (NumberFormatException e) {
+                    // skip: not an ETag this service issued
+                }
+            }
+        }
+        if (versions.size() != 1) {
+            throw new PreconditionFailedException("If-Match " + ifMatch.trim() + " does not match the current ETag");
+        }
+        return versions.iterator().next();
+    }
+}
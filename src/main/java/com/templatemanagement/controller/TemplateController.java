@@ -1,7 +1,9 @@
 package com.templatemanagement.controller;
 
 import com.templatemanagement.dto.request.TemplateCreateRequest;
+import com.templatemanagement.dto.request.TemplateImportRequest;
 import com.templatemanagement.dto.request.TemplateUpdateRequest;
+import com.templatemanagement.dto.response.TemplateImportResult;
 import com.templatemanagement.dto.response.TemplatePageResponse;
 import com.templatemanagement.dto.response.TemplateResponse;
 import com.templatemanagement.processor.TemplateManagementProcessor;
@@ -14,10 +16,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import javax.validation.Valid;
@@ -34,7 +39,6 @@ import java.util.UUID;
 @Tag(name = "Template Management", description = "APIs for managing document templates")
 public class TemplateController {
 
-    private static final String HEADER_CORRELATION_ID = "X-Correlation-Id";
     private static final String HEADER_USER_ID = "X-User-Id";
     private static final String DEFAULT_USER = "system";
 
@@ -50,16 +54,32 @@ public class TemplateController {
     })
     public Mono<ResponseEntity<TemplateResponse>> createTemplate(
             @Valid @RequestBody TemplateCreateRequest request,
-            @RequestHeader(value = HEADER_CORRELATION_ID, required = false) String correlationId,
             @RequestHeader(value = HEADER_USER_ID, required = false, defaultValue = DEFAULT_USER) String userId) {
 
-        String corrId = correlationId != null ? correlationId : UUID.randomUUID().toString();
-        log.info("POST /templates - correlationId={}, type={}", corrId, request.getTemplateType());
+        log.debug("POST /templates - type={}", request.getTemplateType());
 
-        return processor.processCreateTemplate(request, corrId, userId)
+        return processor.processCreateTemplate(request, userId)
                 .map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Bulk import templates",
+            description = "Creates templates with nested vendor mappings from NDJSON, one template per line, "
+                    + "and streams back one result per line")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import results, one NDJSON line per input record",
+                    content = @Content(schema = @Schema(implementation = TemplateImportResult.class))),
+            @ApiResponse(responseCode = "400", description = "Malformed NDJSON")
+    })
+    public Flux<TemplateImportResult> importTemplates(
+            @RequestBody Flux<TemplateImportRequest> records,
+            @RequestHeader(value = HEADER_USER_ID, required = false, defaultValue = DEFAULT_USER) String userId) {
+
+        log.debug("POST /templates/import");
+
+        return processor.processImportTemplates(records, userId);
+    }
+
     @GetMapping
     @Operation(summary = "List templates", description = "List templates with optional filters and pagination")
     @ApiResponses(value = {
@@ -78,13 +98,11 @@ public class TemplateController {
             @Parameter(description = "Page number (0-based)")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size")
-            @RequestParam(defaultValue = "20") int size,
-            @RequestHeader(value = HEADER_CORRELATION_ID, required = false) String correlationId) {
+            @RequestParam(defaultValue = "20") int size) {
 
-        String corrId = correlationId != null ? correlationId : UUID.randomUUID().toString();
-        log.info("GET /templates - correlationId={}, page={}, size={}", corrId, page, size);
+        log.debug("GET /templates - page={}, size={}", page, size);
 
-        return processor.processListTemplates(lineOfBusiness, templateType, activeFlag, communicationType, page, size, corrId)
+        return processor.processListTemplates(lineOfBusiness, templateType, activeFlag, communicationType, page, size)
                 .map(ResponseEntity::ok);
     }
 
@@ -97,13 +115,11 @@ public class TemplateController {
     })
     public Mono<ResponseEntity<TemplatePageResponse>> getTemplateById(
             @Parameter(description = "Master template ID")
-            @PathVariable UUID templateId,
-            @RequestHeader(value = HEADER_CORRELATION_ID, required = false) String correlationId) {
+            @PathVariable UUID templateId) {
 
-        String corrId = correlationId != null ? correlationId : UUID.randomUUID().toString();
-        log.info("GET /templates/{} - correlationId={}", templateId, corrId);
+        log.debug("GET /templates/{}", templateId);
 
-        return processor.processGetTemplateById(templateId, corrId)
+        return processor.processGetTemplateById(templateId)
                 .map(ResponseEntity::ok);
     }
 
@@ -120,22 +136,24 @@ public class TemplateController {
             @Parameter(description = "Template version")
             @PathVariable Integer templateVersion,
             @Parameter(description = "Include vendor mappings in response")
-            @RequestParam(defaultValue = "false") boolean includeVendors,
-            @RequestHeader(value = HEADER_CORRELATION_ID, required = false) String correlationId) {
+            @RequestParam(defaultValue = "false") boolean includeVendors) {
 
-        String corrId = correlationId != null ? correlationId : UUID.randomUUID().toString();
-        log.info("GET /templates/{}/versions/{} - correlationId={}", templateId, templateVersion, corrId);
+        log.debug("GET /templates/{}/versions/{}", templateId, templateVersion);
 
-        return processor.processGetTemplateByIdAndVersion(templateId, templateVersion, includeVendors, corrId)
-                .map(ResponseEntity::ok);
+        return processor.processGetTemplateByIdAndVersion(templateId, templateVersion, includeVendors)
+                .map(response -> ResponseEntity.ok()
+                        .eTag(ETags.of(response.getTemplate().getVersionNumber()))
+                        .body(response));
     }
 
     @PatchMapping("/{templateId}/versions/{templateVersion}")
-    @Operation(summary = "Update template", description = "Update a template version or create a new version")
+    @Operation(summary = "Update template", description = "Update a template version or create a new version. " +
+            "Send the ETag from a previous GET as If-Match to reject the update if the version changed since.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Template updated successfully",
                     content = @Content(schema = @Schema(implementation = TemplateResponse.class))),
-            @ApiResponse(responseCode = "404", description = "Template version not found")
+            @ApiResponse(responseCode = "404", description = "Template version not found"),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current ETag")
     })
     public Mono<ResponseEntity<TemplateResponse>> updateTemplate(
             @Parameter(description = "Master template ID")
@@ -145,19 +163,23 @@ public class TemplateController {
             @Valid @RequestBody TemplateUpdateRequest request,
             @Parameter(description = "Create a new version instead of updating existing")
             @RequestParam(defaultValue = "false") boolean createNewVersion,
-            @RequestHeader(value = HEADER_CORRELATION_ID, required = false) String correlationId,
+            @Parameter(description = "With createNewVersion: copy the active vendor mappings to the new version")
+            @RequestParam(defaultValue = "false") boolean copyVendorMappings,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestHeader(value = HEADER_USER_ID, required = false, defaultValue = DEFAULT_USER) String userId) {
 
-        String corrId = correlationId != null ? correlationId : UUID.randomUUID().toString();
-        log.info("PATCH /templates/{}/versions/{} - correlationId={}, createNewVersion={}",
-                templateId, templateVersion, corrId, createNewVersion);
+        log.debug("PATCH /templates/{}/versions/{} - createNewVersion={}, copyVendorMappings={}, ifMatch={}",
+                templateId, templateVersion, createNewVersion, copyVendorMappings, ifMatch);
 
-        return processor.processUpdateTemplate(templateId, templateVersion, request, createNewVersion, corrId, userId)
-                .map(ResponseEntity::ok);
+        return Mono.defer(() -> processor.processUpdateTemplate(
+                        templateId, templateVersion, request, createNewVersion, copyVendorMappings, ETags.expectedVersion(ifMatch), userId))
+                .map(response -> ResponseEntity.ok()
+                        .eTag(ETags.of(response.getTemplate().getVersionNumber()))
+                        .body(response));
     }
 
     @DeleteMapping("/{templateId}/versions/{templateVersion}")
-    @Operation(summary = "Delete template", description = "Soft delete a template version")
+    @Operation(summary = "Delete template", description = "Soft delete a template version, optionally with its vendor mappings")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Template deleted successfully"),
             @ApiResponse(responseCode = "404", description = "Template version not found")
@@ -167,13 +189,33 @@ public class TemplateController {
             @PathVariable UUID templateId,
             @Parameter(description = "Template version")
             @PathVariable Integer templateVersion,
-            @RequestHeader(value = HEADER_CORRELATION_ID, required = false) String correlationId,
+            @Parameter(description = "Also archive the version's vendor mappings")
+            @RequestParam(defaultValue = "false") boolean cascade,
+            @RequestHeader(value = HEADER_USER_ID, required = false, defaultValue = DEFAULT_USER) String userId) {
+
+        log.debug("DELETE /templates/{}/versions/{} - cascade={}", templateId, templateVersion, cascade);
+
+        Mono<Void> archived = cascade
+                ? processor.processArchiveTemplateCascade(templateId, templateVersion, userId)
+                : processor.processDeleteTemplate(templateId, templateVersion, userId);
+        return archived.then(Mono.just(ResponseEntity.noContent().build()));
+    }
+
+    @DeleteMapping("/{templateId}")
+    @Operation(summary = "Delete template (all versions)",
+            description = "Soft delete every version of a template together with all of its vendor mappings")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Template and vendor mappings deleted successfully"),
+            @ApiResponse(responseCode = "404", description = "Template not found")
+    })
+    public Mono<ResponseEntity<Void>> deleteTemplateAllVersions(
+            @Parameter(description = "Master template ID")
+            @PathVariable UUID templateId,
             @RequestHeader(value = HEADER_USER_ID, required = false, defaultValue = DEFAULT_USER) String userId) {
 
-        String corrId = correlationId != null ? correlationId : UUID.randomUUID().toString();
-        log.info("DELETE /templates/{}/versions/{} - correlationId={}", templateId, templateVersion, corrId);
+        log.debug("DELETE /templates/{}", templateId);
 
-        return processor.processDeleteTemplate(templateId, templateVersion, corrId, userId)
+        return processor.processArchiveTemplateCascade(templateId, null, userId)
                 .then(Mono.just(ResponseEntity.noContent().build()));
     }
 }
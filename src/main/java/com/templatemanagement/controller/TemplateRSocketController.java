@@ -0,0 +1,86 @@
+package com.templatemanagement.controller;
+
+import com.templatemanagement.dto.MasterTemplateDto;
+import com.templatemanagement.dto.TemplateVendorMappingDto;
+import com.templatemanagement.dto.request.TemplateListQuery;
+import com.templatemanagement.dto.request.VendorMappingListQuery;
+import com.templatemanagement.dto.response.TemplateResponse;
+import com.templatemanagement.dto.response.TemplateVendorPageResponse;
+import com.templatemanagement.processor.TemplateManagementProcessor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+/**
+ * RSocket (TCP) interface for the high-rate read paths.
+ * <p>
+ * Lookups are request-response on routes that carry their keys, so requests have no data payload;
+ * list queries are request-stream. Clients keep one connection and multiplex lookups over it.
+ * Payloads are CBOR (application/cbor) or JSON, as negotiated in the SETUP frame.
+ */
+@Slf4j
+@Controller
+@RequiredArgsConstructor
+public class TemplateRSocketController {
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
+    private final TemplateManagementProcessor processor;
+
+    @MessageMapping("routing.{templateId}.{templateVersion}.{vendorType}")
+    public Mono<TemplateVendorPageResponse> getVendorsForRouting(
+            @DestinationVariable UUID templateId,
+            @DestinationVariable Integer templateVersion,
+            @DestinationVariable String vendorType) {
+
+        log.debug("RSocket routing - templateId={}, version={}, type={}", templateId, templateVersion, vendorType);
+        return processor.processGetVendorsForRouting(templateId, templateVersion, vendorType);
+    }
+
+    @MessageMapping("templates.{templateId}.versions.{templateVersion}")
+    public Mono<TemplateResponse> getTemplateByIdAndVersion(
+            @DestinationVariable UUID templateId,
+            @DestinationVariable Integer templateVersion) {
+
+        log.debug("RSocket templates.{}.versions.{}", templateId, templateVersion);
+        return processor.processGetTemplateByIdAndVersion(templateId, templateVersion, false);
+    }
+
+    @MessageMapping("templates.{templateId}.versions.{templateVersion}.with-vendors")
+    public Mono<TemplateResponse> getTemplateByIdAndVersionWithVendors(
+            @DestinationVariable UUID templateId,
+            @DestinationVariable Integer templateVersion) {
+
+        log.debug("RSocket templates.{}.versions.{}.with-vendors", templateId, templateVersion);
+        return processor.processGetTemplateByIdAndVersion(templateId, templateVersion, true);
+    }
+
+    @MessageMapping("templates.list")
+    public Flux<MasterTemplateDto> streamTemplates(@Payload TemplateListQuery query) {
+        log.debug("RSocket templates.list - query={}", query);
+        return processor.processStreamTemplates(query.getLineOfBusiness(), query.getTemplateType(),
+                query.getActiveFlag(), query.getCommunicationType(), pageOf(query.getPage()), sizeOf(query.getSize()));
+    }
+
+    @MessageMapping("vendors.list")
+    public Flux<TemplateVendorMappingDto> streamVendorMappings(@Payload VendorMappingListQuery query) {
+        log.debug("RSocket vendors.list - query={}", query);
+        return processor.processStreamVendorMappings(query.getMasterTemplateId(), query.getVendorType(),
+                query.getVendor(), query.getActiveFlag(), pageOf(query.getPage()), sizeOf(query.getSize()));
+    }
+
+    private static int pageOf(Integer page) {
+        return page != null ? page : 0;
+    }
+
+    private static int sizeOf(Integer size) {
+        return size != null ? size : DEFAULT_PAGE_SIZE;
+    }
+}
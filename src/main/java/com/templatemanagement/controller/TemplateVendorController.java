@@ -2,8 +2,10 @@ package com.templatemanagement.controller;
 
 import com.templatemanagement.dto.request.TemplateVendorCreateRequest;
 import com.templatemanagement.dto.request.TemplateVendorUpdateRequest;
+import com.templatemanagement.dto.request.VendorBulkUpdateRequest;
 import com.templatemanagement.dto.response.TemplateVendorPageResponse;
 import com.templatemanagement.dto.response.TemplateVendorResponse;
+import com.templatemanagement.dto.response.VendorBulkUpdateResponse;
 import com.templatemanagement.processor.TemplateManagementProcessor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,6 +16,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -34,7 +37,6 @@ import java.util.UUID;
 @Tag(name = "Template Vendor Mapping", description = "APIs for managing template vendor mappings")
 public class TemplateVendorController {
 
-    private static final String HEADER_CORRELATION_ID = "X-Correlation-Id";
     private static final String HEADER_USER_ID = "X-User-Id";
     private static final String DEFAULT_USER = "system";
 
@@ -51,14 +53,12 @@ public class TemplateVendorController {
     })
     public Mono<ResponseEntity<TemplateVendorResponse>> createVendorMapping(
             @Valid @RequestBody TemplateVendorCreateRequest request,
-            @RequestHeader(value = HEADER_CORRELATION_ID, required = false) String correlationId,
             @RequestHeader(value = HEADER_USER_ID, required = false, defaultValue = DEFAULT_USER) String userId) {
 
-        String corrId = correlationId != null ? correlationId : UUID.randomUUID().toString();
-        log.info("POST /templates/vendors - correlationId={}, templateId={}, vendor={}",
-                corrId, request.getMasterTemplateId(), request.getVendor());
+        log.debug("POST /templates/vendors - templateId={}, vendor={}",
+                request.getMasterTemplateId(), request.getVendor());
 
-        return processor.processCreateVendorMapping(request, corrId, userId)
+        return processor.processCreateVendorMapping(request, userId)
                 .map(response -> ResponseEntity.status(HttpStatus.CREATED).body(response));
     }
 
@@ -80,14 +80,12 @@ public class TemplateVendorController {
             @Parameter(description = "Page number (0-based)")
             @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size")
-            @RequestParam(defaultValue = "20") int size,
-            @RequestHeader(value = HEADER_CORRELATION_ID, required = false) String correlationId) {
+            @RequestParam(defaultValue = "20") int size) {
 
-        String corrId = correlationId != null ? correlationId : UUID.randomUUID().toString();
-        log.info("GET /templates/vendors - correlationId={}, templateId={}, page={}, size={}",
-                corrId, templateId, page, size);
+        log.debug("GET /templates/vendors - templateId={}, page={}, size={}",
+                templateId, page, size);
 
-        return processor.processListVendorMappings(templateId, vendorType, vendor, activeFlag, page, size, corrId)
+        return processor.processListVendorMappings(templateId, vendorType, vendor, activeFlag, page, size)
                 .map(ResponseEntity::ok);
     }
 
@@ -102,35 +100,57 @@ public class TemplateVendorController {
             @Parameter(description = "Vendor mapping ID")
             @PathVariable UUID vendorId,
             @Parameter(description = "Include template details in response")
-            @RequestParam(defaultValue = "false") boolean includeTemplateDetails,
-            @RequestHeader(value = HEADER_CORRELATION_ID, required = false) String correlationId) {
+            @RequestParam(defaultValue = "false") boolean includeTemplateDetails) {
 
-        String corrId = correlationId != null ? correlationId : UUID.randomUUID().toString();
-        log.info("GET /templates/vendors/{} - correlationId={}", vendorId, corrId);
+        log.debug("GET /templates/vendors/{}", vendorId);
 
-        return processor.processGetVendorMappingById(vendorId, includeTemplateDetails, corrId)
+        return processor.processGetVendorMappingById(vendorId, includeTemplateDetails)
+                .map(response -> ResponseEntity.ok()
+                        .eTag(ETags.of(response.getVendorMapping().getVersionNumber()))
+                        .body(response));
+    }
+
+    @PatchMapping("/bulk")
+    @Operation(summary = "Bulk update vendor mappings",
+            description = "Set status, active flag and/or priority on every mapping of a vendor and/or vendor type, or on a list of mapping IDs")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Vendor mappings updated",
+                    content = @Content(schema = @Schema(implementation = VendorBulkUpdateResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid selector or no changes requested")
+    })
+    public Mono<ResponseEntity<VendorBulkUpdateResponse>> bulkUpdateVendorMappings(
+            @Valid @RequestBody VendorBulkUpdateRequest request,
+            @RequestHeader(value = HEADER_USER_ID, required = false, defaultValue = DEFAULT_USER) String userId) {
+
+        log.debug("PATCH /templates/vendors/bulk - vendor={}, vendorType={}",
+                request.getVendor(), request.getVendorType());
+
+        return processor.processBulkUpdateVendorMappings(request, userId)
                 .map(ResponseEntity::ok);
     }
 
     @PatchMapping("/{vendorId}")
-    @Operation(summary = "Update vendor mapping", description = "Update an existing vendor mapping")
+    @Operation(summary = "Update vendor mapping", description = "Update an existing vendor mapping. " +
+            "Send the ETag from a previous GET as If-Match to reject the update if the mapping changed since.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Vendor mapping updated successfully",
                     content = @Content(schema = @Schema(implementation = TemplateVendorResponse.class))),
-            @ApiResponse(responseCode = "404", description = "Vendor mapping not found")
+            @ApiResponse(responseCode = "404", description = "Vendor mapping not found"),
+            @ApiResponse(responseCode = "412", description = "If-Match does not match the current ETag")
     })
     public Mono<ResponseEntity<TemplateVendorResponse>> updateVendorMapping(
             @Parameter(description = "Vendor mapping ID")
             @PathVariable UUID vendorId,
             @Valid @RequestBody TemplateVendorUpdateRequest request,
-            @RequestHeader(value = HEADER_CORRELATION_ID, required = false) String correlationId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestHeader(value = HEADER_USER_ID, required = false, defaultValue = DEFAULT_USER) String userId) {
 
-        String corrId = correlationId != null ? correlationId : UUID.randomUUID().toString();
-        log.info("PATCH /templates/vendors/{} - correlationId={}", vendorId, corrId);
+        log.debug("PATCH /templates/vendors/{} - ifMatch={}", vendorId, ifMatch);
 
-        return processor.processUpdateVendorMapping(vendorId, request, corrId, userId)
-                .map(ResponseEntity::ok);
+        return Mono.defer(() -> processor.processUpdateVendorMapping(vendorId, request, ETags.expectedVersion(ifMatch), userId))
+                .map(response -> ResponseEntity.ok()
+                        .eTag(ETags.of(response.getVendorMapping().getVersionNumber()))
+                        .body(response));
     }
 
     @DeleteMapping("/{vendorId}")
@@ -142,13 +162,11 @@ public class TemplateVendorController {
     public Mono<ResponseEntity<Void>> deleteVendorMapping(
             @Parameter(description = "Vendor mapping ID")
             @PathVariable UUID vendorId,
-            @RequestHeader(value = HEADER_CORRELATION_ID, required = false) String correlationId,
             @RequestHeader(value = HEADER_USER_ID, required = false, defaultValue = DEFAULT_USER) String userId) {
 
-        String corrId = correlationId != null ? correlationId : UUID.randomUUID().toString();
-        log.info("DELETE /templates/vendors/{} - correlationId={}", vendorId, corrId);
+        log.debug("DELETE /templates/vendors/{}", vendorId);
 
-        return processor.processDeleteVendorMapping(vendorId, corrId, userId)
+        return processor.processDeleteVendorMapping(vendorId, userId)
                 .then(Mono.just(ResponseEntity.noContent().build()));
     }
 
@@ -164,14 +182,15 @@ public class TemplateVendorController {
             @Parameter(description = "Template version", required = true)
             @RequestParam Integer templateVersion,
             @Parameter(description = "Vendor type (GENERATION, PRINT, EMAIL, etc.)", required = true)
-            @RequestParam String vendorType,
-            @RequestHeader(value = HEADER_CORRELATION_ID, required = false) String correlationId) {
+            @RequestParam String vendorType) {
 
-        String corrId = correlationId != null ? correlationId : UUID.randomUUID().toString();
-        log.info("GET /templates/vendors/routing - correlationId={}, templateId={}, version={}, type={}",
-                corrId, templateId, templateVersion, vendorType);
+        log.debug("GET /templates/vendors/routing - templateId={}, version={}, type={}",
+                templateId, templateVersion, vendorType);
 
-        return processor.processGetVendorsForRouting(templateId, templateVersion, vendorType, corrId)
-                .map(ResponseEntity::ok);
+        // A matching If-None-Match is answered with 304 by the result handler
+        return processor.processGetVendorsForRouting(templateId, templateVersion, vendorType)
+                .map(response -> ResponseEntity.ok()
+                        .eTag(ETags.ofList(response.getVendorMappings()))
+                        .body(response));
     }
 }
@@ -0,0 +1,21 @@
+package com.templatemanagement.dao;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+/**
+ * Point-in-time statistics for one DAO cache
+ */
+public record CacheStats(String cache, long size, long hitCount, long missCount, double hitRate, long evictionCount) {
+
+    public static CacheStats of(String name, Cache<?, ?> cache) {
+        var stats = cache.stats();
+        return new CacheStats(
+                name,
+                cache.estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount()
+        );
+    }
+}
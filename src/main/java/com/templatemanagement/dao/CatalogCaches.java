@@ -0,0 +1,117 @@
+package com.templatemanagement.dao;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Single view over every DAO cache, used for metrics binding and runtime administration
+ * (inspection, targeted invalidation, resizing and re-TTL without a redeploy).
+ */
+@Slf4j
+@Component
+public class CatalogCaches {
+
+    private final MasterTemplateDao templateDao;
+    private final TemplateVendorMappingDao vendorDao;
+
+    public CatalogCaches(MasterTemplateDao templateDao, TemplateVendorMappingDao vendorDao) {
+        this.templateDao = templateDao;
+        this.vendorDao = vendorDao;
+    }
+
+    public Map<String, Cache<?, ?>> getCaches() {
+        Map<String, Cache<?, ?>> caches = new LinkedHashMap<>(templateDao.getCaches());
+        caches.putAll(vendorDao.getCaches());
+        return caches;
+    }
+
+    public Optional<Cache<?, ?>> getCache(String name) {
+        return Optional.ofNullable(getCaches().get(name));
+    }
+
+    public List<CacheStats> getCacheStats() {
+        return getCaches().entrySet().stream()
+                .map(entry -> CacheStats.of(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Current size limit and TTL of a cache
+     */
+    public CachePolicy getPolicy(Cache<?, ?> cache) {
+        Long maximumSize = cache.policy().eviction()
+                .map(eviction -> eviction.getMaximum())
+                .orElse(null);
+        Long ttlSeconds = cache.policy().expireAfterWrite()
+                .map(expiration -> expiration.getExpiresAfter(TimeUnit.SECONDS))
+                .orElse(null);
+        return new CachePolicy(maximumSize, ttlSeconds);
+    }
+
+    /**
+     * Keys currently cached, as strings, up to the given limit
+     */
+    public List<String> getKeys(Cache<?, ?> cache, int limit) {
+        return cache.asMap().keySet().stream()
+                .map(String::valueOf)
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Look up an entry by the string form of its key
+     */
+    public Optional<Object> getEntry(Cache<?, ?> cache, String key) {
+        return cache.asMap().entrySet().stream()
+                .filter(entry -> String.valueOf(entry.getKey()).equals(key))
+                .<Object>map(Map.Entry::getValue)
+                .findFirst();
+    }
+
+    /**
+     * Invalidate one entry by the string form of its key, or the whole cache when key is null
+     */
+    public void invalidate(String name, Cache<?, ?> cache, String key) {
+        if (key == null) {
+            cache.invalidateAll();
+            log.info("Cache invalidated: cache={}", name);
+        } else {
+            cache.asMap().keySet().removeIf(candidate -> String.valueOf(candidate).equals(key));
+            log.info("Cache entry invalidated: cache={}, key={}", name, key);
+        }
+    }
+
+    /**
+     * Invalidate every template, vendor and routing entry belonging to a template
+     */
+    public void invalidateTemplate(UUID masterTemplateId) {
+        templateDao.invalidateTemplate(masterTemplateId);
+        vendorDao.invalidateTemplate(masterTemplateId);
+    }
+
+    /**
+     * Change the size limit and/or TTL of a live cache
+     */
+    public CachePolicy reconfigure(String name, Cache<?, ?> cache, Long maximumSize, Long ttlSeconds) {
+        if (maximumSize != null) {
+            cache.policy().eviction().ifPresent(eviction -> eviction.setMaximum(maximumSize));
+        }
+        if (ttlSeconds != null) {
+            cache.policy().expireAfterWrite().ifPresent(expiration -> expiration.setExpiresAfter(ttlSeconds, TimeUnit.SECONDS));
+        }
+        CachePolicy policy = getPolicy(cache);
+        log.info("Cache reconfigured: cache={}, maximumSize={}, ttlSeconds={}", name, policy.maximumSize(), policy.ttlSeconds());
+        return policy;
+    }
+
+    public record CachePolicy(Long maximumSize, Long ttlSeconds) {}
+}
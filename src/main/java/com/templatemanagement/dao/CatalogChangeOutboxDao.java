@@ -0,0 +1,178 @@
+package com.templatemanagement.dao;
+
+import com.templatemanagement.dto.CatalogChangeEvent;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.Statement;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.binding.BindMarkers;
+import org.springframework.r2dbc.core.binding.BindMarkersFactoryResolver;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Change outbox (document_hub.catalog_change_outbox).
+ * <p>
+ * Writes append on the caller's transactional connection, so a change event commits or rolls
+ * back with the catalog write it describes. Events get their sequence number from the table's
+ * identity column. Line of business and vendor are filled in from the catalog when the caller
+ * does not know them (cascades, bulk updates). Reads go to the primary.
+ */
+@Slf4j
+@Component
+public class CatalogChangeOutboxDao {
+
+    private static final String TABLE = "document_hub.catalog_change_outbox";
+    private static final int APPEND_COLUMNS = 8;
+
+    private final R2dbcEntityTemplate entityTemplate;
+    // Bind markers of the append statement, in column order; bound by name, which every driver supports
+    private final List<String> appendMarkers;
+    private final String appendSql;
+
+    public CatalogChangeOutboxDao(R2dbcEntityTemplate entityTemplate) {
+        this.entityTemplate = entityTemplate;
+        BindMarkers markers = BindMarkersFactoryResolver.resolve(entityTemplate.getDatabaseClient().getConnectionFactory())
+                .create();
+        this.appendMarkers = IntStream.range(0, APPEND_COLUMNS)
+                .mapToObj(i -> markers.next().getPlaceholder())
+                .collect(Collectors.toList());
+        this.appendSql = appendSql(appendMarkers);
+    }
+
+    /**
+     * Append change events in one batched statement
+     */
+    public Mono<Void> append(List<CatalogChangeEvent> events) {
+        if (events.isEmpty()) {
+            return Mono.empty();
+        }
+
+        log.debug("Appending change events: count={}", events.size());
+        return entityTemplate.getDatabaseClient().inConnection(connection -> {
+            Statement statement = connection.createStatement(appendSql);
+            for (int i = 0; i < events.size(); i++) {
+                if (i > 0) {
+                    statement.add();
+                }
+                bindEvent(statement, events.get(i));
+            }
+            return Flux.from(statement.execute())
+                    .flatMap(Result::getRowsUpdated)
+                    .then();
+        });
+    }
+
+    /**
+     * Events with after &lt; sequence_number &lt;= upTo, in sequence order
+     */
+    public Flux<CatalogChangeEvent> findAfter(long after, long upTo, int limit) {
+        return entityTemplate.getDatabaseClient()
+                .sql("SELECT * FROM " + TABLE + " " +
+                        "WHERE sequence_number > :after " +
+                        "AND sequence_number <= :upTo " +
+                        "ORDER BY sequence_number " +
+                        "LIMIT :limit")
+                .bind("after", after)
+                .bind("upTo", upTo)
+                .bind("limit", limit)
+                .map((row, metadata) -> toEvent(row))
+                .all();
+    }
+
+    /**
+     * Highest sequence number written so far, 0 for an empty outbox
+     */
+    public Mono<Long> findMaxSequence() {
+        return entityTemplate.getDatabaseClient()
+                .sql("SELECT COALESCE(MAX(sequence_number), 0) AS max_sequence FROM " + TABLE)
+                .map((row, metadata) -> row.get("max_sequence", Long.class))
+                .one();
+    }
+
+    /**
+     * Lowest sequence number still retained; empty for an empty outbox
+     */
+    public Mono<Long> findMinSequence() {
+        return entityTemplate.getDatabaseClient()
+                .sql("SELECT MIN(sequence_number) AS min_sequence FROM " + TABLE)
+                .map((row, metadata) -> row.get("min_sequence", Long.class))
+                .one();
+    }
+
+    /**
+     * Delete events older than the cutoff, always keeping the newest one so that the retained
+     * range stays known
+     */
+    public Mono<Integer> deleteOlderThan(LocalDateTime cutoff) {
+        return entityTemplate.getDatabaseClient()
+                .sql("DELETE FROM " + TABLE + " " +
+                        "WHERE changed_at < :cutoff " +
+                        "AND sequence_number < (SELECT MAX(sequence_number) FROM " + TABLE + ")")
+                .bind("cutoff", cutoff)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    private static String appendSql(List<String> markers) {
+        String changeType = markers.get(0);
+        String templateId = markers.get(1);
+        String templateVersion = markers.get(2);
+        String vendorId = markers.get(3);
+        String lineOfBusiness = markers.get(4);
+        String vendor = markers.get(5);
+        String vendorType = markers.get(6);
+        String changedBy = markers.get(7);
+
+        return "INSERT INTO " + TABLE + " (change_type, master_template_id, template_version, template_vendor_id, " +
+                "line_of_business, vendor, vendor_type, changed_by) " +
+                "SELECT " + changeType + ", " + templateId + ", " + templateVersion + ", " + vendorId + ", " +
+                "COALESCE(" + lineOfBusiness + ", (SELECT line_of_business FROM document_hub.master_template_definition " +
+                "WHERE master_template_id = " + templateId + " ORDER BY template_version DESC LIMIT 1)), " +
+                "COALESCE(" + vendor + ", (SELECT vendor FROM document_hub.template_vendor_mapping " +
+                "WHERE template_vendor_id = " + vendorId + ")), " +
+                vendorType + ", " + changedBy;
+    }
+
+    private void bindEvent(Statement statement, CatalogChangeEvent event) {
+        statement.bind(appendMarkers.get(0), event.getChangeType().name());
+        bindNullable(statement, appendMarkers.get(1), event.getMasterTemplateId(), UUID.class);
+        bindNullable(statement, appendMarkers.get(2), event.getTemplateVersion(), Integer.class);
+        bindNullable(statement, appendMarkers.get(3), event.getTemplateVendorId(), UUID.class);
+        bindNullable(statement, appendMarkers.get(4), event.getLineOfBusiness(), String.class);
+        bindNullable(statement, appendMarkers.get(5), event.getVendor(), String.class);
+        bindNullable(statement, appendMarkers.get(6), event.getVendorType(), String.class);
+        bindNullable(statement, appendMarkers.get(7), event.getChangedBy(), String.class);
+    }
+
+    private static void bindNullable(Statement statement, String marker, Object value, Class<?> type) {
+        if (value != null) {
+            statement.bind(marker, value);
+        } else {
+            statement.bindNull(marker, type);
+        }
+    }
+
+    private static CatalogChangeEvent toEvent(Row row) {
+        return CatalogChangeEvent.builder()
+                .sequenceNumber(row.get("sequence_number", Long.class))
+                .changeType(CatalogChangeEvent.ChangeType.valueOf(row.get("change_type", String.class)))
+                .masterTemplateId(row.get("master_template_id", UUID.class))
+                .templateVersion(row.get("template_version", Integer.class))
+                .templateVendorId(row.get("template_vendor_id", UUID.class))
+                .lineOfBusiness(row.get("line_of_business", String.class))
+                .vendor(row.get("vendor", String.class))
+                .vendorType(row.get("vendor_type", String.class))
+                .changedBy(row.get("changed_by", String.class))
+                .changedAt(row.get("changed_at", LocalDateTime.class))
+                .build();
+    }
+}
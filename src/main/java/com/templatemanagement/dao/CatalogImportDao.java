@@ -0,0 +1,113 @@
+package com.templatemanagement.dao;
+
+import com.templatemanagement.entity.MasterTemplateDefinitionEntity;
+import com.templatemanagement.entity.TemplateVendorMappingEntity;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.core.ReactiveDataAccessStrategy;
+import org.springframework.data.r2dbc.mapping.OutboundRow;
+import org.springframework.data.relational.core.sql.IdentifierProcessing;
+import org.springframework.data.relational.core.sql.SqlIdentifier;
+import org.springframework.r2dbc.core.Parameter;
+import org.springframework.r2dbc.core.binding.BindMarkers;
+import org.springframework.r2dbc.core.binding.BindMarkersFactory;
+import org.springframework.r2dbc.core.binding.BindMarkersFactoryResolver;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Batched inserts for bulk catalog import.
+ * <p>
+ * Each call sends one INSERT with a binding per row (Statement.add), so the rows travel in a
+ * single round trip instead of one save() per entity. Column values go through the same R2DBC
+ * converter as repository saves. Runs on the caller's transactional connection, if any.
+ */
+@Slf4j
+@Component
+public class CatalogImportDao {
+
+    private final R2dbcEntityTemplate entityTemplate;
+    private final BindMarkersFactory bindMarkersFactory;
+
+    public CatalogImportDao(R2dbcEntityTemplate entityTemplate) {
+        this.entityTemplate = entityTemplate;
+        this.bindMarkersFactory = BindMarkersFactoryResolver.resolve(entityTemplate.getDatabaseClient().getConnectionFactory());
+    }
+
+    /**
+     * Insert template rows, returning the number of rows written
+     */
+    public Mono<Long> insertTemplates(List<MasterTemplateDefinitionEntity> entities) {
+        return insertAll(MasterTemplateDefinitionEntity.class, entities);
+    }
+
+    /**
+     * Insert vendor mapping rows, returning the number of rows written
+     */
+    public Mono<Long> insertVendorMappings(List<TemplateVendorMappingEntity> entities) {
+        return insertAll(TemplateVendorMappingEntity.class, entities);
+    }
+
+    private <T> Mono<Long> insertAll(Class<T> type, List<T> entities) {
+        if (entities.isEmpty()) {
+            return Mono.just(0L);
+        }
+
+        ReactiveDataAccessStrategy strategy = entityTemplate.getDataAccessStrategy();
+        List<OutboundRow> rows = entities.stream()
+                .map(strategy::getOutboundRow)
+                .collect(Collectors.toList());
+        List<SqlIdentifier> columns = new ArrayList<>(rows.get(0).keySet());
+        BindMarkers bindMarkers = bindMarkersFactory.create();
+        List<String> markers = columns.stream()
+                .map(column -> bindMarkers.next().getPlaceholder())
+                .collect(Collectors.toList());
+        String sql = insertSql(type, columns, markers);
+
+        log.debug("Batch insert: table={}, rows={}", type.getSimpleName(), rows.size());
+        return entityTemplate.getDatabaseClient().inConnection(connection -> {
+            Statement statement = connection.createStatement(sql);
+            for (int r = 0; r < rows.size(); r++) {
+                if (r > 0) {
+                    statement.add();
+                }
+                bindRow(statement, columns, markers, rows.get(r));
+            }
+            return Flux.from(statement.execute())
+                    .flatMap(Result::getRowsUpdated)
+                    .reduce(0L, (total, updated) -> total + updated.longValue());
+        });
+    }
+
+    private String insertSql(Class<?> type, List<SqlIdentifier> columns, List<String> markers) {
+        String table = entityTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(type)
+                .getTableName()
+                .toSql(IdentifierProcessing.NONE);
+        String columnList = columns.stream()
+                .map(column -> column.toSql(IdentifierProcessing.NONE))
+                .collect(Collectors.joining(", "));
+        return "INSERT INTO " + table + " (" + columnList + ") VALUES (" + String.join(", ", markers) + ")";
+    }
+
+    /**
+     * Binds by marker name rather than index: r2dbc-h2 rejects index binds after Statement.add()
+     */
+    private void bindRow(Statement statement, List<SqlIdentifier> columns, List<String> markers, OutboundRow row) {
+        for (int c = 0; c < columns.size(); c++) {
+            Parameter parameter = row.get(columns.get(c));
+            if (parameter != null && parameter.hasValue()) {
+                statement.bind(markers.get(c), parameter.getValue());
+            } else {
+                statement.bindNull(markers.get(c), parameter != null && parameter.getType() != null ? parameter.getType() : Object.class);
+            }
+        }
+    }
+}
@@ -1,12 +1,19 @@
 package com.templatemanagement.dao;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.templatemanagement.changes.CatalogWatermark;
 import com.templatemanagement.dto.MasterTemplateDto;
+import com.templatemanagement.dto.TemplateDelta;
 import com.templatemanagement.entity.MasterTemplateDefinitionEntity;
+import com.templatemanagement.metrics.ResponseSource;
 import com.templatemanagement.repository.MasterTemplateRepository;
+import com.templatemanagement.repository.VendorMappingKey;
+import com.templatemanagement.snapshot.CatalogSnapshotHolder;
+import com.templatemanagement.tracing.ReactiveTracing;
 import io.r2dbc.postgresql.codec.Json;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -16,8 +23,12 @@ import reactor.core.publisher.Mono;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Data Access Object for MasterTemplateDefinition operations.
@@ -27,18 +38,26 @@ import java.util.UUID;
 @Component
 public class MasterTemplateDao {
 
+    private static final int VERSION_INSERT_ATTEMPTS = 3;
+
     private final MasterTemplateRepository repository;
     private final ObjectMapper objectMapper;
     private final Cache<String, MasterTemplateDto> templateCache;
     private final Cache<UUID, MasterTemplateDto> templateByIdCache;
+    private final CatalogSnapshotHolder snapshotHolder;
+    private final RowMappingStage rowMapping;
 
     public MasterTemplateDao(
             MasterTemplateRepository repository,
             ObjectMapper objectMapper,
+            CatalogSnapshotHolder snapshotHolder,
+            RowMappingStage rowMapping,
             @Value("${cache.template.ttl-minutes:30}") long ttlMinutes,
             @Value("${cache.template.max-size:1000}") long maxSize) {
         this.repository = repository;
         this.objectMapper = objectMapper;
+        this.snapshotHolder = snapshotHolder;
+        this.rowMapping = rowMapping;
         this.templateCache = Caffeine.newBuilder()
                 .maximumSize(maxSize)
                 .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
@@ -58,18 +77,28 @@ public class MasterTemplateDao {
         log.debug("Finding template by id and version: id={}, version={}", masterTemplateId, templateVersion);
         String cacheKey = buildCacheKey(masterTemplateId, templateVersion);
 
-        MasterTemplateDto cached = templateCache.getIfPresent(cacheKey);
-        if (cached != null) {
-            log.debug("Template cache hit: key={}", cacheKey);
-            return Mono.just(cached);
-        }
+        return Mono.deferContextual(context -> {
+            MasterTemplateDto cached = templateCache.getIfPresent(cacheKey);
+            if (cached != null) {
+                log.debug("Template cache hit: key={}", cacheKey);
+                ResponseSource.cacheHit(context);
+                ReactiveTracing.setAttribute(context, "cache.hit", true);
+                return Mono.just(cached);
+            }
 
-        return repository.findByMasterTemplateIdAndVersion(masterTemplateId, templateVersion)
-                .map(this::toDto)
-                .doOnNext(dto -> {
-                    templateCache.put(cacheKey, dto);
-                    log.debug("Template cached: key={}", cacheKey);
-                });
+            ResponseSource.databaseRead(context);
+
+            ReactiveTracing.setAttribute(context, "cache.hit", false);
+            // Primary: a lagging replica would re-cache a row a write has just invalidated
+            return repository.findByMasterTemplateIdAndVersion(masterTemplateId, templateVersion)
+                    .map(this::toDto)
+                    .doOnNext(dto -> {
+                        templateCache.put(cacheKey, dto);
+                        log.debug("Template cached: key={}", cacheKey);
+                    })
+                    .onErrorResume(CatalogSnapshotHolder::isDatabaseUnavailable, error -> snapshotHolder.fallbackMono(
+                            error, snapshot -> snapshot.findTemplate(masterTemplateId, templateVersion)));
+        });
     }
 
     /**
@@ -77,8 +106,10 @@ public class MasterTemplateDao {
      */
     public Flux<MasterTemplateDto> findAllVersionsById(UUID masterTemplateId) {
         log.debug("Finding all versions for template: {}", masterTemplateId);
-        return repository.findAllVersionsByMasterTemplateId(masterTemplateId)
-                .map(this::toDto);
+        return ReplicaReads.preferReplica(repository.findAllVersionsByMasterTemplateId(masterTemplateId))
+                .map(this::toDto)
+                .onErrorResume(CatalogSnapshotHolder::isDatabaseUnavailable, error -> snapshotHolder.fallbackFlux(
+                        error, snapshot -> snapshot.findTemplateVersions(masterTemplateId)));
     }
 
     /**
@@ -86,7 +117,7 @@ public class MasterTemplateDao {
      */
     public Mono<MasterTemplateDto> findByTypeAndVersion(String templateType, Integer templateVersion) {
         log.debug("Finding template by type and version: type={}, version={}", templateType, templateVersion);
-        return repository.findByTemplateTypeAndVersion(templateType, templateVersion)
+        return ReplicaReads.preferReplica(repository.findByTemplateTypeAndVersion(templateType, templateVersion))
                 .map(this::toDto);
     }
 
@@ -103,8 +134,8 @@ public class MasterTemplateDao {
         log.debug("Finding templates with filters: lob={}, type={}, active={}, comm={}",
                 lineOfBusiness, templateType, activeFlag, communicationType);
         long offset = (long) page * size;
-        return repository.findWithFilters(lineOfBusiness, templateType, activeFlag, communicationType, size, offset)
-                .map(this::toDto);
+        return rowMapping.map(ReplicaReads.preferReplica(
+                repository.findWithFilters(lineOfBusiness, templateType, activeFlag, communicationType, size, offset)), size, this::toDto);
     }
 
     /**
@@ -115,7 +146,23 @@ public class MasterTemplateDao {
             String templateType,
             Boolean activeFlag,
             String communicationType) {
-        return repository.countWithFilters(lineOfBusiness, templateType, activeFlag, communicationType);
+        return ReplicaReads.preferReplica(repository.countWithFilters(lineOfBusiness, templateType, activeFlag, communicationType));
+    }
+
+    /**
+     * Template versions written after the watermark and at least commitLag before the database's
+     * current time, archived ones included, each with its own watermark. Reads the primary: a
+     * lagging replica could hide rows behind a watermark the client has already passed.
+     */
+    public Flux<TemplateDelta> findChangedSince(CatalogWatermark after, Duration commitLag, int limit) {
+        log.debug("Finding changed templates: after={}, commitLagMs={}, limit={}", after.encode(), commitLag.toMillis(), limit);
+        return rowMapping.map(repository.findChangedSince(after.changedAt(), after.id(), after.version(), commitLag.toMillis(), limit),
+                limit, entity -> TemplateDelta.builder()
+                        .watermark(new CatalogWatermark(entity.getUpdatedTimestamp(), entity.getMasterTemplateId(),
+                                entity.getTemplateVersion()).encode())
+                        .archived(Boolean.TRUE.equals(entity.getArchiveIndicator()))
+                        .template(toDto(entity))
+                        .build());
     }
 
     /**
@@ -133,11 +180,33 @@ public class MasterTemplateDao {
     }
 
     /**
-     * Update an existing template
+     * Insert a new template unless its type is already in use, in a single statement.
+     * Empty when the type is taken.
      */
-    public Mono<MasterTemplateDto> update(MasterTemplateDefinitionEntity entity) {
-        log.debug("Updating template: id={}, version={}", entity.getMasterTemplateId(), entity.getTemplateVersion());
-        return repository.save(entity)
+    public Mono<MasterTemplateDto> insertIfTypeAbsent(MasterTemplateDefinitionEntity entity) {
+        log.debug("Inserting template if type absent: type={}", entity.getTemplateType());
+        return repository.insertIfTemplateTypeAbsent(entity)
+                .map(this::toDto)
+                .doOnNext(dto -> {
+                    String cacheKey = buildCacheKey(dto.getMasterTemplateId(), dto.getTemplateVersion());
+                    templateCache.put(cacheKey, dto);
+                    templateByIdCache.put(dto.getMasterTemplateId(), dto);
+                });
+    }
+
+    /**
+     * Insert a template as the next version of its master template. The version is allocated by
+     * the insert itself; a statement that loses the race to a concurrent editor is re-run with a
+     * fresh MAX, up to VERSION_INSERT_ATTEMPTS times. Empty if every attempt lost.
+     */
+    public Mono<MasterTemplateDto> insertNextVersion(MasterTemplateDto template) {
+        log.debug("Inserting next template version: id={}", template.getMasterTemplateId());
+        MasterTemplateDefinitionEntity entity = toEntity(template);
+        return Mono.defer(() -> repository.insertNextVersion(entity))
+                .repeatWhenEmpty(attempts -> attempts
+                        .take(VERSION_INSERT_ATTEMPTS - 1)
+                        .doOnNext(attempt -> log.debug("Template version taken concurrently, retrying: id={}, attempt={}",
+                                entity.getMasterTemplateId(), attempt + 2)))
                 .map(this::toDto)
                 .doOnNext(dto -> {
                     String cacheKey = buildCacheKey(dto.getMasterTemplateId(), dto.getTemplateVersion());
@@ -146,6 +215,55 @@ public class MasterTemplateDao {
                 });
     }
 
+    /**
+     * Write the non-null fields of changes (keyed by its masterTemplateId and templateVersion) to the
+     * template version if its stored version_number equals expectedVersionNumber (null:
+     * unconditionally). Only the changed columns are written. The changes are applied to the cached
+     * DTO when it is the version just updated; otherwise the row is re-read from the primary. Empty if
+     * the version is gone or was changed in the meantime.
+     */
+    public Mono<MasterTemplateDto> update(MasterTemplateDto changes, String updatedBy, Long expectedVersionNumber) {
+        UUID masterTemplateId = changes.getMasterTemplateId();
+        Integer templateVersion = changes.getTemplateVersion();
+        log.debug("Updating template: id={}, version={}, expectedVersion={}", masterTemplateId, templateVersion, expectedVersionNumber);
+
+        MasterTemplateDefinitionEntity entity = toEntity(changes);
+        // toEntity fills insert defaults; an update writes only what changed plus the audit columns
+        entity.setCreatedTimestamp(null);
+        entity.setArchiveIndicator(null);
+        entity.setVersionNumber(null);
+        entity.setUpdatedBy(updatedBy);
+        // Restamped from the database clock by the updated_timestamp trigger; set so the column is returned
+        entity.setUpdatedTimestamp(LocalDateTime.now());
+
+        String cacheKey = buildCacheKey(masterTemplateId, templateVersion);
+        return repository.updateIfVersion(entity, expectedVersionNumber)
+                .flatMap(written -> {
+                    MasterTemplateDto cached = templateCache.getIfPresent(cacheKey);
+                    if (cached != null && versionOf(cached.getVersionNumber()) + 1 == written.getVersionNumber()) {
+                        return Mono.just(applyChanges(cached, toDto(written)));
+                    }
+                    return repository.findByMasterTemplateIdAndVersion(masterTemplateId, templateVersion)
+                            .map(this::toDto);
+                })
+                .doOnNext(dto -> {
+                    templateCache.put(cacheKey, dto);
+                    templateByIdCache.put(masterTemplateId, dto);
+                });
+    }
+
+    /**
+     * Copy of the cached DTO with the non-null properties of changes applied; maps are replaced, as
+     * their jsonb columns are
+     */
+    private MasterTemplateDto applyChanges(MasterTemplateDto cached, MasterTemplateDto changes) {
+        try {
+            return objectMapper.updateValue(objectMapper.convertValue(cached, MasterTemplateDto.class), changes);
+        } catch (JsonMappingException e) {
+            throw new IllegalStateException("Failed to apply changes to cached template: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Archive (soft delete) a template version
      */
@@ -159,6 +277,21 @@ public class MasterTemplateDao {
                 });
     }
 
+    /**
+     * Archive a template version, or all versions when templateVersion is null, together with its
+     * vendor mappings. Drops the template cache entries of every archived version; vendor and
+     * routing entries are left to the vendor DAO via the returned mapping keys.
+     */
+    public Flux<VendorMappingKey> archiveTemplateCascade(UUID masterTemplateId, Integer templateVersion, String updatedBy) {
+        log.debug("Cascade archiving template: id={}, version={}", masterTemplateId, templateVersion == null ? "all" : templateVersion);
+        return repository.archiveTemplateCascade(masterTemplateId, templateVersion, updatedBy)
+                .doOnNext(row -> {
+                    if (row.templateVendorId() == null) {
+                        invalidateCache(row.masterTemplateId(), row.templateVersion());
+                    }
+                });
+    }
+
     /**
      * Get next version number for a template
      */
@@ -173,13 +306,40 @@ public class MasterTemplateDao {
         return repository.existsByTemplateType(templateType);
     }
 
+    /**
+     * Of the given template types, return those already in use. Reads the primary, since the
+     * answer decides whether an insert goes ahead.
+     */
+    public Flux<String> findExistingTemplateTypes(Collection<String> templateTypes) {
+        if (templateTypes.isEmpty()) {
+            return Flux.empty();
+        }
+        return repository.findExistingTemplateTypes(templateTypes);
+    }
+
     /**
      * Find active templates by line of business
      */
     public Flux<MasterTemplateDto> findActiveTemplatesByLineOfBusiness(String lineOfBusiness, Long currentDate) {
         log.debug("Finding active templates by LOB: {}", lineOfBusiness);
-        return repository.findActiveTemplatesByLineOfBusiness(lineOfBusiness, currentDate)
-                .map(this::toDto);
+        return rowMapping.map(ReplicaReads.preferReplica(
+                repository.findActiveTemplatesByLineOfBusiness(lineOfBusiness, currentDate)), RowMappingStage.UNBOUNDED, this::toDto);
+    }
+
+    /**
+     * Find every non-archived template version, bypassing caches and snapshot fallback
+     */
+    public Flux<MasterTemplateDto> findAllForSnapshot() {
+        return rowMapping.map(ReplicaReads.preferReplica(
+                repository.findAllNonArchived()), RowMappingStage.UNBOUNDED, this::toDto);
+    }
+
+    /**
+     * Pre-populate the template cache, e.g. from a catalog snapshot at boot
+     */
+    public void warmCache(List<MasterTemplateDto> templates) {
+        templates.forEach(dto -> templateCache.put(buildCacheKey(dto.getMasterTemplateId(), dto.getTemplateVersion()), dto));
+        log.info("Template cache warmed: entries={}", templates.size());
     }
 
     /**
@@ -202,25 +362,43 @@ public class MasterTemplateDao {
     }
 
     /**
-     * Get cache statistics
+     * Invalidate every cached version of a template
+     */
+    public void invalidateTemplate(UUID masterTemplateId) {
+        String prefix = masterTemplateId.toString() + ":";
+        templateCache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+        templateByIdCache.invalidate(masterTemplateId);
+        log.info("Template cache invalidated for all versions: id={}", masterTemplateId);
+    }
+
+    /**
+     * Get cache statistics for every template cache
      */
-    public CacheStats getCacheStats() {
-        var stats = templateCache.stats();
-        return new CacheStats(
-                templateCache.estimatedSize(),
-                stats.hitCount(),
-                stats.missCount(),
-                stats.hitRate()
-        );
+    public List<CacheStats> getCacheStats() {
+        return getCaches().entrySet().stream()
+                .map(entry -> CacheStats.of(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
     }
 
-    public record CacheStats(long size, long hitCount, long missCount, double hitRate) {}
+    /**
+     * Caches owned by this DAO, keyed by the name used in metrics and the cache admin endpoint
+     */
+    public Map<String, Cache<?, ?>> getCaches() {
+        Map<String, Cache<?, ?>> caches = new LinkedHashMap<>();
+        caches.put("template", templateCache);
+        caches.put("templateById", templateByIdCache);
+        return caches;
+    }
+
+    private static long versionOf(Long versionNumber) {
+        return versionNumber != null ? versionNumber : 0L;
+    }
 
-    private String buildCacheKey(UUID masterTemplateId, Integer templateVersion) {
+    String buildCacheKey(UUID masterTemplateId, Integer templateVersion) {
         return masterTemplateId.toString() + ":" + templateVersion;
     }
 
-    private MasterTemplateDto toDto(MasterTemplateDefinitionEntity entity) {
+    MasterTemplateDto toDto(MasterTemplateDefinitionEntity entity) {
         return MasterTemplateDto.builder()
                 .masterTemplateId(entity.getMasterTemplateId())
                 .templateVersion(entity.getTemplateVersion())
@@ -257,6 +435,7 @@ public class MasterTemplateDao {
                 .communicationType(entity.getCommunicationType())
                 .workflow(entity.getWorkflow())
                 .singleDocumentFlag(entity.getSingleDocumentFlag())
+                .versionNumber(entity.getVersionNumber())
                 .build();
     }
 
@@ -313,6 +492,7 @@ public class MasterTemplateDao {
                 .workflow(dto.getWorkflow())
                 .singleDocumentFlag(dto.getSingleDocumentFlag())
                 .archiveIndicator(false)
+                .versionNumber(dto.getVersionNumber())
                 .build();
     }
 
@@ -0,0 +1,58 @@
+package com.templatemanagement.dao;
+
+import com.templatemanagement.config.ReadRouting;
+import com.templatemanagement.snapshot.CatalogSnapshotHolder;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Replica reads that retry once on the primary when the replica is unavailable, so a replica
+ * outage alone never sends a read to the catalog snapshot. Only a failure of the primary retry
+ * reaches the caller's snapshot fallback. The read is re-subscribed for the retry, so it must be
+ * cold, as repository queries are.
+ */
+@Slf4j
+final class ReplicaReads {
+
+    private ReplicaReads() {
+    }
+
+    static <T> Mono<T> preferReplica(Mono<T> read) {
+        return Mono.deferContextual(context -> {
+            if (!ReadRouting.replicaAllowed(context)) {
+                return read;
+            }
+            return read.contextWrite(ReadRouting::preferReplica)
+                    .onErrorResume(CatalogSnapshotHolder::isDatabaseUnavailable, error -> retryOnPrimary(read, error));
+        });
+    }
+
+    /**
+     * A read that fails after emitting rows is not retried: the retry would emit them twice
+     */
+    static <T> Flux<T> preferReplica(Flux<T> read) {
+        return Flux.deferContextual(context -> {
+            if (!ReadRouting.replicaAllowed(context)) {
+                return read;
+            }
+            AtomicBoolean emitted = new AtomicBoolean();
+            return read.contextWrite(ReadRouting::preferReplica)
+                    .doOnNext(row -> emitted.set(true))
+                    .onErrorResume(error -> !emitted.get() && CatalogSnapshotHolder.isDatabaseUnavailable(error),
+                            error -> retryOnPrimary(read, error));
+        });
+    }
+
+    private static <T> Mono<T> retryOnPrimary(Mono<T> read, Throwable error) {
+        log.warn("Replica unavailable, retrying read on primary: error={}", error.getMessage());
+        return read.contextWrite(ReadRouting::primary);
+    }
+
+    private static <T> Flux<T> retryOnPrimary(Flux<T> read, Throwable error) {
+        log.warn("Replica unavailable, retrying read on primary: error={}", error.getMessage());
+        return read.contextWrite(ReadRouting::primary);
+    }
+}
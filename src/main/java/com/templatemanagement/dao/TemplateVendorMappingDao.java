@@ -1,13 +1,21 @@
 package com.templatemanagement.dao;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.templatemanagement.changes.CatalogWatermark;
+import com.templatemanagement.dto.TemplateVendorDelta;
 import com.templatemanagement.dto.TemplateVendorMappingDto;
 import com.templatemanagement.entity.TemplateVendorMappingEntity;
+import com.templatemanagement.metrics.ResponseSource;
 import com.templatemanagement.repository.TemplateVendorMappingRepository;
+import com.templatemanagement.repository.VendorMappingKey;
+import com.templatemanagement.snapshot.CatalogSnapshot;
+import com.templatemanagement.snapshot.CatalogSnapshotHolder;
+import com.templatemanagement.tracing.ReactiveTracing;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -17,30 +25,47 @@ import reactor.core.publisher.Mono;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Data Access Object for TemplateVendorMapping operations.
  * Provides a layer of abstraction over the repository with built-in caching.
+ * Invalidation is local to this instance, so routing lists expire after cache.vendor.routing-ttl-seconds:
+ * that is how long another instance may keep routing on a vendor whose status was just changed.
  */
 @Slf4j
 @Component
 public class TemplateVendorMappingDao {
 
+    // Vendor statuses findActiveVendorsForRouting accepts
+    private static final Set<String> ROUTABLE_STATUSES = Set.of("ACTIVE", "DEGRADED");
+
     private final TemplateVendorMappingRepository repository;
     private final ObjectMapper objectMapper;
     private final Cache<UUID, TemplateVendorMappingDto> vendorCache;
     private final Cache<String, List<TemplateVendorMappingDto>> vendorListCache;
+    private final CatalogSnapshotHolder snapshotHolder;
+    private final RowMappingStage rowMapping;
 
     public TemplateVendorMappingDao(
             TemplateVendorMappingRepository repository,
             ObjectMapper objectMapper,
+            CatalogSnapshotHolder snapshotHolder,
+            RowMappingStage rowMapping,
             @Value("${cache.vendor.ttl-minutes:30}") long ttlMinutes,
+            @Value("${cache.vendor.routing-ttl-seconds:10}") long routingTtlSeconds,
             @Value("${cache.vendor.max-size:500}") long maxSize) {
         this.repository = repository;
         this.objectMapper = objectMapper;
+        this.snapshotHolder = snapshotHolder;
+        this.rowMapping = rowMapping;
         this.vendorCache = Caffeine.newBuilder()
                 .maximumSize(maxSize)
                 .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
@@ -48,7 +73,7 @@ public class TemplateVendorMappingDao {
                 .build();
         this.vendorListCache = Caffeine.newBuilder()
                 .maximumSize(maxSize / 2)
-                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .expireAfterWrite(Duration.ofSeconds(routingTtlSeconds))
                 .recordStats()
                 .build();
     }
@@ -59,18 +84,28 @@ public class TemplateVendorMappingDao {
     public Mono<TemplateVendorMappingDto> findById(UUID vendorId) {
         log.debug("Finding vendor mapping by id: {}", vendorId);
 
-        TemplateVendorMappingDto cached = vendorCache.getIfPresent(vendorId);
-        if (cached != null) {
-            log.debug("Vendor cache hit: id={}", vendorId);
-            return Mono.just(cached);
-        }
+        return Mono.deferContextual(context -> {
+            TemplateVendorMappingDto cached = vendorCache.getIfPresent(vendorId);
+            if (cached != null) {
+                log.debug("Vendor cache hit: id={}", vendorId);
+                ResponseSource.cacheHit(context);
+                ReactiveTracing.setAttribute(context, "cache.hit", true);
+                return Mono.just(cached);
+            }
 
-        return repository.findByVendorId(vendorId)
-                .map(this::toDto)
-                .doOnNext(dto -> {
-                    vendorCache.put(vendorId, dto);
-                    log.debug("Vendor cached: id={}", vendorId);
-                });
+            ResponseSource.databaseRead(context);
+
+            ReactiveTracing.setAttribute(context, "cache.hit", false);
+            // Primary: a lagging replica would re-cache a row a write has just invalidated
+            return repository.findByVendorId(vendorId)
+                    .map(this::toDto)
+                    .doOnNext(dto -> {
+                        vendorCache.put(vendorId, dto);
+                        log.debug("Vendor cached: id={}", vendorId);
+                    })
+                    .onErrorResume(CatalogSnapshotHolder::isDatabaseUnavailable, error -> snapshotHolder.fallbackMono(
+                            error, snapshot -> snapshot.findVendorMapping(vendorId)));
+        });
     }
 
     /**
@@ -78,7 +113,7 @@ public class TemplateVendorMappingDao {
      */
     public Flux<TemplateVendorMappingDto> findByMasterTemplateId(UUID masterTemplateId) {
         log.debug("Finding vendor mappings for template: {}", masterTemplateId);
-        return repository.findByMasterTemplateId(masterTemplateId)
+        return ReplicaReads.preferReplica(repository.findByMasterTemplateId(masterTemplateId))
                 .map(this::toDto);
     }
 
@@ -87,8 +122,10 @@ public class TemplateVendorMappingDao {
      */
     public Flux<TemplateVendorMappingDto> findByMasterTemplateIdAndVersion(UUID masterTemplateId, Integer templateVersion) {
         log.debug("Finding vendor mappings for template version: id={}, version={}", masterTemplateId, templateVersion);
-        return repository.findByMasterTemplateIdAndVersion(masterTemplateId, templateVersion)
-                .map(this::toDto);
+        return ReplicaReads.preferReplica(repository.findByMasterTemplateIdAndVersion(masterTemplateId, templateVersion))
+                .map(this::toDto)
+                .onErrorResume(CatalogSnapshotHolder::isDatabaseUnavailable, error -> snapshotHolder.fallbackFlux(
+                        error, snapshot -> snapshot.findVendorMappings(masterTemplateId, templateVersion)));
     }
 
     /**
@@ -96,7 +133,7 @@ public class TemplateVendorMappingDao {
      */
     public Flux<TemplateVendorMappingDto> findByMasterTemplateIdAndVendorType(UUID masterTemplateId, String vendorType) {
         log.debug("Finding vendor mappings by type: templateId={}, type={}", masterTemplateId, vendorType);
-        return repository.findByMasterTemplateIdAndVendorType(masterTemplateId, vendorType)
+        return ReplicaReads.preferReplica(repository.findByMasterTemplateIdAndVendorType(masterTemplateId, vendorType))
                 .map(this::toDto);
     }
 
@@ -105,7 +142,7 @@ public class TemplateVendorMappingDao {
      */
     public Mono<TemplateVendorMappingDto> findPrimaryVendorMapping(UUID masterTemplateId, Integer templateVersion, String vendorType) {
         log.debug("Finding primary vendor: templateId={}, version={}, type={}", masterTemplateId, templateVersion, vendorType);
-        return repository.findPrimaryVendorMapping(masterTemplateId, templateVersion, vendorType)
+        return ReplicaReads.preferReplica(repository.findPrimaryVendorMapping(masterTemplateId, templateVersion, vendorType))
                 .map(this::toDto);
     }
 
@@ -114,8 +151,29 @@ public class TemplateVendorMappingDao {
      */
     public Flux<TemplateVendorMappingDto> findActiveVendorsForRouting(UUID masterTemplateId, Integer templateVersion, String vendorType) {
         log.debug("Finding active vendors for routing: templateId={}, version={}, type={}", masterTemplateId, templateVersion, vendorType);
-        return repository.findActiveVendorsForRouting(masterTemplateId, templateVersion, vendorType)
-                .map(this::toDto);
+        String cacheKey = buildRoutingKey(masterTemplateId, templateVersion, vendorType);
+
+        return Flux.deferContextual(context -> {
+            List<TemplateVendorMappingDto> cached = vendorListCache.getIfPresent(cacheKey);
+            if (cached != null) {
+                log.debug("Routing cache hit: key={}", cacheKey);
+                ResponseSource.cacheHit(context);
+                ReactiveTracing.setAttribute(context, "cache.hit", true);
+                return Flux.fromIterable(cached);
+            }
+
+            ResponseSource.databaseRead(context);
+
+            ReactiveTracing.setAttribute(context, "cache.hit", false);
+            // Primary, like the other cache loaders
+            return repository.findActiveVendorsForRouting(masterTemplateId, templateVersion, vendorType)
+                    .map(this::toDto)
+                    .collectList()
+                    .doOnNext(vendors -> vendorListCache.put(cacheKey, vendors))
+                    .flatMapMany(Flux::fromIterable)
+                    .onErrorResume(CatalogSnapshotHolder::isDatabaseUnavailable, error -> snapshotHolder.fallbackFlux(
+                            error, snapshot -> snapshot.findRoutingList(masterTemplateId, templateVersion, vendorType)));
+        });
     }
 
     /**
@@ -131,15 +189,30 @@ public class TemplateVendorMappingDao {
         log.debug("Finding vendor mappings with filters: templateId={}, type={}, vendor={}, active={}",
                 masterTemplateId, vendorType, vendor, activeFlag);
         long offset = (long) page * size;
-        return repository.findWithFilters(masterTemplateId, vendorType, vendor, activeFlag, size, offset)
-                .map(this::toDto);
+        return rowMapping.map(ReplicaReads.preferReplica(
+                repository.findWithFilters(masterTemplateId, vendorType, vendor, activeFlag, size, offset)), size, this::toDto);
     }
 
     /**
      * Count vendor mappings with filters
      */
     public Mono<Long> countWithFilters(UUID masterTemplateId, String vendorType, String vendor, Boolean activeFlag) {
-        return repository.countWithFilters(masterTemplateId, vendorType, vendor, activeFlag);
+        return ReplicaReads.preferReplica(repository.countWithFilters(masterTemplateId, vendorType, vendor, activeFlag));
+    }
+
+    /**
+     * Vendor mappings written after the watermark and at least commitLag before the database's
+     * current time, archived ones included, each with its own watermark. Reads the primary, like
+     * the template delta.
+     */
+    public Flux<TemplateVendorDelta> findChangedSince(CatalogWatermark after, Duration commitLag, int limit) {
+        log.debug("Finding changed vendor mappings: after={}, commitLagMs={}, limit={}", after.encode(), commitLag.toMillis(), limit);
+        return rowMapping.map(repository.findChangedSince(after.changedAt(), after.id(), commitLag.toMillis(), limit),
+                limit, entity -> TemplateVendorDelta.builder()
+                        .watermark(new CatalogWatermark(entity.getUpdatedTimestamp(), entity.getTemplateVendorId(), 0).encode())
+                        .archived(Boolean.TRUE.equals(entity.getArchiveIndicator()))
+                        .vendorMapping(toDto(entity))
+                        .build());
     }
 
     /**
@@ -156,11 +229,12 @@ public class TemplateVendorMappingDao {
     }
 
     /**
-     * Update an existing vendor mapping
+     * Insert a new vendor mapping if its template version is live and the vendor and vendor type
+     * are not yet mapped, in a single statement. Empty when either check fails.
      */
-    public Mono<TemplateVendorMappingDto> update(TemplateVendorMappingEntity entity) {
-        log.debug("Updating vendor mapping: id={}", entity.getTemplateVendorId());
-        return repository.save(entity)
+    public Mono<TemplateVendorMappingDto> insertIfTemplateLiveAndUnmapped(TemplateVendorMappingEntity entity) {
+        log.debug("Inserting vendor mapping if absent: templateId={}, vendor={}", entity.getMasterTemplateId(), entity.getVendor());
+        return repository.insertIfTemplateLiveAndUnmapped(entity)
                 .map(this::toDto)
                 .doOnNext(dto -> {
                     vendorCache.put(dto.getTemplateVendorId(), dto);
@@ -168,6 +242,82 @@ public class TemplateVendorMappingDao {
                 });
     }
 
+    /**
+     * Copy the active mappings of a template version to a new version of the same template in a
+     * single statement, and seed the routing cache of the new version from the copied rows so its
+     * first routing lookups need no query
+     */
+    public Flux<TemplateVendorMappingDto> cloneActiveMappings(UUID masterTemplateId, Integer sourceVersion, Integer targetVersion, String createdBy) {
+        log.debug("Cloning vendor mappings: templateId={}, fromVersion={}, toVersion={}", masterTemplateId, sourceVersion, targetVersion);
+        return repository.cloneActiveMappings(masterTemplateId, sourceVersion, targetVersion, createdBy)
+                .map(this::toDto)
+                .collectList()
+                .doOnNext(cloned -> {
+                    cloned.forEach(dto -> vendorCache.put(dto.getTemplateVendorId(), dto));
+                    cloned.stream()
+                            .collect(Collectors.groupingBy(TemplateVendorMappingDto::getVendorType))
+                            .forEach((vendorType, mappings) -> vendorListCache.put(
+                                    buildRoutingKey(masterTemplateId, targetVersion, vendorType), routingList(mappings)));
+                    log.debug("Vendor mappings cloned: templateId={}, toVersion={}, count={}", masterTemplateId, targetVersion, cloned.size());
+                })
+                .flatMapMany(Flux::fromIterable);
+    }
+
+    /**
+     * The mappings findActiveVendorsForRouting would return, in its order
+     */
+    private static List<TemplateVendorMappingDto> routingList(List<TemplateVendorMappingDto> mappings) {
+        return mappings.stream()
+                .filter(dto -> Boolean.TRUE.equals(dto.getActiveFlag()))
+                .filter(dto -> dto.getVendorStatus() == null || ROUTABLE_STATUSES.contains(dto.getVendorStatus()))
+                .sorted(Comparator.comparing(TemplateVendorMappingDto::getPriorityOrder, Comparator.nullsLast(Comparator.naturalOrder())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Write the non-null fields of changes (keyed by its templateVendorId) to the mapping if its
+     * stored version_number equals expectedVersionNumber (null: unconditionally). Only the changed
+     * columns are written, so template_content and untouched configs stay as they are. The changes
+     * are applied to the cached DTO when it is the version just updated; otherwise the row is re-read
+     * from the primary. Empty if the mapping is gone or was changed in the meantime.
+     */
+    public Mono<TemplateVendorMappingDto> update(TemplateVendorMappingDto changes, String updatedBy, Long expectedVersionNumber) {
+        UUID vendorId = changes.getTemplateVendorId();
+        log.debug("Updating vendor mapping: id={}, expectedVersion={}", vendorId, expectedVersionNumber);
+
+        TemplateVendorMappingEntity entity = toEntity(changes);
+        // toEntity fills insert defaults; an update writes only what changed plus the audit columns
+        entity.setCreatedTimestamp(null);
+        entity.setArchiveIndicator(null);
+        entity.setVersionNumber(null);
+        entity.setUpdatedBy(updatedBy);
+        // Restamped from the database clock by the updated_timestamp trigger; set so the column is returned
+        entity.setUpdatedTimestamp(LocalDateTime.now());
+
+        return repository.updateIfVersion(entity, expectedVersionNumber)
+                .flatMap(written -> {
+                    vendorListCache.invalidate(buildRoutingKey(written.getMasterTemplateId(), written.getTemplateVersion(), written.getVendorType()));
+                    TemplateVendorMappingDto cached = vendorCache.getIfPresent(vendorId);
+                    if (cached != null && versionOf(cached.getVersionNumber()) + 1 == written.getVersionNumber()) {
+                        return Mono.just(applyChanges(cached, toDto(written)));
+                    }
+                    return repository.findByVendorId(vendorId).map(this::toDto);
+                })
+                .doOnNext(dto -> vendorCache.put(vendorId, dto));
+    }
+
+    /**
+     * Copy of the cached DTO with the non-null properties of changes applied; maps and lists are
+     * replaced, as their columns are
+     */
+    private TemplateVendorMappingDto applyChanges(TemplateVendorMappingDto cached, TemplateVendorMappingDto changes) {
+        try {
+            return objectMapper.updateValue(objectMapper.convertValue(cached, TemplateVendorMappingDto.class), changes);
+        } catch (JsonMappingException e) {
+            throw new IllegalStateException("Failed to apply changes to cached vendor mapping: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Archive (soft delete) a vendor mapping
      */
@@ -192,11 +342,61 @@ public class TemplateVendorMappingDao {
         return repository.updateVendorStatus(vendorId, vendorStatus, healthStatus)
                 .doOnNext(count -> {
                     if (count > 0) {
+                        TemplateVendorMappingDto cached = vendorCache.getIfPresent(vendorId);
                         vendorCache.invalidate(vendorId);
+                        // Status drives routing eligibility; drop every routing list when the owner is unknown
+                        if (cached != null) {
+                            invalidateListCache(cached.getMasterTemplateId());
+                        } else {
+                            vendorListCache.invalidateAll();
+                        }
                     }
                 });
     }
 
+    /**
+     * Bulk update every live mapping of a vendor and/or vendor type in one statement; returns the updated rows
+     */
+    public Mono<List<VendorMappingKey>> bulkUpdateByVendor(String vendor, String vendorType, String vendorStatus,
+                                                           Boolean activeFlag, Integer priorityOrder, String updatedBy) {
+        log.debug("Bulk updating vendor mappings: vendor={}, type={}, status={}, active={}, priority={}",
+                vendor, vendorType, vendorStatus, activeFlag, priorityOrder);
+        return invalidateUpdated(repository.bulkUpdateByVendor(
+                vendor, vendorType, vendorStatus, activeFlag, priorityOrder, updatedBy));
+    }
+
+    /**
+     * Bulk update the given mappings in one statement; returns the updated rows
+     */
+    public Mono<List<VendorMappingKey>> bulkUpdateByIds(Collection<UUID> vendorIds, String vendorStatus,
+                                                        Boolean activeFlag, Integer priorityOrder, String updatedBy) {
+        log.debug("Bulk updating vendor mappings: ids={}, status={}, active={}, priority={}",
+                vendorIds.size(), vendorStatus, activeFlag, priorityOrder);
+        return invalidateUpdated(repository.bulkUpdateByIds(
+                vendorIds, vendorStatus, activeFlag, priorityOrder, updatedBy));
+    }
+
+    /**
+     * Drop exactly the vendor entries and routing lists of the rows an UPDATE ... RETURNING touched
+     */
+    private Mono<List<VendorMappingKey>> invalidateUpdated(Flux<VendorMappingKey> updated) {
+        return updated.collectList()
+                .doOnNext(keys -> {
+                    invalidateMappings(keys);
+                    log.info("Vendor mappings bulk updated: count={}", keys.size());
+                });
+    }
+
+    /**
+     * Invalidate the vendor entries and routing lists of the given mappings
+     */
+    public void invalidateMappings(Collection<VendorMappingKey> keys) {
+        keys.forEach(key -> {
+            vendorCache.invalidate(key.templateVendorId());
+            vendorListCache.invalidate(buildRoutingKey(key.masterTemplateId(), key.templateVersion(), key.vendorType()));
+        });
+    }
+
     /**
      * Check for duplicate vendor mapping
      */
@@ -204,6 +404,25 @@ public class TemplateVendorMappingDao {
         return repository.existsDuplicateMapping(masterTemplateId, templateVersion, vendor, vendorType);
     }
 
+    /**
+     * Find every non-archived vendor mapping, bypassing caches and snapshot fallback
+     */
+    public Flux<TemplateVendorMappingDto> findAllForSnapshot() {
+        return rowMapping.map(ReplicaReads.preferReplica(
+                repository.findAllNonArchived()), RowMappingStage.UNBOUNDED, this::toDto);
+    }
+
+    /**
+     * Pre-populate the vendor and routing caches, e.g. from a catalog snapshot at boot
+     */
+    public void warmCache(List<TemplateVendorMappingDto> vendors, List<CatalogSnapshot.RoutingList> routingLists) {
+        vendors.forEach(dto -> vendorCache.put(dto.getTemplateVendorId(), dto));
+        routingLists.forEach(routing -> vendorListCache.put(
+                buildRoutingKey(routing.masterTemplateId(), routing.templateVersion(), routing.vendorType()),
+                routing.vendors()));
+        log.info("Vendor cache warmed: vendors={}, routingLists={}", vendors.size(), routingLists.size());
+    }
+
     /**
      * Invalidate cache for a specific vendor
      */
@@ -230,21 +449,41 @@ public class TemplateVendorMappingDao {
     }
 
     /**
-     * Get cache statistics
+     * Invalidate every cached vendor mapping and routing list of a template
      */
-    public CacheStats getCacheStats() {
-        var stats = vendorCache.stats();
-        return new CacheStats(
-                vendorCache.estimatedSize(),
-                stats.hitCount(),
-                stats.missCount(),
-                stats.hitRate()
-        );
+    public void invalidateTemplate(UUID masterTemplateId) {
+        vendorCache.asMap().values().removeIf(dto -> masterTemplateId.equals(dto.getMasterTemplateId()));
+        invalidateListCache(masterTemplateId);
     }
 
-    public record CacheStats(long size, long hitCount, long missCount, double hitRate) {}
+    /**
+     * Get cache statistics for every vendor cache
+     */
+    public List<CacheStats> getCacheStats() {
+        return getCaches().entrySet().stream()
+                .map(entry -> CacheStats.of(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Caches owned by this DAO, keyed by the name used in metrics and the cache admin endpoint
+     */
+    public Map<String, Cache<?, ?>> getCaches() {
+        Map<String, Cache<?, ?>> caches = new LinkedHashMap<>();
+        caches.put("vendor", vendorCache);
+        caches.put("routing", vendorListCache);
+        return caches;
+    }
+
+    private static long versionOf(Long versionNumber) {
+        return versionNumber != null ? versionNumber : 0L;
+    }
+
+    String buildRoutingKey(UUID masterTemplateId, Integer templateVersion, String vendorType) {
+        return masterTemplateId.toString() + ":" + templateVersion + ":" + vendorType;
+    }
 
-    private TemplateVendorMappingDto toDto(TemplateVendorMappingEntity entity) {
+    TemplateVendorMappingDto toDto(TemplateVendorMappingEntity entity) {
         return TemplateVendorMappingDto.builder()
                 .templateVendorId(entity.getTemplateVendorId())
                 .masterTemplateId(entity.getMasterTemplateId())
@@ -284,6 +523,7 @@ public class TemplateVendorMappingDao {
                 .lastHealthCheck(entity.getLastHealthCheck())
                 .lastHealthStatus(entity.getLastHealthStatus())
                 .healthCheckEndpoint(entity.getHealthCheckEndpoint())
+                .versionNumber(entity.getVersionNumber())
                 .build();
     }
 
@@ -343,6 +583,7 @@ public class TemplateVendorMappingDao {
                 .lastHealthStatus(dto.getLastHealthStatus())
                 .healthCheckEndpoint(dto.getHealthCheckEndpoint())
                 .archiveIndicator(false)
+                .versionNumber(dto.getVersionNumber())
                 .build();
     }
 
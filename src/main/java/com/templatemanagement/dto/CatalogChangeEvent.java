@@ -0,0 +1,66 @@
+package com.templatemanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A catalog change as recorded in the change outbox and pushed to change stream subscribers.
+ * Carries identities only; consumers re-read or invalidate what they cache.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CatalogChangeEvent {
+
+    public enum ChangeType {
+        TEMPLATE_CREATED,
+        TEMPLATE_UPDATED,
+        TEMPLATE_ARCHIVED,
+        VENDOR_MAPPING_CREATED,
+        VENDOR_MAPPING_UPDATED,
+        VENDOR_MAPPING_ARCHIVED,
+        /** Changes after the requested sequence number are no longer retained; reload the catalog */
+        RESET
+    }
+
+    private Long sequenceNumber;
+    private ChangeType changeType;
+    private UUID masterTemplateId;
+    private Integer templateVersion;
+    private UUID templateVendorId;
+    private String lineOfBusiness;
+    private String vendor;
+    private String vendorType;
+    private String changedBy;
+    private LocalDateTime changedAt;
+
+    public static CatalogChangeEvent template(ChangeType changeType, MasterTemplateDto template, String changedBy) {
+        return CatalogChangeEvent.builder()
+                .changeType(changeType)
+                .masterTemplateId(template.getMasterTemplateId())
+                .templateVersion(template.getTemplateVersion())
+                .lineOfBusiness(template.getLineOfBusiness())
+                .changedBy(changedBy)
+                .build();
+    }
+
+    public static CatalogChangeEvent vendorMapping(ChangeType changeType, TemplateVendorMappingDto vendor, String changedBy) {
+        return CatalogChangeEvent.builder()
+                .changeType(changeType)
+                .masterTemplateId(vendor.getMasterTemplateId())
+                .templateVersion(vendor.getTemplateVersion())
+                .templateVendorId(vendor.getTemplateVendorId())
+                .vendor(vendor.getVendor())
+                .vendorType(vendor.getVendorType())
+                .changedBy(changedBy)
+                .build();
+    }
+}
@@ -55,4 +55,5 @@ public class MasterTemplateDto {
     private String communicationType;
     private String workflow;
     private Boolean singleDocumentFlag;
+    private Long versionNumber;
 }
@@ -0,0 +1,23 @@
+package com.templatemanagement.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A template version inserted, updated or archived after a delta sync watermark. The watermark
+ * of the last record received is where the next sync resumes.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TemplateDelta {
+
+    private String watermark;
+    private Boolean archived;
+    private MasterTemplateDto template;
+}
@@ -60,4 +60,5 @@ public class TemplateVendorMappingDto {
     private LocalDateTime lastHealthCheck;
     private String lastHealthStatus;
     private String healthCheckEndpoint;
+    private Long versionNumber;
 }
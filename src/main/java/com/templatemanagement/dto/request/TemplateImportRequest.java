@@ -0,0 +1,28 @@
+package com.templatemanagement.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One line of a bulk import: a create-template body plus the vendor mappings to create for
+ * version 1. masterTemplateId and templateVersion are assigned by the import and must be omitted
+ * from the nested mappings.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TemplateImportRequest {
+
+    @JsonUnwrapped
+    private TemplateCreateRequest template;
+
+    private List<TemplateVendorCreateRequest> vendorMappings;
+}
@@ -0,0 +1,26 @@
+package com.templatemanagement.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Template list query of the RSocket interface; the same filters as GET /templates.
+ * Null filters match everything; page and size default to 0 and 20.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TemplateListQuery {
+
+    private String lineOfBusiness;
+    private String templateType;
+    private Boolean activeFlag;
+    private String communicationType;
+    private Integer page;
+    private Integer size;
+}
@@ -0,0 +1,36 @@
+package com.templatemanagement.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.Size;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Request DTO for bulk vendor mapping updates.
+ * Select mappings by vendor and/or vendorType, or by vendorIds; null changes are left as is.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class VendorBulkUpdateRequest {
+
+    private String vendor;
+    private String vendorType;
+
+    @Size(max = 1000, message = "At most 1000 vendor IDs per request")
+    private List<UUID> vendorIds;
+
+    private String vendorStatus;
+    private Boolean activeFlag;
+
+    @Min(value = 1, message = "Priority order must be at least 1")
+    private Integer priorityOrder;
+}
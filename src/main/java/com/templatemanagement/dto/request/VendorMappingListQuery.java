@@ -0,0 +1,28 @@
+package com.templatemanagement.dto.request;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Vendor mapping list query of the RSocket interface; the same filters as GET /templates/vendors.
+ * Null filters match everything; page and size default to 0 and 20.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class VendorMappingListQuery {
+
+    private UUID masterTemplateId;
+    private String vendorType;
+    private String vendor;
+    private Boolean activeFlag;
+    private Integer page;
+    private Integer size;
+}
@@ -0,0 +1,49 @@
+package com.templatemanagement.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Outcome of one bulk import record, streamed back in input order
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TemplateImportResult {
+
+    public enum Status { CREATED, DUPLICATE, INVALID, FAILED }
+
+    /** 1-based position of the record in the request stream */
+    private long line;
+    private String templateType;
+    private Status status;
+    private UUID masterTemplateId;
+    private Integer vendorMappingsCreated;
+    private String message;
+
+    public static TemplateImportResult created(long line, String templateType, UUID masterTemplateId, int vendorMappings) {
+        return TemplateImportResult.builder()
+                .line(line)
+                .templateType(templateType)
+                .status(Status.CREATED)
+                .masterTemplateId(masterTemplateId)
+                .vendorMappingsCreated(vendorMappings)
+                .build();
+    }
+
+    public static TemplateImportResult rejected(long line, String templateType, Status status, String message) {
+        return TemplateImportResult.builder()
+                .line(line)
+                .templateType(templateType)
+                .status(status)
+                .message(message)
+                .build();
+    }
+}
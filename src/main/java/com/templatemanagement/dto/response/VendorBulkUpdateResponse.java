@@ -0,0 +1,24 @@
+package com.templatemanagement.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response DTO for bulk vendor mapping updates
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VendorBulkUpdateResponse {
+
+    private int affectedCount;
+
+    public static VendorBulkUpdateResponse of(int affectedCount) {
+        return VendorBulkUpdateResponse.builder()
+                .affectedCount(affectedCount)
+                .build();
+    }
+}
@@ -1,6 +1,7 @@
 package com.templatemanagement.exception;
 
 import com.templatemanagement.dto.response.ErrorResponse;
+import com.templatemanagement.filter.CorrelationContext;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -22,8 +23,6 @@ import java.util.stream.Collectors;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
-    private static final String HEADER_CORRELATION_ID = "X-Correlation-Id";
-
     @ExceptionHandler(ResourceNotFoundException.class)
     public Mono<ResponseEntity<ErrorResponse>> handleResourceNotFoundException(
             ResourceNotFoundException ex,
@@ -68,6 +67,28 @@ public class GlobalExceptionHandler {
         return Mono.just(ResponseEntity.status(HttpStatus.CONFLICT).body(error));
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public Mono<ResponseEntity<ErrorResponse>> handlePreconditionFailedException(
+            PreconditionFailedException ex,
+            ServerWebExchange exchange) {
+
+        String correlationId = getCorrelationId(exchange);
+        String path = exchange.getRequest().getPath().value();
+
+        log.warn("Precondition failed: correlationId={}, path={}, message={}",
+                correlationId, path, ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.of(
+                HttpStatus.PRECONDITION_FAILED.value(),
+                "Precondition Failed",
+                ex.getMessage(),
+                path,
+                correlationId
+        );
+
+        return Mono.just(ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error));
+    }
+
     @ExceptionHandler(WebExchangeBindException.class)
     public Mono<ResponseEntity<ErrorResponse>> handleValidationException(
             WebExchangeBindException ex,
@@ -139,8 +160,7 @@ public class GlobalExceptionHandler {
     }
 
     private String getCorrelationId(ServerWebExchange exchange) {
-        String correlationId = exchange.getRequest().getHeaders().getFirst(HEADER_CORRELATION_ID);
-        return correlationId != null ? correlationId : "unknown";
+        return CorrelationContext.get(exchange);
     }
 
     private ErrorResponse.FieldError toFieldError(FieldError fieldError) {
@@ -0,0 +1,11 @@
+package com.templatemanagement.exception;
+
+/**
+ * Exception thrown when a conditional request (If-Match) no longer matches the stored resource.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
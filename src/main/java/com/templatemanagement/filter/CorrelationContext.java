@@ -0,0 +1,69 @@
+package com.templatemanagement.filter;
+
+import org.springframework.web.server.ServerWebExchange;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Correlation ID carried in the Reactor Context (and mirrored as an exchange attribute),
+ * so it never has to be passed through method signatures.
+ * Generated IDs use ThreadLocalRandom: they only need to be unique enough for tracing,
+ * not unpredictable, so they avoid the SecureRandom behind {@code UUID.randomUUID()}.
+ */
+public final class CorrelationContext {
+
+    public static final String HEADER = "X-Correlation-Id";
+    public static final String CONTEXT_KEY = "correlationId";
+    public static final String MDC_KEY = "correlationId";
+    public static final String EXCHANGE_ATTRIBUTE = CorrelationContext.class.getName() + ".correlationId";
+
+    private static final String UNKNOWN = "unknown";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private CorrelationContext() {
+    }
+
+    /**
+     * Random UUID-formatted (version 4 layout) ID
+     */
+    public static String generate() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long most = (random.nextLong() & 0xFFFFFFFFFFFF0FFFL) | 0x0000000000004000L;
+        long least = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+
+        char[] chars = new char[36];
+        int pos = appendHex(chars, 0, most >>> 32, 8);
+        chars[pos++] = '-';
+        pos = appendHex(chars, pos, most >>> 16, 4);
+        chars[pos++] = '-';
+        pos = appendHex(chars, pos, most, 4);
+        chars[pos++] = '-';
+        pos = appendHex(chars, pos, least >>> 48, 4);
+        chars[pos++] = '-';
+        appendHex(chars, pos, least, 12);
+        return new String(chars);
+    }
+
+    public static Context with(Context context, String correlationId) {
+        return context.put(CONTEXT_KEY, correlationId);
+    }
+
+    public static String get(ContextView context) {
+        return context.getOrDefault(CONTEXT_KEY, UNKNOWN);
+    }
+
+    public static String get(ServerWebExchange exchange) {
+        String correlationId = exchange.getAttribute(EXCHANGE_ATTRIBUTE);
+        return correlationId != null ? correlationId : UNKNOWN;
+    }
+
+    private static int appendHex(char[] chars, int offset, long value, int digits) {
+        for (int i = digits - 1; i >= 0; i--) {
+            chars[offset + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+        return offset + digits;
+    }
+}
@@ -1,8 +1,11 @@
 package com.templatemanagement.filter;
 
-import lombok.extern.slf4j.Slf4j;
+import com.templatemanagement.accesslog.AccessLogEvent;
+import com.templatemanagement.accesslog.AccessLogWriter;
+import lombok.RequiredArgsConstructor;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.stereotype.Component;
@@ -11,60 +14,49 @@ import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Mono;
 
-import java.util.UUID;
-
 /**
  * WebFilter that ensures a correlation ID is present on all requests.
- * If not provided, generates a new one and adds it to both request and response headers.
+ * Uses the X-Correlation-Id header when provided, otherwise generates one. The ID is echoed
+ * on the response, stored in the Reactor Context and as an exchange attribute (see {@link CorrelationContext}).
+ * Completed requests are handed to the asynchronous {@link AccessLogWriter}.
  */
-@Slf4j
 @Component
 @Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
 public class CorrelationIdFilter implements WebFilter {
 
-    private static final String CORRELATION_ID_HEADER = "X-Correlation-Id";
+    private final AccessLogWriter accessLogWriter;
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
         ServerHttpRequest request = exchange.getRequest();
-        String correlationId = request.getHeaders().getFirst(CORRELATION_ID_HEADER);
-
-        if (correlationId == null || correlationId.isEmpty()) {
-            correlationId = UUID.randomUUID().toString();
-            log.debug("Generated correlation ID: {}", correlationId);
-        }
-
-        final String finalCorrelationId = correlationId;
+        String header = request.getHeaders().getFirst(CorrelationContext.HEADER);
+        String correlationId = header == null || header.isEmpty() ? CorrelationContext.generate() : header;
 
-        // Add correlation ID to response headers
         ServerHttpResponse response = exchange.getResponse();
-        response.getHeaders().add(CORRELATION_ID_HEADER, finalCorrelationId);
+        response.getHeaders().set(CorrelationContext.HEADER, correlationId);
+        exchange.getAttributes().put(CorrelationContext.EXCHANGE_ATTRIBUTE, correlationId);
 
-        // Mutate request if correlation ID was generated
-        ServerWebExchange mutatedExchange = exchange.mutate()
-                .request(builder -> builder.header(CORRELATION_ID_HEADER, finalCorrelationId))
-                .build();
+        long startNanos = System.nanoTime();
 
-        long startTime = System.currentTimeMillis();
-
-        return chain.filter(mutatedExchange)
+        return chain.filter(exchange)
                 .doOnSuccess(v -> {
-                    long duration = System.currentTimeMillis() - startTime;
-                    log.info("Request completed: correlationId={}, method={}, path={}, status={}, duration={}ms",
-                            finalCorrelationId,
-                            request.getMethod(),
-                            request.getPath().value(),
-                            response.getStatusCode(),
-                            duration);
+                    HttpStatus status = response.getStatusCode();
+                    recordAccess(request, correlationId, status != null ? status.value() : 200, startNanos, null);
                 })
-                .doOnError(error -> {
-                    long duration = System.currentTimeMillis() - startTime;
-                    log.error("Request failed: correlationId={}, method={}, path={}, duration={}ms, error={}",
-                            finalCorrelationId,
-                            request.getMethod(),
-                            request.getPath().value(),
-                            duration,
-                            error.getMessage());
-                });
+                .doOnError(error -> recordAccess(request, correlationId,
+                        HttpStatus.INTERNAL_SERVER_ERROR.value(), startNanos, error.getMessage()))
+                .contextWrite(context -> CorrelationContext.with(context, correlationId));
+    }
+
+    private void recordAccess(ServerHttpRequest request, String correlationId, int status, long startNanos, String error) {
+        accessLogWriter.record(new AccessLogEvent(
+                System.currentTimeMillis(),
+                correlationId,
+                request.getMethodValue(),
+                request.getPath().value(),
+                status,
+                (System.nanoTime() - startNanos) / 1000,
+                error));
     }
 }
@@ -0,0 +1,59 @@
+package com.templatemanagement.filter;
+
+import org.reactivestreams.Subscription;
+import org.slf4j.MDC;
+import reactor.core.CoreSubscriber;
+import reactor.util.context.Context;
+
+/**
+ * Subscriber decorator that copies the correlation ID from the Reactor Context into the SLF4J MDC
+ * before each signal, so log statements in operators see it regardless of which thread they run on.
+ * MDC is only written when the value changes.
+ */
+public class MdcContextLifter<T> implements CoreSubscriber<T> {
+
+    private final CoreSubscriber<T> delegate;
+
+    public MdcContextLifter(CoreSubscriber<T> delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        delegate.onSubscribe(subscription);
+    }
+
+    @Override
+    public void onNext(T value) {
+        copyToMdc();
+        delegate.onNext(value);
+    }
+
+    @Override
+    public void onError(Throwable error) {
+        copyToMdc();
+        delegate.onError(error);
+    }
+
+    @Override
+    public void onComplete() {
+        copyToMdc();
+        delegate.onComplete();
+    }
+
+    @Override
+    public Context currentContext() {
+        return delegate.currentContext();
+    }
+
+    private void copyToMdc() {
+        String correlationId = delegate.currentContext().getOrDefault(CorrelationContext.CONTEXT_KEY, null);
+        if (correlationId == null) {
+            if (MDC.get(CorrelationContext.MDC_KEY) != null) {
+                MDC.remove(CorrelationContext.MDC_KEY);
+            }
+        } else if (!correlationId.equals(MDC.get(CorrelationContext.MDC_KEY))) {
+            MDC.put(CorrelationContext.MDC_KEY, correlationId);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.templatemanagement.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.templatemanagement.config.ReadRouting;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * WebFilter that pins a client's reads to the primary for a short window after it writes,
+ * so it never observes replica lag on its own changes.
+ * Clients are identified by X-Client-Id, falling back to X-User-Id.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@ConditionalOnProperty(name = {"database.replica.enabled", "database.replica.read-your-writes.enabled"}, havingValue = "true")
+public class ReadYourWritesFilter implements WebFilter {
+
+    private static final String CLIENT_ID_HEADER = "X-Client-Id";
+    private static final String USER_ID_HEADER = "X-User-Id";
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesFilter(
+            @Value("${database.replica.read-your-writes.window-ms:5000}") long windowMs,
+            @Value("${database.replica.read-your-writes.max-clients:10000}") long maxClients) {
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(windowMs))
+                .maximumSize(maxClients)
+                .build();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String clientId = resolveClientId(request);
+        if (clientId == null) {
+            return chain.filter(exchange);
+        }
+
+        if (isWrite(request.getMethod())) {
+            return chain.filter(exchange)
+                    .doOnSuccess(v -> {
+                        HttpStatus status = exchange.getResponse().getStatusCode();
+                        if (status == null || status.is2xxSuccessful()) {
+                            recentWriters.put(clientId, Boolean.TRUE);
+                        }
+                    });
+        }
+
+        if (recentWriters.getIfPresent(clientId) != null) {
+            log.debug("Pinning reads to primary after recent write: clientId={}", clientId);
+            return chain.filter(exchange).contextWrite(ReadRouting::pinPrimary);
+        }
+        return chain.filter(exchange);
+    }
+
+    private String resolveClientId(ServerHttpRequest request) {
+        String clientId = request.getHeaders().getFirst(CLIENT_ID_HEADER);
+        if (clientId == null || clientId.isEmpty()) {
+            clientId = request.getHeaders().getFirst(USER_ID_HEADER);
+        }
+        return clientId == null || clientId.isEmpty() ? null : clientId;
+    }
+
+    private boolean isWrite(HttpMethod method) {
+        return method == HttpMethod.POST || method == HttpMethod.PUT
+                || method == HttpMethod.PATCH || method == HttpMethod.DELETE;
+    }
+}
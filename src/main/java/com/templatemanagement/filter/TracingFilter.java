@@ -0,0 +1,102 @@
+package com.templatemanagement.filter;
+
+import com.templatemanagement.tracing.ReactiveTracing;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.propagation.TextMapGetter;
+import io.opentelemetry.context.propagation.TextMapPropagator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFilter that opens the SERVER span for each request. The parent span context is extracted
+ * from inbound W3C traceparent/tracestate headers, and the span is renamed to the matched route
+ * and tagged with the controller method once the request has been handled.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+@ConditionalOnProperty(name = "tracing.enabled", havingValue = "true", matchIfMissing = true)
+public class TracingFilter implements WebFilter {
+
+    private static final TextMapGetter<HttpHeaders> HEADER_GETTER = new TextMapGetter<>() {
+        @Override
+        public Iterable<String> keys(HttpHeaders headers) {
+            return headers.keySet();
+        }
+
+        @Override
+        public String get(HttpHeaders headers, String key) {
+            return headers == null ? null : headers.getFirst(key);
+        }
+    };
+
+    private final Tracer tracer;
+    private final TextMapPropagator propagator;
+
+    public TracingFilter(ReactiveTracing tracing, OpenTelemetry openTelemetry) {
+        this.tracer = tracing.getTracer();
+        this.propagator = openTelemetry.getPropagators().getTextMapPropagator();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        Context parent = propagator.extract(Context.root(), request.getHeaders(), HEADER_GETTER);
+        String method = request.getMethodValue();
+
+        Span span = tracer.spanBuilder("HTTP " + method)
+                .setParent(parent)
+                .setSpanKind(SpanKind.SERVER)
+                .setAttribute("http.method", method)
+                .setAttribute("http.target", request.getPath().value())
+                .setAttribute("correlation.id", CorrelationContext.get(exchange))
+                .startSpan();
+
+        return chain.filter(exchange)
+                .doOnError(error -> {
+                    span.recordException(error);
+                    span.setStatus(StatusCode.ERROR, error.getClass().getSimpleName());
+                })
+                .doFinally(signal -> {
+                    finish(exchange, span, method);
+                    span.end();
+                })
+                .contextWrite(context -> context.put(ReactiveTracing.CONTEXT_KEY, parent.with(span)));
+    }
+
+    private void finish(ServerWebExchange exchange, Span span, String method) {
+        PathPattern route = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (route != null) {
+            span.updateName(method + " " + route.getPatternString());
+            span.setAttribute("http.route", route.getPatternString());
+        }
+        Object handler = exchange.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE);
+        if (handler instanceof HandlerMethod handlerMethod) {
+            span.setAttribute("code.namespace", handlerMethod.getBeanType().getSimpleName());
+            span.setAttribute("code.function", handlerMethod.getMethod().getName());
+        }
+        HttpStatus status = exchange.getResponse().getStatusCode();
+        if (status != null) {
+            span.setAttribute("http.status_code", status.value());
+            if (status.is5xxServerError()) {
+                span.setStatus(StatusCode.ERROR);
+            }
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.templatemanagement.metrics;
+
+import com.templatemanagement.dao.CatalogCaches;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registers every DAO cache with Micrometer (cache.gets, cache.puts, cache.evictions,
+ * cache.eviction.weight, cache.load.duration, cache.size), tagged cache=&lt;name&gt;.
+ */
+@Component
+@RequiredArgsConstructor
+public class CatalogCacheMetrics implements MeterBinder {
+
+    private final CatalogCaches catalogCaches;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        catalogCaches.getCaches().forEach((name, cache) -> CaffeineCacheMetrics.monitor(registry, cache, name));
+    }
+}
@@ -0,0 +1,195 @@
+package com.templatemanagement.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.EventExecutor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.http.HttpResources;
+import reactor.netty.tcp.TcpResources;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watchdog for the Netty event loops (reactor-http: WebFlux; reactor-tcp: R2DBC and RSocket).
+ * <p>
+ * Every eventloop.watchdog.interval-ms a probe task is queued on each loop; the delay until it runs
+ * is recorded as eventloop.task.latency. A probe still waiting after eventloop.watchdog.stall-threshold-ms
+ * means the loop is blocked or saturated: eventloop.stalls is incremented and the loop thread's stack
+ * is logged, which usually names the blocking call. eventloop.stall.duration is recorded once the
+ * loop catches up. The watchdog runs on its own thread, so a stalled loop cannot delay detection.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "eventloop.watchdog.enabled", havingValue = "true", matchIfMissing = true)
+public class EventLoopStallDetector {
+
+    private final MeterRegistry registry;
+    private final Duration interval;
+    private final long stallThresholdNanos;
+    private final int stackDepth;
+    private final List<LoopProbe> probes = new ArrayList<>();
+    private Scheduler scheduler;
+    private Disposable watchLoop;
+
+    public EventLoopStallDetector(
+            MeterRegistry registry,
+            @Value("${eventloop.watchdog.interval-ms:100}") long intervalMs,
+            @Value("${eventloop.watchdog.stall-threshold-ms:250}") long stallThresholdMs,
+            @Value("${eventloop.watchdog.stack-depth:32}") int stackDepth) {
+        this(registry, defaultGroups(), Duration.ofMillis(intervalMs), Duration.ofMillis(stallThresholdMs), stackDepth);
+    }
+
+    EventLoopStallDetector(MeterRegistry registry, Map<String, EventLoopGroup> groups,
+                           Duration interval, Duration stallThreshold, int stackDepth) {
+        this.registry = registry;
+        this.interval = interval;
+        this.stallThresholdNanos = stallThreshold.toNanos();
+        this.stackDepth = stackDepth;
+        groups.forEach((name, group) -> {
+            int index = 0;
+            for (EventExecutor executor : group) {
+                probes.add(new LoopProbe(name + "-" + index++, executor));
+            }
+        });
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler = Schedulers.newSingle("event-loop-watchdog", true);
+        watchLoop = Flux.interval(Duration.ZERO, interval, scheduler)
+                .subscribe(tick -> check());
+        log.info("Event loop watchdog started: loops={}, intervalMs={}, stallThresholdMs={}",
+                probes.size(), interval.toMillis(), TimeUnit.NANOSECONDS.toMillis(stallThresholdNanos));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (watchLoop != null) {
+            watchLoop.dispose();
+        }
+        if (scheduler != null) {
+            scheduler.dispose();
+        }
+    }
+
+    /**
+     * One watchdog pass: report probes waiting past the threshold, queue a probe on idle loops
+     */
+    void check() {
+        long now = System.nanoTime();
+        for (LoopProbe probe : probes) {
+            if (!probe.pending) {
+                probe.submit(now);
+            } else if (!probe.stallReported && now - probe.submittedAt >= stallThresholdNanos) {
+                probe.reportStall(now);
+            }
+        }
+    }
+
+    private static Map<String, EventLoopGroup> defaultGroups() {
+        Map<String, EventLoopGroup> groups = new LinkedHashMap<>();
+        groups.put("http", HttpResources.get().onServer(true));
+        groups.put("tcp", TcpResources.get().onServer(true));
+        return groups;
+    }
+
+    private String stackOf(Thread thread) {
+        StringBuilder stack = new StringBuilder();
+        StackTraceElement[] frames = thread.getStackTrace();
+        for (int i = 0; i < Math.min(frames.length, stackDepth); i++) {
+            stack.append("\n\tat ").append(frames[i]);
+        }
+        if (frames.length > stackDepth) {
+            stack.append("\n\t... ").append(frames.length - stackDepth).append(" more");
+        }
+        return stack.toString();
+    }
+
+    private final class LoopProbe implements Runnable {
+
+        private final String name;
+        private final EventExecutor executor;
+        private final Timer latency;
+        private final Timer stallDuration;
+        private final Counter stalls;
+
+        // Written by the watchdog before queueing, read by the loop thread when the probe runs
+        private volatile long submittedAt;
+        private volatile boolean pending;
+        private volatile boolean stallReported;
+        // The loop's thread, learned from the first probe that runs
+        private volatile Thread thread;
+
+        LoopProbe(String name, EventExecutor executor) {
+            this.name = name;
+            this.executor = executor;
+            this.latency = Timer.builder("eventloop.task.latency")
+                    .description("Delay between queueing a task on the event loop and running it")
+                    .tag("loop", name)
+                    .publishPercentiles(0.5, 0.99, 0.999)
+                    .register(registry);
+            this.stallDuration = Timer.builder("eventloop.stall.duration")
+                    .description("How long a stalled event loop took to run a queued task")
+                    .tag("loop", name)
+                    .register(registry);
+            this.stalls = Counter.builder("eventloop.stalls")
+                    .description("Probes that waited on the event loop longer than the stall threshold")
+                    .tag("loop", name)
+                    .register(registry);
+        }
+
+        void submit(long now) {
+            submittedAt = now;
+            pending = true;
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                // Loop shutting down
+                pending = false;
+            }
+        }
+
+        void reportStall(long now) {
+            stallReported = true;
+            stalls.increment();
+            long waitedMs = TimeUnit.NANOSECONDS.toMillis(now - submittedAt);
+            Thread loopThread = thread;
+            if (loopThread == null) {
+                log.warn("Event loop stalled: loop={}, waitedMs={}", name, waitedMs);
+            } else {
+                log.warn("Event loop stalled: loop={}, thread={}, waitedMs={}, stack:{}",
+                        name, loopThread.getName(), waitedMs, stackOf(loopThread));
+            }
+        }
+
+        @Override
+        public void run() {
+            long waited = System.nanoTime() - submittedAt;
+            thread = Thread.currentThread();
+            latency.record(waited, TimeUnit.NANOSECONDS);
+            if (stallReported) {
+                stallDuration.record(waited, TimeUnit.NANOSECONDS);
+                log.warn("Event loop stall ended: loop={}, stallMs={}", name, TimeUnit.NANOSECONDS.toMillis(waited));
+                stallReported = false;
+            }
+            pending = false;
+        }
+    }
+}
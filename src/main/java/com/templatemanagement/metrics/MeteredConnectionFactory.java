@@ -0,0 +1,77 @@
+package com.templatemanagement.metrics;
+
+import com.templatemanagement.tracing.ReactiveTracing;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ConnectionFactory decorator that records how long callers wait to acquire a pooled connection
+ * and how close the pool is to its max size. When tracing is enabled each acquisition is also
+ * an r2dbc.pool.acquire span, so pool waits show up separately from the SQL in a trace.
+ * <p>
+ * Acquired, idle and pending gauges for the same pool are published by Spring Boot as r2dbc.pool.*.
+ */
+public class MeteredConnectionFactory implements ConnectionFactory {
+
+    private final ConnectionPool pool;
+    private final Timer acquireSuccess;
+    private final Timer acquireFailure;
+    private final ReactiveTracing tracing;
+    private final Attributes spanAttributes;
+
+    public MeteredConnectionFactory(ConnectionPool pool, String poolName, MeterRegistry registry, ReactiveTracing tracing) {
+        this.pool = pool;
+        this.tracing = tracing;
+        this.spanAttributes = Attributes.builder().put("pool", poolName).build();
+        this.acquireSuccess = acquireTimer(poolName, "success", registry);
+        this.acquireFailure = acquireTimer(poolName, "error", registry);
+
+        Gauge.builder("r2dbc.pool.saturation", pool, MeteredConnectionFactory::saturation)
+                .description("Acquired connections as a fraction of the pool max size")
+                .tag("pool", poolName)
+                .register(registry);
+    }
+
+    @Override
+    public Publisher<? extends Connection> create() {
+        Mono<Connection> acquire = Mono.defer(() -> {
+            long start = System.nanoTime();
+            return Mono.<Connection>from(pool.create())
+                    .doOnSuccess(connection -> acquireSuccess.record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                    .doOnError(error -> acquireFailure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+        });
+        return tracing != null ? tracing.mono("r2dbc.pool.acquire", SpanKind.INTERNAL, spanAttributes, acquire) : acquire;
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return pool.getMetadata();
+    }
+
+    private static Timer acquireTimer(String poolName, String outcome, MeterRegistry registry) {
+        return Timer.builder("r2dbc.pool.acquire")
+                .description("Time spent waiting to acquire a connection from the pool")
+                .tag("pool", poolName)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static double saturation(ConnectionPool pool) {
+        return pool.getMetrics()
+                .filter(metrics -> metrics.getMaxAllocatedSize() > 0)
+                .map(metrics -> (double) metrics.acquiredSize() / metrics.getMaxAllocatedSize())
+                .orElse(Double.NaN);
+    }
+}
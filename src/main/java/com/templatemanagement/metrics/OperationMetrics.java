@@ -0,0 +1,113 @@
+package com.templatemanagement.metrics;
+
+import com.templatemanagement.exception.ConflictException;
+import com.templatemanagement.exception.PreconditionFailedException;
+import com.templatemanagement.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency timers and response-source counters for processor operations.
+ * <p>
+ * template.operation is tagged by operation, outcome and source, with client-side percentiles
+ * and SLO buckets; template.operation.source counts responses served from cache, db or snapshot.
+ */
+@Component
+public class OperationMetrics {
+
+    private static final String TIMER_NAME = "template.operation";
+    private static final String SOURCE_COUNTER_NAME = "template.operation.source";
+
+    private final MeterRegistry registry;
+    private final Duration[] serviceLevelObjectives;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> sourceCounters = new ConcurrentHashMap<>();
+
+    public OperationMetrics(
+            MeterRegistry registry,
+            @Value("${metrics.operation.slo-ms:5,10,25,50,100,250,500,1000}") long[] sloMillis) {
+        this.registry = registry;
+        this.serviceLevelObjectives = Arrays.stream(sloMillis)
+                .mapToObj(Duration::ofMillis)
+                .toArray(Duration[]::new);
+    }
+
+    /**
+     * Time the operation from subscription to termination and record where its data came from
+     */
+    public <T> Mono<T> timed(String operation, Mono<T> mono) {
+        return Mono.defer(() -> {
+            ResponseSource source = new ResponseSource();
+            long start = System.nanoTime();
+            return mono
+                    .doOnSuccess(value -> record(operation, "success", source, start))
+                    .doOnError(error -> record(operation, outcome(error), source, start))
+                    .doOnCancel(() -> record(operation, "cancelled", source, start))
+                    .contextWrite(context -> context.put(ResponseSource.CONTEXT_KEY, source));
+        });
+    }
+
+    /**
+     * Time a streaming operation from subscription until the last element or error
+     */
+    public <T> Flux<T> timed(String operation, Flux<T> flux) {
+        return Flux.defer(() -> {
+            ResponseSource source = new ResponseSource();
+            long start = System.nanoTime();
+            return flux
+                    .doOnComplete(() -> record(operation, "success", source, start))
+                    .doOnError(error -> record(operation, outcome(error), source, start))
+                    .doOnCancel(() -> record(operation, "cancelled", source, start))
+                    .contextWrite(context -> context.put(ResponseSource.CONTEXT_KEY, source));
+        });
+    }
+
+    private void record(String operation, String outcome, ResponseSource source, long start) {
+        long elapsed = System.nanoTime() - start;
+        String resolvedSource = source.resolve();
+
+        timers.computeIfAbsent(operation + ":" + outcome + ":" + resolvedSource, key -> Timer.builder(TIMER_NAME)
+                        .description("Processor operation latency")
+                        .tag("operation", operation)
+                        .tag("outcome", outcome)
+                        .tag("source", resolvedSource)
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .serviceLevelObjectives(serviceLevelObjectives)
+                        .register(registry))
+                .record(elapsed, TimeUnit.NANOSECONDS);
+
+        sourceCounters.computeIfAbsent(operation + ":" + resolvedSource, key -> Counter.builder(SOURCE_COUNTER_NAME)
+                        .description("Processor responses by data source")
+                        .tag("operation", operation)
+                        .tag("source", resolvedSource)
+                        .register(registry))
+                .increment();
+    }
+
+    private static String outcome(Throwable error) {
+        if (error instanceof ResourceNotFoundException) {
+            return "not_found";
+        }
+        if (error instanceof ConflictException) {
+            return "conflict";
+        }
+        if (error instanceof PreconditionFailedException) {
+            return "precondition_failed";
+        }
+        if (error instanceof IllegalArgumentException) {
+            return "bad_request";
+        }
+        return "error";
+    }
+}
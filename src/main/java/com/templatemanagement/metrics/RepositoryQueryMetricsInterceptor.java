@@ -0,0 +1,81 @@
+package com.templatemanagement.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times reactive repository methods from subscription to termination, tagged by
+ * repository, method name and outcome. Spring Data's built-in invocation metrics only
+ * measure how long it takes to build the publisher, which is meaningless for R2DBC.
+ */
+public class RepositoryQueryMetricsInterceptor implements MethodInterceptor {
+
+    static final String METRIC_NAME = "r2dbc.repository.query";
+
+    private final ObjectProvider<MeterRegistry> registryProvider;
+    private final String repositoryName;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public RepositoryQueryMetricsInterceptor(ObjectProvider<MeterRegistry> registryProvider, Class<?> repositoryInterface) {
+        this.registryProvider = registryProvider;
+        this.repositoryName = repositoryInterface.getSimpleName();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        Method method = invocation.getMethod();
+
+        if (result instanceof Mono<?> mono) {
+            return Mono.defer(() -> {
+                long start = System.nanoTime();
+                return mono.doFinally(signal -> record(method, signal, start));
+            });
+        }
+        if (result instanceof Flux<?> flux) {
+            return Flux.defer(() -> {
+                long start = System.nanoTime();
+                return flux.doFinally(signal -> record(method, signal, start));
+            });
+        }
+        return result;
+    }
+
+    private void record(Method method, SignalType signal, long start) {
+        MeterRegistry registry = registryProvider.getIfAvailable();
+        if (registry == null) {
+            return;
+        }
+        String outcome = outcome(signal);
+        timers.computeIfAbsent(method.getName() + ":" + outcome, key -> Timer.builder(METRIC_NAME)
+                        .description("Latency of repository queries from subscription to completion")
+                        .tag("repository", repositoryName)
+                        .tag("method", method.getName())
+                        .tag("outcome", outcome)
+                        .publishPercentileHistogram()
+                        .register(registry))
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private static String outcome(SignalType signal) {
+        switch (signal) {
+            case ON_COMPLETE:
+                return "success";
+            case ON_ERROR:
+                return "error";
+            default:
+                return "cancelled";
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.templatemanagement.metrics;
+
+import reactor.util.context.ContextView;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Per-operation record of where the data came from, carried in the Reactor Context.
+ * DAOs mark cache hits, database reads and snapshot fallbacks; the processor reads the
+ * result when tagging its timers. Marks are no-ops when no tracker is in the context.
+ */
+public final class ResponseSource {
+
+    static final String CONTEXT_KEY = ResponseSource.class.getName();
+
+    public static final String CACHE = "cache";
+    public static final String DATABASE = "db";
+    public static final String SNAPSHOT = "snapshot";
+
+    private final AtomicInteger cacheHits = new AtomicInteger();
+    private final AtomicInteger databaseReads = new AtomicInteger();
+    private final AtomicInteger snapshotReads = new AtomicInteger();
+
+    ResponseSource() {
+    }
+
+    public static void cacheHit(ContextView context) {
+        context.<ResponseSource>getOrEmpty(CONTEXT_KEY).ifPresent(source -> source.cacheHits.incrementAndGet());
+    }
+
+    public static void databaseRead(ContextView context) {
+        context.<ResponseSource>getOrEmpty(CONTEXT_KEY).ifPresent(source -> source.databaseReads.incrementAndGet());
+    }
+
+    public static void snapshotRead(ContextView context) {
+        context.<ResponseSource>getOrEmpty(CONTEXT_KEY).ifPresent(source -> source.snapshotReads.incrementAndGet());
+    }
+
+    /**
+     * "snapshot" if any read fell back to the snapshot, "cache" if every lookup hit the cache,
+     * otherwise "db" (including operations that never consult a cache)
+     */
+    String resolve() {
+        if (snapshotReads.get() > 0) {
+            return SNAPSHOT;
+        }
+        if (cacheHits.get() > 0 && databaseReads.get() == 0) {
+            return CACHE;
+        }
+        return DATABASE;
+    }
+}
@@ -1,25 +1,44 @@
 package com.templatemanagement.processor;
 
+import com.templatemanagement.changes.CatalogChangeFilter;
+import com.templatemanagement.changes.CatalogChangeRelay;
+import com.templatemanagement.dto.CatalogChangeEvent;
+import com.templatemanagement.dto.MasterTemplateDto;
+import com.templatemanagement.dto.TemplateDelta;
+import com.templatemanagement.dto.TemplateVendorDelta;
+import com.templatemanagement.dto.TemplateVendorMappingDto;
 import com.templatemanagement.dto.request.TemplateCreateRequest;
+import com.templatemanagement.dto.request.TemplateImportRequest;
 import com.templatemanagement.dto.request.TemplateUpdateRequest;
 import com.templatemanagement.dto.request.TemplateVendorCreateRequest;
 import com.templatemanagement.dto.request.TemplateVendorUpdateRequest;
+import com.templatemanagement.dto.request.VendorBulkUpdateRequest;
+import com.templatemanagement.dto.response.TemplateImportResult;
 import com.templatemanagement.dto.response.TemplatePageResponse;
 import com.templatemanagement.dto.response.TemplateResponse;
 import com.templatemanagement.dto.response.TemplateVendorPageResponse;
 import com.templatemanagement.dto.response.TemplateVendorResponse;
+import com.templatemanagement.dto.response.VendorBulkUpdateResponse;
+import com.templatemanagement.filter.CorrelationContext;
+import com.templatemanagement.metrics.OperationMetrics;
+import com.templatemanagement.service.CatalogDeltaService;
+import com.templatemanagement.service.TemplateImportService;
 import com.templatemanagement.service.TemplateService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Signal;
 
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Processor layer for Template Management operations.
  * Acts as intermediary between controllers and services.
- * Handles request/response transformation and orchestration.
+ * Handles request/response transformation and orchestration, and records per-operation
+ * latency and cache-vs-DB metrics.
  */
 @Slf4j
 @Component
@@ -27,6 +46,10 @@ import java.util.UUID;
 public class TemplateManagementProcessor {
 
     private final TemplateService templateService;
+    private final TemplateImportService templateImportService;
+    private final CatalogDeltaService catalogDeltaService;
+    private final CatalogChangeRelay changeRelay;
+    private final OperationMetrics operationMetrics;
 
     // ========================================================================
     // Template Operations
@@ -37,28 +60,27 @@ public class TemplateManagementProcessor {
      */
     public Mono<TemplateResponse> processCreateTemplate(
             TemplateCreateRequest request,
-            String correlationId,
             String userId) {
-        log.info("Processing create template: correlationId={}, type={}", correlationId, request.getTemplateType());
+        log.debug("Processing create template: type={}", request.getTemplateType());
 
         return templateService.createTemplate(request, userId)
-                .doOnSuccess(response -> log.info("Template created: correlationId={}, templateId={}",
-                        correlationId, response.getTemplate().getMasterTemplateId()))
-                .doOnError(error -> log.error("Failed to create template: correlationId={}, error={}",
-                        correlationId, error.getMessage()));
+                .doOnSuccess(response -> log.debug("Template created: templateId={}",
+                        response.getTemplate().getMasterTemplateId()))
+                .doOnEach(logOnError("create template"))
+                .transform(mono -> operationMetrics.timed("createTemplate", mono));
     }
 
     /**
      * Process get template by ID
      */
-    public Mono<TemplatePageResponse> processGetTemplateById(UUID masterTemplateId, String correlationId) {
-        log.debug("Processing get template by ID: correlationId={}, templateId={}", correlationId, masterTemplateId);
+    public Mono<TemplatePageResponse> processGetTemplateById(UUID masterTemplateId) {
+        log.debug("Processing get template by ID: templateId={}", masterTemplateId);
 
         return templateService.getTemplateById(masterTemplateId)
-                .doOnSuccess(response -> log.debug("Template retrieved: correlationId={}, versions={}",
-                        correlationId, response.getTemplates().size()))
-                .doOnError(error -> log.error("Failed to get template: correlationId={}, error={}",
-                        correlationId, error.getMessage()));
+                .doOnSuccess(response -> log.debug("Template retrieved: versions={}",
+                        response.getTemplates().size()))
+                .doOnEach(logOnError("get template"))
+                .transform(mono -> operationMetrics.timed("getTemplateById", mono));
     }
 
     /**
@@ -67,15 +89,14 @@ public class TemplateManagementProcessor {
     public Mono<TemplateResponse> processGetTemplateByIdAndVersion(
             UUID masterTemplateId,
             Integer templateVersion,
-            boolean includeVendors,
-            String correlationId) {
-        log.debug("Processing get template version: correlationId={}, templateId={}, version={}",
-                correlationId, masterTemplateId, templateVersion);
+            boolean includeVendors) {
+        log.debug("Processing get template version: templateId={}, version={}",
+                masterTemplateId, templateVersion);
 
         return templateService.getTemplateByIdAndVersion(masterTemplateId, templateVersion, includeVendors)
-                .doOnSuccess(response -> log.debug("Template version retrieved: correlationId={}", correlationId))
-                .doOnError(error -> log.error("Failed to get template version: correlationId={}, error={}",
-                        correlationId, error.getMessage()));
+                .doOnSuccess(response -> log.debug("Template version retrieved"))
+                .doOnEach(logOnError("get template version"))
+                .transform(mono -> operationMetrics.timed("getTemplateByIdAndVersion", mono));
     }
 
     /**
@@ -87,15 +108,31 @@ public class TemplateManagementProcessor {
             Boolean activeFlag,
             String communicationType,
             int page,
-            int size,
-            String correlationId) {
-        log.debug("Processing list templates: correlationId={}, page={}, size={}", correlationId, page, size);
+            int size) {
+        log.debug("Processing list templates: page={}, size={}", page, size);
 
         return templateService.listTemplates(lineOfBusiness, templateType, activeFlag, communicationType, page, size)
-                .doOnSuccess(response -> log.debug("Templates listed: correlationId={}, count={}, total={}",
-                        correlationId, response.getTemplates().size(), response.getPagination().getTotalElements()))
-                .doOnError(error -> log.error("Failed to list templates: correlationId={}, error={}",
-                        correlationId, error.getMessage()));
+                .doOnSuccess(response -> log.debug("Templates listed: count={}, total={}",
+                        response.getTemplates().size(), response.getPagination().getTotalElements()))
+                .doOnEach(logOnError("list templates"))
+                .transform(mono -> operationMetrics.timed("listTemplates", mono));
+    }
+
+    /**
+     * Process streamed template list
+     */
+    public Flux<MasterTemplateDto> processStreamTemplates(
+            String lineOfBusiness,
+            String templateType,
+            Boolean activeFlag,
+            String communicationType,
+            int page,
+            int size) {
+        log.debug("Processing stream templates: page={}, size={}", page, size);
+
+        return templateService.streamTemplates(lineOfBusiness, templateType, activeFlag, communicationType, page, size)
+                .doOnEach(logOnError("stream templates"))
+                .transform(flux -> operationMetrics.timed("streamTemplates", flux));
     }
 
     /**
@@ -106,16 +143,18 @@ public class TemplateManagementProcessor {
             Integer templateVersion,
             TemplateUpdateRequest request,
             boolean createNewVersion,
-            String correlationId,
+            boolean copyVendorMappings,
+            Long expectedVersionNumber,
             String userId) {
-        log.info("Processing update template: correlationId={}, templateId={}, version={}, createNewVersion={}",
-                correlationId, masterTemplateId, templateVersion, createNewVersion);
+        log.debug("Processing update template: templateId={}, version={}, createNewVersion={}, copyVendorMappings={}, expectedVersion={}",
+                masterTemplateId, templateVersion, createNewVersion, copyVendorMappings, expectedVersionNumber);
 
-        return templateService.updateTemplate(masterTemplateId, templateVersion, request, userId, createNewVersion)
-                .doOnSuccess(response -> log.info("Template updated: correlationId={}, newVersion={}",
-                        correlationId, response.getTemplate().getTemplateVersion()))
-                .doOnError(error -> log.error("Failed to update template: correlationId={}, error={}",
-                        correlationId, error.getMessage()));
+        return templateService.updateTemplate(masterTemplateId, templateVersion, request, userId,
+                        createNewVersion, copyVendorMappings, expectedVersionNumber)
+                .doOnSuccess(response -> log.debug("Template updated: newVersion={}",
+                        response.getTemplate().getTemplateVersion()))
+                .doOnEach(logOnError("update template"))
+                .transform(mono -> operationMetrics.timed("updateTemplate", mono));
     }
 
     /**
@@ -124,15 +163,43 @@ public class TemplateManagementProcessor {
     public Mono<Void> processDeleteTemplate(
             UUID masterTemplateId,
             Integer templateVersion,
-            String correlationId,
             String userId) {
-        log.info("Processing delete template: correlationId={}, templateId={}, version={}",
-                correlationId, masterTemplateId, templateVersion);
+        log.debug("Processing delete template: templateId={}, version={}",
+                masterTemplateId, templateVersion);
 
         return templateService.deleteTemplate(masterTemplateId, templateVersion, userId)
-                .doOnSuccess(v -> log.info("Template deleted: correlationId={}", correlationId))
-                .doOnError(error -> log.error("Failed to delete template: correlationId={}, error={}",
-                        correlationId, error.getMessage()));
+                .doOnSuccess(v -> log.debug("Template deleted"))
+                .doOnEach(logOnError("delete template"))
+                .transform(mono -> operationMetrics.timed("deleteTemplate", mono));
+    }
+
+    /**
+     * Process cascade archive of a template version, or of all versions when templateVersion is null
+     */
+    public Mono<Void> processArchiveTemplateCascade(
+            UUID masterTemplateId,
+            Integer templateVersion,
+            String userId) {
+        log.debug("Processing cascade archive template: templateId={}, version={}",
+                masterTemplateId, templateVersion);
+
+        return templateService.archiveTemplateCascade(masterTemplateId, templateVersion, userId)
+                .doOnSuccess(v -> log.debug("Template cascade archived"))
+                .doOnEach(logOnError("cascade archive template"))
+                .transform(mono -> operationMetrics.timed("archiveTemplateCascade", mono));
+    }
+
+    /**
+     * Process bulk template import
+     */
+    public Flux<TemplateImportResult> processImportTemplates(
+            Flux<TemplateImportRequest> records,
+            String userId) {
+        log.debug("Processing template import");
+
+        return templateImportService.importTemplates(records, userId)
+                .doOnEach(logOnError("import templates"))
+                .transform(flux -> operationMetrics.timed("importTemplates", flux));
     }
 
     // ========================================================================
@@ -144,16 +211,15 @@ public class TemplateManagementProcessor {
      */
     public Mono<TemplateVendorResponse> processCreateVendorMapping(
             TemplateVendorCreateRequest request,
-            String correlationId,
             String userId) {
-        log.info("Processing create vendor mapping: correlationId={}, templateId={}, vendor={}",
-                correlationId, request.getMasterTemplateId(), request.getVendor());
+        log.debug("Processing create vendor mapping: templateId={}, vendor={}",
+                request.getMasterTemplateId(), request.getVendor());
 
         return templateService.createVendorMapping(request, userId)
-                .doOnSuccess(response -> log.info("Vendor mapping created: correlationId={}, vendorId={}",
-                        correlationId, response.getVendorMapping().getTemplateVendorId()))
-                .doOnError(error -> log.error("Failed to create vendor mapping: correlationId={}, error={}",
-                        correlationId, error.getMessage()));
+                .doOnSuccess(response -> log.debug("Vendor mapping created: vendorId={}",
+                        response.getVendorMapping().getTemplateVendorId()))
+                .doOnEach(logOnError("create vendor mapping"))
+                .transform(mono -> operationMetrics.timed("createVendorMapping", mono));
     }
 
     /**
@@ -161,14 +227,13 @@ public class TemplateManagementProcessor {
      */
     public Mono<TemplateVendorResponse> processGetVendorMappingById(
             UUID vendorId,
-            boolean includeTemplateDetails,
-            String correlationId) {
-        log.debug("Processing get vendor mapping: correlationId={}, vendorId={}", correlationId, vendorId);
+            boolean includeTemplateDetails) {
+        log.debug("Processing get vendor mapping: vendorId={}", vendorId);
 
         return templateService.getVendorMappingById(vendorId, includeTemplateDetails)
-                .doOnSuccess(response -> log.debug("Vendor mapping retrieved: correlationId={}", correlationId))
-                .doOnError(error -> log.error("Failed to get vendor mapping: correlationId={}, error={}",
-                        correlationId, error.getMessage()));
+                .doOnSuccess(response -> log.debug("Vendor mapping retrieved"))
+                .doOnEach(logOnError("get vendor mapping"))
+                .transform(mono -> operationMetrics.timed("getVendorMappingById", mono));
     }
 
     /**
@@ -180,16 +245,32 @@ public class TemplateManagementProcessor {
             String vendor,
             Boolean activeFlag,
             int page,
-            int size,
-            String correlationId) {
-        log.debug("Processing list vendor mappings: correlationId={}, templateId={}, page={}, size={}",
-                correlationId, masterTemplateId, page, size);
+            int size) {
+        log.debug("Processing list vendor mappings: templateId={}, page={}, size={}",
+                masterTemplateId, page, size);
 
         return templateService.listVendorMappings(masterTemplateId, vendorType, vendor, activeFlag, page, size)
-                .doOnSuccess(response -> log.debug("Vendor mappings listed: correlationId={}, count={}, total={}",
-                        correlationId, response.getVendorMappings().size(), response.getPagination().getTotalElements()))
-                .doOnError(error -> log.error("Failed to list vendor mappings: correlationId={}, error={}",
-                        correlationId, error.getMessage()));
+                .doOnSuccess(response -> log.debug("Vendor mappings listed: count={}, total={}",
+                        response.getVendorMappings().size(), response.getPagination().getTotalElements()))
+                .doOnEach(logOnError("list vendor mappings"))
+                .transform(mono -> operationMetrics.timed("listVendorMappings", mono));
+    }
+
+    /**
+     * Process streamed vendor mapping list
+     */
+    public Flux<TemplateVendorMappingDto> processStreamVendorMappings(
+            UUID masterTemplateId,
+            String vendorType,
+            String vendor,
+            Boolean activeFlag,
+            int page,
+            int size) {
+        log.debug("Processing stream vendor mappings: templateId={}, page={}, size={}", masterTemplateId, page, size);
+
+        return templateService.streamVendorMappings(masterTemplateId, vendorType, vendor, activeFlag, page, size)
+                .doOnEach(logOnError("stream vendor mappings"))
+                .transform(flux -> operationMetrics.timed("streamVendorMappings", flux));
     }
 
     /**
@@ -198,14 +279,29 @@ public class TemplateManagementProcessor {
     public Mono<TemplateVendorResponse> processUpdateVendorMapping(
             UUID vendorId,
             TemplateVendorUpdateRequest request,
-            String correlationId,
+            Long expectedVersionNumber,
+            String userId) {
+        log.debug("Processing update vendor mapping: vendorId={}, expectedVersion={}", vendorId, expectedVersionNumber);
+
+        return templateService.updateVendorMapping(vendorId, request, userId, expectedVersionNumber)
+                .doOnSuccess(response -> log.debug("Vendor mapping updated"))
+                .doOnEach(logOnError("update vendor mapping"))
+                .transform(mono -> operationMetrics.timed("updateVendorMapping", mono));
+    }
+
+    /**
+     * Process bulk update of vendor mappings
+     */
+    public Mono<VendorBulkUpdateResponse> processBulkUpdateVendorMappings(
+            VendorBulkUpdateRequest request,
             String userId) {
-        log.info("Processing update vendor mapping: correlationId={}, vendorId={}", correlationId, vendorId);
+        log.debug("Processing bulk update vendor mappings: vendor={}, vendorType={}",
+                request.getVendor(), request.getVendorType());
 
-        return templateService.updateVendorMapping(vendorId, request, userId)
-                .doOnSuccess(response -> log.info("Vendor mapping updated: correlationId={}", correlationId))
-                .doOnError(error -> log.error("Failed to update vendor mapping: correlationId={}, error={}",
-                        correlationId, error.getMessage()));
+        return templateService.bulkUpdateVendorMappings(request, userId)
+                .doOnSuccess(response -> log.debug("Vendor mappings bulk updated: count={}", response.getAffectedCount()))
+                .doOnEach(logOnError("bulk update vendor mappings"))
+                .transform(mono -> operationMetrics.timed("bulkUpdateVendorMappings", mono));
     }
 
     /**
@@ -213,14 +309,13 @@ public class TemplateManagementProcessor {
      */
     public Mono<Void> processDeleteVendorMapping(
             UUID vendorId,
-            String correlationId,
             String userId) {
-        log.info("Processing delete vendor mapping: correlationId={}, vendorId={}", correlationId, vendorId);
+        log.debug("Processing delete vendor mapping: vendorId={}", vendorId);
 
         return templateService.deleteVendorMapping(vendorId, userId)
-                .doOnSuccess(v -> log.info("Vendor mapping deleted: correlationId={}", correlationId))
-                .doOnError(error -> log.error("Failed to delete vendor mapping: correlationId={}, error={}",
-                        correlationId, error.getMessage()));
+                .doOnSuccess(v -> log.debug("Vendor mapping deleted"))
+                .doOnEach(logOnError("delete vendor mapping"))
+                .transform(mono -> operationMetrics.timed("deleteVendorMapping", mono));
     }
 
     /**
@@ -229,15 +324,68 @@ public class TemplateManagementProcessor {
     public Mono<TemplateVendorPageResponse> processGetVendorsForRouting(
             UUID masterTemplateId,
             Integer templateVersion,
-            String vendorType,
-            String correlationId) {
-        log.debug("Processing get vendors for routing: correlationId={}, templateId={}, version={}, type={}",
-                correlationId, masterTemplateId, templateVersion, vendorType);
+            String vendorType) {
+        log.debug("Processing get vendors for routing: templateId={}, version={}, type={}",
+                masterTemplateId, templateVersion, vendorType);
 
         return templateService.getVendorsForRouting(masterTemplateId, templateVersion, vendorType)
-                .doOnSuccess(response -> log.debug("Vendors for routing retrieved: correlationId={}, count={}",
-                        correlationId, response.getVendorMappings().size()))
-                .doOnError(error -> log.error("Failed to get vendors for routing: correlationId={}, error={}",
-                        correlationId, error.getMessage()));
+                .doOnSuccess(response -> log.debug("Vendors for routing retrieved: count={}",
+                        response.getVendorMappings().size()))
+                .doOnEach(logOnError("get vendors for routing"))
+                .transform(mono -> operationMetrics.timed("getVendorsForRouting", mono));
+    }
+
+    // ========================================================================
+    // Change Stream and Delta Sync
+    // ========================================================================
+
+    /**
+     * Process change stream subscription, resuming after since when given
+     */
+    public Flux<CatalogChangeEvent> processChangeStream(Long since, CatalogChangeFilter filter) {
+        log.debug("Processing change stream subscription: since={}, filter={}", since, filter);
+
+        return changeRelay.changes(since, filter)
+                .doOnEach(signal -> {
+                    if (signal.isOnError()) {
+                        log.warn("Change stream ended: correlationId={}, error={}",
+                                CorrelationContext.get(signal.getContextView()), signal.getThrowable().getMessage());
+                    }
+                });
+    }
+
+    /**
+     * Process template delta sync
+     */
+    public Flux<TemplateDelta> processGetTemplateChanges(String since, int limit) {
+        log.debug("Processing template delta: since={}, limit={}", since, limit);
+
+        return catalogDeltaService.getTemplateChanges(since, limit)
+                .doOnEach(logOnError("get template changes"))
+                .transform(flux -> operationMetrics.timed("getTemplateChanges", flux));
+    }
+
+    /**
+     * Process vendor mapping delta sync
+     */
+    public Flux<TemplateVendorDelta> processGetVendorMappingChanges(String since, int limit) {
+        log.debug("Processing vendor mapping delta: since={}, limit={}", since, limit);
+
+        return catalogDeltaService.getVendorMappingChanges(since, limit)
+                .doOnEach(logOnError("get vendor mapping changes"))
+                .transform(flux -> operationMetrics.timed("getVendorMappingChanges", flux));
+    }
+
+    /**
+     * Error logger that reads the correlation ID from the subscriber's Reactor Context,
+     * so failures stay traceable when the MDC bridge is disabled.
+     */
+    private static <T> Consumer<Signal<T>> logOnError(String action) {
+        return signal -> {
+            if (signal.isOnError()) {
+                log.error("Failed to {}: correlationId={}, error={}", action,
+                        CorrelationContext.get(signal.getContextView()), signal.getThrowable().getMessage());
+            }
+        };
     }
 }
@@ -0,0 +1,146 @@
+package com.templatemanagement.repository;
+
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.mapping.OutboundRow;
+import org.springframework.data.relational.core.sql.IdentifierProcessing;
+import org.springframework.data.relational.core.sql.SqlIdentifier;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.Parameter;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Single-statement conditional writes shared by the repository write fragments:
+ * <ul>
+ *   <li>INSERT ... SELECT &lt;row&gt; WHERE &lt;guard&gt; ON CONFLICT DO NOTHING RETURNING *</li>
+ *   <li>UPDATE ... SET &lt;changed columns&gt;, version_number + 1 WHERE &lt;key&gt; AND version_number = :expected
+ *       RETURNING &lt;key and changed columns&gt;</li>
+ * </ul>
+ * Every column is bound as a named parameter (the column name), so guards and computed columns can
+ * refer to the row's own values, e.g. {@code template_type = :template_type}. Computed columns take
+ * an SQL expression instead of the entity value. An empty result means the guard, the expected
+ * version or a unique index refused the row. Values go through the same R2DBC converter as save().
+ */
+abstract class ConditionalWriteSupport<T> {
+
+    static final String VERSION_COLUMN = "version_number";
+    private static final String EXPECTED_VERSION = "expected_version_number";
+
+    private final R2dbcEntityTemplate entityTemplate;
+    private final Class<T> type;
+
+    ConditionalWriteSupport(R2dbcEntityTemplate entityTemplate, Class<T> type) {
+        this.entityTemplate = entityTemplate;
+        this.type = type;
+    }
+
+    Mono<T> insertWhere(T entity, String guard) {
+        return insert(entity, Map.of(), guard);
+    }
+
+    /**
+     * @param computed SQL expressions by column name, used instead of the entity's values
+     * @param guard    WHERE condition, or null to always insert (unless a unique index objects)
+     */
+    Mono<T> insert(T entity, Map<String, String> computed, String guard) {
+        OutboundRow row = entityTemplate.getDataAccessStrategy().getOutboundRow(entity);
+        List<String> columns = new ArrayList<>();
+        for (SqlIdentifier column : row.keySet()) {
+            columns.add(column.toSql(IdentifierProcessing.NONE));
+        }
+
+        String sql = "INSERT INTO " + tableName() + " (" + String.join(", ", columns) + ") " +
+                "SELECT " + columns.stream()
+                        .map(column -> computed.getOrDefault(column, ":" + column))
+                        .collect(Collectors.joining(", ")) + " " +
+                (guard != null ? "WHERE " + guard + " " : "") +
+                "ON CONFLICT DO NOTHING " +
+                "RETURNING *";
+
+        DatabaseClient.GenericExecuteSpec spec = bindColumns(entityTemplate.getDatabaseClient().sql(sql), row, computed.keySet());
+        return readOne(spec);
+    }
+
+    /**
+     * Write only the entity's non-null columns to the live row identified by the key columns and bump
+     * its version_number, if the stored version_number (null counting as 0) equals expectedVersion. A
+     * null expectedVersion updates unconditionally. Columns left null are not touched, so large JSON
+     * and binary columns are neither rewritten nor read back. The returned entity carries the key,
+     * written and returned columns plus the new version_number; its other properties are null.
+     * Empty if no row matched.
+     */
+    Mono<T> updateIfVersion(T entity, Collection<String> keyColumns, Collection<String> returnedColumns, Long expectedVersion) {
+        OutboundRow row = entityTemplate.getDataAccessStrategy().getOutboundRow(entity);
+        Set<String> written = new LinkedHashSet<>();
+        List<String> assignments = new ArrayList<>();
+        for (SqlIdentifier column : row.keySet()) {
+            String name = column.toSql(IdentifierProcessing.NONE);
+            Parameter parameter = row.get(column);
+            if (!keyColumns.contains(name) && !VERSION_COLUMN.equals(name) && parameter != null && parameter.hasValue()) {
+                written.add(name);
+                assignments.add(name + " = :" + name);
+            }
+        }
+        assignments.add(VERSION_COLUMN + " = COALESCE(" + VERSION_COLUMN + ", 0) + 1");
+
+        Set<String> returning = new LinkedHashSet<>(keyColumns);
+        returning.addAll(returnedColumns);
+        returning.addAll(written);
+        returning.add(VERSION_COLUMN);
+
+        String sql = "UPDATE " + tableName() + " " +
+                "SET " + String.join(", ", assignments) + " " +
+                "WHERE " + keyColumns.stream().map(key -> key + " = :" + key).collect(Collectors.joining(" AND ")) + " " +
+                "AND archive_indicator = false " +
+                (expectedVersion != null ? "AND COALESCE(" + VERSION_COLUMN + ", 0) = :" + EXPECTED_VERSION + " " : "") +
+                "RETURNING " + String.join(", ", returning);
+
+        Set<String> bound = new LinkedHashSet<>(keyColumns);
+        bound.addAll(written);
+        DatabaseClient.GenericExecuteSpec spec = entityTemplate.getDatabaseClient().sql(sql);
+        for (SqlIdentifier column : row.keySet()) {
+            String name = column.toSql(IdentifierProcessing.NONE);
+            if (bound.contains(name)) {
+                spec = spec.bind(name, row.get(column).getValue());
+            }
+        }
+        if (expectedVersion != null) {
+            spec = spec.bind(EXPECTED_VERSION, expectedVersion);
+        }
+        return readOne(spec);
+    }
+
+    private DatabaseClient.GenericExecuteSpec bindColumns(DatabaseClient.GenericExecuteSpec spec, OutboundRow row, Set<String> skip) {
+        for (SqlIdentifier column : row.keySet()) {
+            String name = column.toSql(IdentifierProcessing.NONE);
+            if (skip.contains(name)) {
+                continue;
+            }
+            Parameter parameter = row.get(column);
+            if (parameter != null && parameter.hasValue()) {
+                spec = spec.bind(name, parameter.getValue());
+            } else {
+                spec = spec.bindNull(name, parameter != null && parameter.getType() != null ? parameter.getType() : Object.class);
+            }
+        }
+        return spec;
+    }
+
+    private Mono<T> readOne(DatabaseClient.GenericExecuteSpec spec) {
+        return spec.map((result, metadata) -> entityTemplate.getConverter().read(type, result, metadata)).one();
+    }
+
+    private String tableName() {
+        return entityTemplate.getConverter().getMappingContext()
+                .getRequiredPersistentEntity(type)
+                .getTableName()
+                .toSql(IdentifierProcessing.NONE);
+    }
+}
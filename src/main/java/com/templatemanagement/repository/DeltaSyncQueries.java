@@ -0,0 +1,27 @@
+package com.templatemanagement.repository;
+
+/**
+ * SQL shared by the delta sync queries.
+ * <p>
+ * updated_timestamp is stamped by the database (trigger in db/migration/V1__delta_sync.sql), so the
+ * cutoff is taken from the same clock: the current database time less :commitLagMs, and never later
+ * than the start of the oldest transaction still writing. A row that transaction has not committed
+ * yet is stamped at or after its start, so it stays ahead of the cutoff however long it runs.
+ * Seeing other sessions' transactions in pg_stat_activity needs the pg_read_all_stats role or the
+ * same role as the writers; without it the cutoff falls back to the commit lag alone.
+ */
+final class DeltaSyncQueries {
+
+    /**
+     * CTE exposing the cutoff as changes_cutoff.changed_up_to, in the session time zone like updated_timestamp
+     */
+    static final String CUTOFF =
+            "WITH changes_cutoff AS (SELECT LEAST(" +
+            "clock_timestamp()::timestamp - :commitLagMs * INTERVAL '1 millisecond', " +
+            "COALESCE((SELECT MIN(xact_start) FROM pg_stat_activity " +
+            "WHERE backend_xid IS NOT NULL AND pid <> pg_backend_pid())::timestamp, 'infinity')" +
+            ") AS changed_up_to) ";
+
+    private DeltaSyncQueries() {
+    }
+}
@@ -7,6 +7,8 @@ import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -14,7 +16,8 @@ import java.util.UUID;
  * Repository for Master Template Definition
  */
 @Repository
-public interface MasterTemplateRepository extends R2dbcRepository<MasterTemplateDefinitionEntity, UUID> {
+public interface MasterTemplateRepository extends R2dbcRepository<MasterTemplateDefinitionEntity, UUID>,
+        MasterTemplateWriteRepository {
 
     /**
      * Find template by master template ID and version
@@ -37,6 +40,32 @@ public interface MasterTemplateRepository extends R2dbcRepository<MasterTemplate
            "ORDER BY template_version DESC")
     Flux<MasterTemplateDefinitionEntity> findAllVersionsByMasterTemplateId(UUID masterTemplateId);
 
+    /**
+     * Find every non-archived template version (catalog snapshot source)
+     */
+    @Query("SELECT * FROM document_hub.master_template_definition " +
+           "WHERE archive_indicator = false")
+    Flux<MasterTemplateDefinitionEntity> findAllNonArchived();
+
+    /**
+     * Find template versions, archived or not, written after the given position and up to the
+     * database-side cutoff (see {@link DeltaSyncQueries}), in (updated_timestamp, master_template_id,
+     * template_version) order (delta sync). Served by idx_mtd_updated.
+     */
+    @Query(DeltaSyncQueries.CUTOFF +
+           "SELECT t.* FROM document_hub.master_template_definition t, changes_cutoff c " +
+           "WHERE (t.updated_timestamp, t.master_template_id, t.template_version) > (:changedAfter, :afterId, :afterVersion) " +
+           "AND t.updated_timestamp <= c.changed_up_to " +
+           "ORDER BY t.updated_timestamp, t.master_template_id, t.template_version " +
+           "LIMIT :limit")
+    Flux<MasterTemplateDefinitionEntity> findChangedSince(
+        LocalDateTime changedAfter,
+        UUID afterId,
+        Integer afterVersion,
+        long commitLagMs,
+        int limit
+    );
+
     /**
      * Find all active templates within date range
      */
@@ -157,6 +186,41 @@ public interface MasterTemplateRepository extends R2dbcRepository<MasterTemplate
         String updatedBy
     );
 
+    /**
+     * Archive a template version (or every version when templateVersion is null) together with its
+     * live vendor mappings in one statement. Returns one row per archived template, with null
+     * templateVendorId and vendorType, and one row per archived vendor mapping.
+     */
+    @Query("WITH archived_templates AS (" +
+           "UPDATE document_hub.master_template_definition " +
+           "SET archive_indicator = true, " +
+           "archive_timestamp = NOW(), " +
+           "updated_by = :updatedBy, " +
+           "updated_timestamp = NOW() " +
+           "WHERE master_template_id = :masterTemplateId " +
+           "AND (:templateVersion IS NULL OR template_version = :templateVersion) " +
+           "AND archive_indicator = false " +
+           "RETURNING master_template_id, template_version), " +
+           "archived_vendors AS (" +
+           "UPDATE document_hub.template_vendor_mapping " +
+           "SET archive_indicator = true, " +
+           "archive_timestamp = NOW(), " +
+           "updated_by = :updatedBy, " +
+           "updated_timestamp = NOW() " +
+           "WHERE master_template_id = :masterTemplateId " +
+           "AND (:templateVersion IS NULL OR template_version = :templateVersion) " +
+           "AND archive_indicator = false " +
+           "RETURNING template_vendor_id, master_template_id, template_version, vendor_type) " +
+           "SELECT CAST(NULL AS UUID) AS template_vendor_id, master_template_id, template_version, " +
+           "CAST(NULL AS VARCHAR) AS vendor_type FROM archived_templates " +
+           "UNION ALL " +
+           "SELECT template_vendor_id, master_template_id, template_version, vendor_type FROM archived_vendors")
+    Flux<VendorMappingKey> archiveTemplateCascade(
+        UUID masterTemplateId,
+        Integer templateVersion,
+        String updatedBy
+    );
+
     /**
      * Check if template exists by type (for duplicate prevention)
      */
@@ -164,4 +228,12 @@ public interface MasterTemplateRepository extends R2dbcRepository<MasterTemplate
            "WHERE template_type = :templateType " +
            "AND archive_indicator = false")
     Mono<Boolean> existsByTemplateType(String templateType);
+
+    /**
+     * Template types from the given set that are already in use (bulk import duplicate check)
+     */
+    @Query("SELECT DISTINCT template_type FROM document_hub.master_template_definition " +
+           "WHERE template_type IN (:templateTypes) " +
+           "AND archive_indicator = false")
+    Flux<String> findExistingTemplateTypes(Collection<String> templateTypes);
 }
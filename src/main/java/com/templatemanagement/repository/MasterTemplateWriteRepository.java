@@ -0,0 +1,29 @@
+package com.templatemanagement.repository;
+
+import com.templatemanagement.entity.MasterTemplateDefinitionEntity;
+import reactor.core.publisher.Mono;
+
+/**
+ * Conditional write fragment of {@link MasterTemplateRepository}
+ */
+public interface MasterTemplateWriteRepository {
+
+    /**
+     * Insert the template unless a live template with the same type exists, in one statement.
+     * Empty when the type is taken.
+     */
+    Mono<MasterTemplateDefinitionEntity> insertIfTemplateTypeAbsent(MasterTemplateDefinitionEntity entity);
+
+    /**
+     * Insert the entity as the next version of its template, allocating MAX(template_version) + 1 in
+     * the same statement. Empty when a concurrent insert took that version first.
+     */
+    Mono<MasterTemplateDefinitionEntity> insertNextVersion(MasterTemplateDefinitionEntity entity);
+
+    /**
+     * Write the entity's non-null columns to the live template version and bump version_number, if
+     * its stored version_number equals expectedVersion (null: unconditionally). Returns the key,
+     * written columns and new version_number only. Empty if no row matched.
+     */
+    Mono<MasterTemplateDefinitionEntity> updateIfVersion(MasterTemplateDefinitionEntity entity, Long expectedVersion);
+}
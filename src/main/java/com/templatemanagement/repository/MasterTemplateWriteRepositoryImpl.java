@@ -0,0 +1,47 @@
+package com.templatemanagement.repository;
+
+import com.templatemanagement.entity.MasterTemplateDefinitionEntity;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Backed by the partial unique index on (template_type, template_version) over live rows, which
+ * turns a concurrent create of the same type into ON CONFLICT DO NOTHING rather than a duplicate.
+ * Version allocation relies on the (master_template_id, template_version) primary key the same way.
+ */
+class MasterTemplateWriteRepositoryImpl extends ConditionalWriteSupport<MasterTemplateDefinitionEntity>
+        implements MasterTemplateWriteRepository {
+
+    private static final String TYPE_ABSENT =
+            "NOT EXISTS (SELECT 1 FROM document_hub.master_template_definition " +
+            "WHERE template_type = :template_type " +
+            "AND archive_indicator = false)";
+
+    private static final Map<String, String> NEXT_VERSION = Map.of("template_version",
+            "(SELECT COALESCE(MAX(template_version), 0) + 1 FROM document_hub.master_template_definition " +
+            "WHERE master_template_id = :master_template_id)");
+
+    private static final List<String> KEY_COLUMNS = List.of("master_template_id", "template_version");
+
+    MasterTemplateWriteRepositoryImpl(R2dbcEntityTemplate entityTemplate) {
+        super(entityTemplate, MasterTemplateDefinitionEntity.class);
+    }
+
+    @Override
+    public Mono<MasterTemplateDefinitionEntity> insertIfTemplateTypeAbsent(MasterTemplateDefinitionEntity entity) {
+        return insertWhere(entity, TYPE_ABSENT);
+    }
+
+    @Override
+    public Mono<MasterTemplateDefinitionEntity> insertNextVersion(MasterTemplateDefinitionEntity entity) {
+        return insert(entity, NEXT_VERSION, null);
+    }
+
+    @Override
+    public Mono<MasterTemplateDefinitionEntity> updateIfVersion(MasterTemplateDefinitionEntity entity, Long expectedVersion) {
+        return updateIfVersion(entity, KEY_COLUMNS, List.of(), expectedVersion);
+    }
+}
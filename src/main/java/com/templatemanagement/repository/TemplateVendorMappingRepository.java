@@ -7,13 +7,16 @@ import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.UUID;
 
 /**
  * Repository for Template Vendor Mapping
  */
 @Repository
-public interface TemplateVendorMappingRepository extends R2dbcRepository<TemplateVendorMappingEntity, UUID> {
+public interface TemplateVendorMappingRepository extends R2dbcRepository<TemplateVendorMappingEntity, UUID>,
+        TemplateVendorMappingWriteRepository {
 
     /**
      * Find vendor mapping by ID (non-archived)
@@ -23,6 +26,31 @@ public interface TemplateVendorMappingRepository extends R2dbcRepository<Templat
            "AND archive_indicator = false")
     Mono<TemplateVendorMappingEntity> findByVendorId(UUID vendorId);
 
+    /**
+     * Find every non-archived vendor mapping (catalog snapshot source)
+     */
+    @Query("SELECT * FROM document_hub.template_vendor_mapping " +
+           "WHERE archive_indicator = false")
+    Flux<TemplateVendorMappingEntity> findAllNonArchived();
+
+    /**
+     * Find vendor mappings, archived or not, written after the given position and up to the
+     * database-side cutoff (see {@link DeltaSyncQueries}), in (updated_timestamp, template_vendor_id)
+     * order (delta sync). Served by idx_tvm_updated.
+     */
+    @Query(DeltaSyncQueries.CUTOFF +
+           "SELECT m.* FROM document_hub.template_vendor_mapping m, changes_cutoff c " +
+           "WHERE (m.updated_timestamp, m.template_vendor_id) > (:changedAfter, :afterId) " +
+           "AND m.updated_timestamp <= c.changed_up_to " +
+           "ORDER BY m.updated_timestamp, m.template_vendor_id " +
+           "LIMIT :limit")
+    Flux<TemplateVendorMappingEntity> findChangedSince(
+        LocalDateTime changedAfter,
+        UUID afterId,
+        long commitLagMs,
+        int limit
+    );
+
     /**
      * Find all vendor mappings for a template
      */
@@ -145,7 +173,8 @@ public interface TemplateVendorMappingRepository extends R2dbcRepository<Templat
            "SET vendor_status = :vendorStatus, " +
            "last_health_check = NOW(), " +
            "last_health_status = :healthStatus, " +
-           "updated_timestamp = NOW() " +
+           "updated_timestamp = NOW(), " +
+           "version_number = COALESCE(version_number, 0) + 1 " +
            "WHERE template_vendor_id = :vendorId")
     Mono<Integer> updateVendorStatus(
         UUID vendorId,
@@ -153,6 +182,95 @@ public interface TemplateVendorMappingRepository extends R2dbcRepository<Templat
         String healthStatus
     );
 
+    /**
+     * Bulk update status, active flag and/or priority of every live mapping of a vendor and/or
+     * vendor type. Null values leave the column unchanged.
+     */
+    @Query("UPDATE document_hub.template_vendor_mapping " +
+           "SET vendor_status = COALESCE(:vendorStatus, vendor_status), " +
+           "active_flag = COALESCE(:activeFlag, active_flag), " +
+           "priority_order = COALESCE(:priorityOrder, priority_order), " +
+           "updated_by = :updatedBy, " +
+           "updated_timestamp = NOW(), " +
+           "version_number = COALESCE(version_number, 0) + 1 " +
+           "WHERE archive_indicator = false " +
+           "AND (:vendor IS NULL OR vendor = :vendor) " +
+           "AND (:vendorType IS NULL OR vendor_type = :vendorType) " +
+           "RETURNING template_vendor_id, master_template_id, template_version, vendor_type")
+    Flux<VendorMappingKey> bulkUpdateByVendor(
+        String vendor,
+        String vendorType,
+        String vendorStatus,
+        Boolean activeFlag,
+        Integer priorityOrder,
+        String updatedBy
+    );
+
+    /**
+     * Bulk update status, active flag and/or priority of the given live mappings.
+     * Null values leave the column unchanged.
+     */
+    @Query("UPDATE document_hub.template_vendor_mapping " +
+           "SET vendor_status = COALESCE(:vendorStatus, vendor_status), " +
+           "active_flag = COALESCE(:activeFlag, active_flag), " +
+           "priority_order = COALESCE(:priorityOrder, priority_order), " +
+           "updated_by = :updatedBy, " +
+           "updated_timestamp = NOW(), " +
+           "version_number = COALESCE(version_number, 0) + 1 " +
+           "WHERE archive_indicator = false " +
+           "AND template_vendor_id IN (:vendorIds) " +
+           "RETURNING template_vendor_id, master_template_id, template_version, vendor_type")
+    Flux<VendorMappingKey> bulkUpdateByIds(
+        Collection<UUID> vendorIds,
+        String vendorStatus,
+        Boolean activeFlag,
+        Integer priorityOrder,
+        String updatedBy
+    );
+
+    /**
+     * Copy every active, live mapping of a template version to another version of the same
+     * template in one INSERT ... SELECT, with new IDs and fresh audit columns. template_content is
+     * copied server side and not returned. Mappings already present on the target are skipped.
+     */
+    @Query("INSERT INTO document_hub.template_vendor_mapping (" +
+           "template_vendor_id, master_template_id, template_version, vendor, vendor_template_key, " +
+           "vendor_template_name, reference_key_type, consumer_id, template_content, start_date, end_date, " +
+           "vendor_mapping_version, primary_flag, active_flag, template_status, schema_info, template_fields, " +
+           "vendor_config, api_config, created_by, created_timestamp, updated_by, updated_timestamp, " +
+           "archive_indicator, version_number, record_status, vendor_type, priority_order, supported_regions, " +
+           "vendor_status, rate_limit_per_minute, rate_limit_per_day, timeout_ms, max_retry_attempts, " +
+           "retry_backoff_ms, cost_per_unit, cost_unit, supported_formats, last_health_check, " +
+           "last_health_status, health_check_endpoint) " +
+           "SELECT gen_random_uuid(), master_template_id, :targetVersion, vendor, vendor_template_key, " +
+           "vendor_template_name, reference_key_type, consumer_id, template_content, start_date, end_date, " +
+           "vendor_mapping_version, primary_flag, active_flag, template_status, schema_info, template_fields, " +
+           "vendor_config, api_config, :createdBy, NOW(), :createdBy, NOW(), " +
+           "false, 1, record_status, vendor_type, priority_order, supported_regions, " +
+           "vendor_status, rate_limit_per_minute, rate_limit_per_day, timeout_ms, max_retry_attempts, " +
+           "retry_backoff_ms, cost_per_unit, cost_unit, supported_formats, last_health_check, " +
+           "last_health_status, health_check_endpoint " +
+           "FROM document_hub.template_vendor_mapping " +
+           "WHERE master_template_id = :masterTemplateId " +
+           "AND template_version = :sourceVersion " +
+           "AND active_flag = true " +
+           "AND archive_indicator = false " +
+           "ON CONFLICT DO NOTHING " +
+           "RETURNING template_vendor_id, master_template_id, template_version, vendor, vendor_template_key, " +
+           "vendor_template_name, reference_key_type, consumer_id, start_date, end_date, " +
+           "vendor_mapping_version, primary_flag, active_flag, template_status, schema_info, template_fields, " +
+           "vendor_config, api_config, created_by, created_timestamp, updated_by, updated_timestamp, " +
+           "archive_indicator, version_number, record_status, vendor_type, priority_order, supported_regions, " +
+           "vendor_status, rate_limit_per_minute, rate_limit_per_day, timeout_ms, max_retry_attempts, " +
+           "retry_backoff_ms, cost_per_unit, cost_unit, supported_formats, last_health_check, " +
+           "last_health_status, health_check_endpoint")
+    Flux<TemplateVendorMappingEntity> cloneActiveMappings(
+        UUID masterTemplateId,
+        Integer sourceVersion,
+        Integer targetVersion,
+        String createdBy
+    );
+
     /**
      * Check for duplicate vendor mapping
      */
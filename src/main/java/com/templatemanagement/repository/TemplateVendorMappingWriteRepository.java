@@ -0,0 +1,24 @@
+package com.templatemanagement.repository;
+
+import com.templatemanagement.entity.TemplateVendorMappingEntity;
+import reactor.core.publisher.Mono;
+
+/**
+ * Conditional write fragment of {@link TemplateVendorMappingRepository}
+ */
+public interface TemplateVendorMappingWriteRepository {
+
+    /**
+     * Insert the mapping only if its template version is live and no live mapping has the same
+     * vendor and vendor type, in one statement. Empty when either check fails.
+     */
+    Mono<TemplateVendorMappingEntity> insertIfTemplateLiveAndUnmapped(TemplateVendorMappingEntity entity);
+
+    /**
+     * Write the entity's non-null columns to the live mapping and bump version_number, if its stored
+     * version_number equals expectedVersion (null: unconditionally). Returns the id, routing key
+     * (template, version, vendor type), written columns and new version_number only. Empty if no
+     * row matched.
+     */
+    Mono<TemplateVendorMappingEntity> updateIfVersion(TemplateVendorMappingEntity entity, Long expectedVersion);
+}
@@ -0,0 +1,46 @@
+package com.templatemanagement.repository;
+
+import com.templatemanagement.entity.TemplateVendorMappingEntity;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Backed by the partial unique index on (master_template_id, template_version, vendor, vendor_type)
+ * over live rows, so concurrent creates of the same mapping cannot both succeed.
+ */
+class TemplateVendorMappingWriteRepositoryImpl extends ConditionalWriteSupport<TemplateVendorMappingEntity>
+        implements TemplateVendorMappingWriteRepository {
+
+    private static final String TEMPLATE_LIVE_AND_UNMAPPED =
+            "EXISTS (SELECT 1 FROM document_hub.master_template_definition " +
+            "WHERE master_template_id = :master_template_id " +
+            "AND template_version = :template_version " +
+            "AND archive_indicator = false) " +
+            "AND NOT EXISTS (SELECT 1 FROM document_hub.template_vendor_mapping " +
+            "WHERE master_template_id = :master_template_id " +
+            "AND template_version = :template_version " +
+            "AND vendor = :vendor " +
+            "AND vendor_type = :vendor_type " +
+            "AND archive_indicator = false)";
+
+    private static final List<String> KEY_COLUMNS = List.of("template_vendor_id");
+
+    // Needed by the DAO to drop the routing cache entry of an updated mapping
+    private static final List<String> ROUTING_COLUMNS = List.of("master_template_id", "template_version", "vendor_type");
+
+    TemplateVendorMappingWriteRepositoryImpl(R2dbcEntityTemplate entityTemplate) {
+        super(entityTemplate, TemplateVendorMappingEntity.class);
+    }
+
+    @Override
+    public Mono<TemplateVendorMappingEntity> insertIfTemplateLiveAndUnmapped(TemplateVendorMappingEntity entity) {
+        return insertWhere(entity, TEMPLATE_LIVE_AND_UNMAPPED);
+    }
+
+    @Override
+    public Mono<TemplateVendorMappingEntity> updateIfVersion(TemplateVendorMappingEntity entity, Long expectedVersion) {
+        return updateIfVersion(entity, KEY_COLUMNS, ROUTING_COLUMNS, expectedVersion);
+    }
+}
@@ -0,0 +1,14 @@
+package com.templatemanagement.repository;
+
+import java.util.UUID;
+
+/**
+ * Identity of a vendor mapping row and the routing list it belongs to, as returned by
+ * bulk UPDATE ... RETURNING statements for cache invalidation
+ */
+public record VendorMappingKey(
+        UUID templateVendorId,
+        UUID masterTemplateId,
+        Integer templateVersion,
+        String vendorType) {
+}
@@ -0,0 +1,76 @@
+package com.templatemanagement.service;
+
+import com.templatemanagement.changes.CatalogWatermark;
+import com.templatemanagement.dao.MasterTemplateDao;
+import com.templatemanagement.dao.TemplateVendorMappingDao;
+import com.templatemanagement.dto.TemplateDelta;
+import com.templatemanagement.dto.TemplateVendorDelta;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+
+/**
+ * Delta sync for downstream catalog replicas.
+ * <p>
+ * Rows are returned in (updated_timestamp, key) order after the client's watermark, at most limit
+ * per call; a client calls again with the last watermark until it gets fewer than limit rows.
+ * updated_timestamp is stamped by the database on every insert and update, before commit, so a row
+ * can become visible with a timestamp behind rows already synced. The query therefore stops at a
+ * cutoff computed in SQL from the same clock: catalog.delta.commit-lag-ms before the database's
+ * current time, and no later than the start of the oldest open write transaction, so a long
+ * transaction holds the cutoff back instead of being skipped. Requires db/migration/V1__delta_sync.sql,
+ * which also backfills and forbids NULL updated_timestamp.
+ */
+@Slf4j
+@Service
+public class CatalogDeltaService {
+
+    private final MasterTemplateDao templateDao;
+    private final TemplateVendorMappingDao vendorDao;
+    private final Duration commitLag;
+    private final int maxLimit;
+
+    public CatalogDeltaService(
+            MasterTemplateDao templateDao,
+            TemplateVendorMappingDao vendorDao,
+            @Value("${catalog.delta.commit-lag-ms:5000}") long commitLagMs,
+            @Value("${catalog.delta.max-limit:5000}") int maxLimit) {
+        this.templateDao = templateDao;
+        this.vendorDao = vendorDao;
+        this.commitLag = Duration.ofMillis(commitLagMs);
+        this.maxLimit = maxLimit;
+    }
+
+    /**
+     * Template versions inserted, updated or archived after the watermark (null: from the beginning)
+     */
+    public Flux<TemplateDelta> getTemplateChanges(String since, int limit) {
+        return Flux.defer(() -> {
+            CatalogWatermark after = CatalogWatermark.parse(since);
+            checkLimit(limit);
+            log.debug("Template delta: since={}, limit={}", since, limit);
+            return templateDao.findChangedSince(after, commitLag, limit);
+        });
+    }
+
+    /**
+     * Vendor mappings inserted, updated or archived after the watermark (null: from the beginning)
+     */
+    public Flux<TemplateVendorDelta> getVendorMappingChanges(String since, int limit) {
+        return Flux.defer(() -> {
+            CatalogWatermark after = CatalogWatermark.parse(since);
+            checkLimit(limit);
+            log.debug("Vendor mapping delta: since={}, limit={}", since, limit);
+            return vendorDao.findChangedSince(after, commitLag, limit);
+        });
+    }
+
+    private void checkLimit(int limit) {
+        if (limit < 1 || limit > maxLimit) {
+            throw new IllegalArgumentException("limit must be between 1 and " + maxLimit);
+        }
+    }
+}
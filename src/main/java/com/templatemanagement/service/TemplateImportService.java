@@ -0,0 +1,246 @@
+package com.templatemanagement.service;
+
+import com.templatemanagement.dao.CatalogChangeOutboxDao;
+import com.templatemanagement.dao.CatalogImportDao;
+import com.templatemanagement.dao.MasterTemplateDao;
+import com.templatemanagement.dto.CatalogChangeEvent;
+import com.templatemanagement.dto.CatalogChangeEvent.ChangeType;
+import com.templatemanagement.dto.request.TemplateCreateRequest;
+import com.templatemanagement.dto.request.TemplateImportRequest;
+import com.templatemanagement.dto.request.TemplateVendorCreateRequest;
+import com.templatemanagement.dto.response.TemplateImportResult;
+import com.templatemanagement.entity.MasterTemplateDefinitionEntity;
+import com.templatemanagement.entity.TemplateVendorMappingEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of templates with nested vendor mappings.
+ * <p>
+ * The record stream is cut into windows of template.import.chunk-size records. Each window runs
+ * one set-based duplicate query for its template types and two batched inserts (templates, then
+ * vendor mappings) in its own transaction, together with the window's change events, and its
+ * per-record results are emitted as soon as it commits. A failing window rolls back and reports FAILED for its records; later windows still run.
+ */
+@Slf4j
+@Service
+public class TemplateImportService {
+
+    private static final int TEMPLATE_VERSION = 1;
+
+    private final MasterTemplateDao templateDao;
+    private final CatalogImportDao importDao;
+    private final CatalogChangeOutboxDao outboxDao;
+    private final Validator validator;
+    private final TransactionalOperator transactionalOperator;
+    private final int chunkSize;
+
+    public TemplateImportService(
+            MasterTemplateDao templateDao,
+            CatalogImportDao importDao,
+            CatalogChangeOutboxDao outboxDao,
+            Validator validator,
+            ReactiveTransactionManager transactionManager,
+            @Value("${template.import.chunk-size:500}") int chunkSize) {
+        this.templateDao = templateDao;
+        this.importDao = importDao;
+        this.outboxDao = outboxDao;
+        this.validator = validator;
+        this.transactionalOperator = TransactionalOperator.create(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Import the records, streaming one result per record in input order
+     */
+    public Flux<TemplateImportResult> importTemplates(Flux<TemplateImportRequest> records, String createdBy) {
+        AtomicLong line = new AtomicLong();
+        // Template types imported by earlier windows of this request, for in-stream duplicates
+        Set<String> importedTypes = new HashSet<>();
+
+        return records
+                .map(record -> new Candidate(line.incrementAndGet(), record))
+                .buffer(chunkSize)
+                .concatMap(chunk -> importChunk(chunk, importedTypes, createdBy));
+    }
+
+    private Flux<TemplateImportResult> importChunk(List<Candidate> chunk, Set<String> importedTypes, String createdBy) {
+        List<TemplateImportResult> rejected = new ArrayList<>();
+        List<Prepared> prepared = new ArrayList<>();
+        Set<String> chunkTypes = new HashSet<>();
+
+        for (Candidate candidate : chunk) {
+            String templateType = candidate.templateType();
+            String violations = validate(candidate.record());
+            if (violations != null) {
+                rejected.add(TemplateImportResult.rejected(candidate.line(), templateType,
+                        TemplateImportResult.Status.INVALID, violations));
+            } else if (importedTypes.contains(templateType) || !chunkTypes.add(templateType)) {
+                rejected.add(TemplateImportResult.rejected(candidate.line(), templateType,
+                        TemplateImportResult.Status.DUPLICATE, "Template type appears earlier in this import"));
+            } else {
+                prepared.add(prepare(candidate, createdBy));
+            }
+        }
+
+        Mono<List<TemplateImportResult>> inserted = templateDao.findExistingTemplateTypes(chunkTypes)
+                .collect(Collectors.toSet())
+                .flatMap(existing -> {
+                    List<TemplateImportResult> results = new ArrayList<>();
+                    List<Prepared> toInsert = new ArrayList<>();
+                    for (Prepared row : prepared) {
+                        if (existing.contains(row.template().getTemplateType())) {
+                            results.add(TemplateImportResult.rejected(row.line(), row.template().getTemplateType(),
+                                    TemplateImportResult.Status.DUPLICATE, "Template with this type already exists"));
+                        } else {
+                            toInsert.add(row);
+                        }
+                    }
+                    return insert(toInsert, createdBy).then(Mono.fromSupplier(() -> {
+                        toInsert.forEach(row -> results.add(TemplateImportResult.created(row.line(),
+                                row.template().getTemplateType(), row.template().getMasterTemplateId(),
+                                row.vendorMappings().size())));
+                        return results;
+                    }));
+                })
+                .as(transactionalOperator::transactional)
+                .doOnNext(results -> {
+                    List<String> created = results.stream()
+                            .filter(result -> result.getStatus() == TemplateImportResult.Status.CREATED)
+                            .map(TemplateImportResult::getTemplateType)
+                            .collect(Collectors.toList());
+                    importedTypes.addAll(created);
+                    log.info("Import window committed: records={}, created={}", chunk.size(), created.size());
+                })
+                .onErrorResume(error -> {
+                    log.error("Import window rolled back: records={}, error={}", prepared.size(), error.getMessage());
+                    return Mono.just(prepared.stream()
+                            .map(row -> TemplateImportResult.rejected(row.line(), row.template().getTemplateType(),
+                                    TemplateImportResult.Status.FAILED, "Window rolled back: " + error.getMessage()))
+                            .collect(Collectors.toList()));
+                });
+
+        return inserted
+                .map(results -> {
+                    results.addAll(rejected);
+                    results.sort(Comparator.comparingLong(TemplateImportResult::getLine));
+                    return results;
+                })
+                .flatMapIterable(results -> results);
+    }
+
+    private Mono<Void> insert(List<Prepared> rows, String createdBy) {
+        if (rows.isEmpty()) {
+            return Mono.empty();
+        }
+        List<MasterTemplateDefinitionEntity> templates = rows.stream()
+                .map(Prepared::template)
+                .collect(Collectors.toList());
+        List<TemplateVendorMappingEntity> vendorMappings = rows.stream()
+                .flatMap(row -> row.vendorMappings().stream())
+                .collect(Collectors.toList());
+
+        return importDao.insertTemplates(templates)
+                .then(importDao.insertVendorMappings(vendorMappings))
+                .then(outboxDao.append(createdEvents(templates, vendorMappings, createdBy)));
+    }
+
+    private static List<CatalogChangeEvent> createdEvents(List<MasterTemplateDefinitionEntity> templates,
+                                                          List<TemplateVendorMappingEntity> vendorMappings,
+                                                          String createdBy) {
+        List<CatalogChangeEvent> events = new ArrayList<>(templates.size() + vendorMappings.size());
+        templates.forEach(template -> events.add(CatalogChangeEvent.builder()
+                .changeType(ChangeType.TEMPLATE_CREATED)
+                .masterTemplateId(template.getMasterTemplateId())
+                .templateVersion(template.getTemplateVersion())
+                .lineOfBusiness(template.getLineOfBusiness())
+                .changedBy(createdBy)
+                .build()));
+        vendorMappings.forEach(vendor -> events.add(CatalogChangeEvent.builder()
+                .changeType(ChangeType.VENDOR_MAPPING_CREATED)
+                .masterTemplateId(vendor.getMasterTemplateId())
+                .templateVersion(vendor.getTemplateVersion())
+                .templateVendorId(vendor.getTemplateVendorId())
+                .vendor(vendor.getVendor())
+                .vendorType(vendor.getVendorType())
+                .changedBy(createdBy)
+                .build()));
+        return events;
+    }
+
+    private Prepared prepare(Candidate candidate, String createdBy) {
+        TemplateImportRequest record = candidate.record();
+        UUID masterTemplateId = UUID.randomUUID();
+        MasterTemplateDefinitionEntity template = TemplateService.buildTemplateEntity(
+                record.getTemplate(), masterTemplateId, TEMPLATE_VERSION, createdBy);
+        List<TemplateVendorMappingEntity> vendorMappings = vendorMappings(record).stream()
+                .map(request -> {
+                    request.setMasterTemplateId(masterTemplateId);
+                    request.setTemplateVersion(TEMPLATE_VERSION);
+                    return TemplateService.buildVendorEntity(request, createdBy);
+                })
+                .collect(Collectors.toList());
+        return new Prepared(candidate.line(), template, vendorMappings);
+    }
+
+    /**
+     * Bean-validate the template and its mappings, returning a summary of violations or null if valid
+     */
+    private String validate(TemplateImportRequest record) {
+        TemplateCreateRequest template = record.getTemplate();
+        if (template == null) {
+            return "Template fields are required";
+        }
+
+        List<String> messages = new ArrayList<>();
+        validator.validate(template).forEach(violation -> messages.add(describe("", violation)));
+
+        Set<String> vendorKeys = new HashSet<>();
+        List<TemplateVendorCreateRequest> mappings = vendorMappings(record);
+        for (int i = 0; i < mappings.size(); i++) {
+            TemplateVendorCreateRequest mapping = mappings.get(i);
+            String prefix = "vendorMappings[" + i + "].";
+            // Assigned by the import; placeholders so the create-request constraints still apply
+            mapping.setMasterTemplateId(new UUID(0, 0));
+            mapping.setTemplateVersion(TEMPLATE_VERSION);
+            validator.validate(mapping).forEach(violation -> messages.add(describe(prefix, violation)));
+            if (!vendorKeys.add(mapping.getVendor() + ":" + mapping.getVendorType())) {
+                messages.add(prefix + "vendor: duplicate vendor and vendorType in this record");
+            }
+        }
+        return messages.isEmpty() ? null : String.join("; ", messages);
+    }
+
+    private static String describe(String prefix, ConstraintViolation<?> violation) {
+        return prefix + violation.getPropertyPath() + ": " + violation.getMessage();
+    }
+
+    private static List<TemplateVendorCreateRequest> vendorMappings(TemplateImportRequest record) {
+        return record.getVendorMappings() != null ? record.getVendorMappings() : List.of();
+    }
+
+    private record Candidate(long line, TemplateImportRequest record) {
+        String templateType() {
+            return record.getTemplate() != null ? record.getTemplate().getTemplateType() : null;
+        }
+    }
+
+    private record Prepared(long line, MasterTemplateDefinitionEntity template, List<TemplateVendorMappingEntity> vendorMappings) {
+    }
+}
@@ -1,30 +1,42 @@
 package com.templatemanagement.service;
 
+import com.templatemanagement.dao.CatalogChangeOutboxDao;
 import com.templatemanagement.dao.MasterTemplateDao;
 import com.templatemanagement.dao.TemplateVendorMappingDao;
+import com.templatemanagement.dto.CatalogChangeEvent;
+import com.templatemanagement.dto.CatalogChangeEvent.ChangeType;
 import com.templatemanagement.dto.MasterTemplateDto;
 import com.templatemanagement.dto.TemplateVendorMappingDto;
 import com.templatemanagement.dto.request.TemplateCreateRequest;
 import com.templatemanagement.dto.request.TemplateUpdateRequest;
 import com.templatemanagement.dto.request.TemplateVendorCreateRequest;
 import com.templatemanagement.dto.request.TemplateVendorUpdateRequest;
+import com.templatemanagement.dto.request.VendorBulkUpdateRequest;
 import com.templatemanagement.dto.response.*;
 import com.templatemanagement.entity.MasterTemplateDefinitionEntity;
 import com.templatemanagement.entity.TemplateVendorMappingEntity;
 import com.templatemanagement.exception.ConflictException;
+import com.templatemanagement.exception.PreconditionFailedException;
 import com.templatemanagement.exception.ResourceNotFoundException;
+import com.templatemanagement.repository.VendorMappingKey;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 /**
  * Service layer for Template Management operations.
  * Contains business logic for template and vendor mapping CRUD operations.
+ * Every write appends its change events to the change outbox in the same transaction.
  */
 @Slf4j
 @Service
@@ -33,31 +45,27 @@ public class TemplateService {
 
     private final MasterTemplateDao templateDao;
     private final TemplateVendorMappingDao vendorDao;
+    private final CatalogChangeOutboxDao outboxDao;
 
     // ========================================================================
     // Template Operations
     // ========================================================================
 
     /**
-     * Create a new template
+     * Create a new template. The duplicate-type check and the insert are one statement.
      */
     @Transactional
     public Mono<TemplateResponse> createTemplate(TemplateCreateRequest request, String createdBy) {
         log.info("Creating template: type={}, lob={}", request.getTemplateType(), request.getLineOfBusiness());
 
-        return templateDao.existsByTemplateType(request.getTemplateType())
-                .flatMap(exists -> {
-                    if (exists) {
-                        return Mono.error(new ConflictException(
-                                "Template with type '" + request.getTemplateType() + "' already exists"));
-                    }
-
-                    UUID masterTemplateId = UUID.randomUUID();
-                    MasterTemplateDefinitionEntity entity = buildTemplateEntity(request, masterTemplateId, 1, createdBy);
+        MasterTemplateDefinitionEntity entity = buildTemplateEntity(request, UUID.randomUUID(), 1, createdBy);
 
-                    return templateDao.save(entity)
-                            .map(TemplateResponse::of);
-                });
+        return templateDao.insertIfTypeAbsent(entity)
+                .switchIfEmpty(Mono.error(() -> new ConflictException(
+                        "Template with type '" + request.getTemplateType() + "' already exists")))
+                .flatMap(created -> recordChange(CatalogChangeEvent.template(ChangeType.TEMPLATE_CREATED, created, createdBy))
+                        .thenReturn(created))
+                .map(TemplateResponse::of);
     }
 
     /**
@@ -120,7 +128,28 @@ public class TemplateService {
     }
 
     /**
-     * Update template (creates a new version or updates existing)
+     * Stream a page of templates with filters, without the total count
+     */
+    public Flux<MasterTemplateDto> streamTemplates(
+            String lineOfBusiness,
+            String templateType,
+            Boolean activeFlag,
+            String communicationType,
+            int page,
+            int size) {
+        log.debug("Streaming templates: lob={}, type={}, active={}, comm={}, page={}, size={}",
+                lineOfBusiness, templateType, activeFlag, communicationType, page, size);
+
+        return templateDao.findWithFilters(lineOfBusiness, templateType, activeFlag, communicationType, page, size);
+    }
+
+    /**
+     * Update template (creates a new version or updates existing).
+     * An in-place update writes only the fields present in the request, without reading the row first.
+     * A new version can take over the source version's active vendor mappings (copyVendorMappings),
+     * copied in one statement within the same transaction and returned with the template.
+     * With expectedVersionNumber (from If-Match) the write only succeeds if the stored version_number
+     * still matches; otherwise PreconditionFailedException.
      */
     @Transactional
     public Mono<TemplateResponse> updateTemplate(
@@ -128,24 +157,40 @@ public class TemplateService {
             Integer templateVersion,
             TemplateUpdateRequest request,
             String updatedBy,
-            boolean createNewVersion) {
-        log.info("Updating template: id={}, version={}, createNewVersion={}", masterTemplateId, templateVersion, createNewVersion);
-
-        return templateDao.findByIdAndVersion(masterTemplateId, templateVersion)
-                .switchIfEmpty(Mono.error(new ResourceNotFoundException(
-                        "Template not found: id=" + masterTemplateId + ", version=" + templateVersion)))
+            boolean createNewVersion,
+            boolean copyVendorMappings,
+            Long expectedVersionNumber) {
+        log.info("Updating template: id={}, version={}, createNewVersion={}, copyVendorMappings={}, expectedVersion={}",
+                masterTemplateId, templateVersion, createNewVersion, copyVendorMappings, expectedVersionNumber);
+
+        if (!createNewVersion) {
+            return templateDao.update(templateChanges(masterTemplateId, templateVersion, request), updatedBy, expectedVersionNumber)
+                    .switchIfEmpty(Mono.defer(() -> {
+                        // Nothing matched: report 404 or 412 from the current row
+                        templateDao.invalidateCache(masterTemplateId, templateVersion);
+                        return findTemplateForUpdate(masterTemplateId, templateVersion, expectedVersionNumber)
+                                .then(Mono.<MasterTemplateDto>error(new PreconditionFailedException(
+                                        "Template was modified concurrently: id=" + masterTemplateId + ", version=" + templateVersion)));
+                    }))
+                    .flatMap(updated -> recordChange(CatalogChangeEvent.template(ChangeType.TEMPLATE_UPDATED, updated, updatedBy))
+                            .thenReturn(updated))
+                    .map(TemplateResponse::of);
+        }
+
+        return findTemplateForUpdate(masterTemplateId, templateVersion, expectedVersionNumber)
                 .flatMap(existing -> {
-                    if (createNewVersion) {
-                        return templateDao.getNextVersionNumber(masterTemplateId)
-                                .flatMap(newVersion -> {
-                                    MasterTemplateDefinitionEntity newEntity = buildUpdatedEntity(existing, request, newVersion, updatedBy);
-                                    return templateDao.save(newEntity).map(TemplateResponse::of);
-                                });
-                    } else {
-                        MasterTemplateDefinitionEntity updatedEntity = buildUpdatedEntity(existing, request, templateVersion, updatedBy);
-                        updatedEntity.setMasterTemplateId(masterTemplateId);
-                        return templateDao.update(updatedEntity).map(TemplateResponse::of);
-                    }
+                    // Version number is allocated by the insert itself
+                    return templateDao.insertNextVersion(buildNextVersion(existing, request, updatedBy))
+                            .switchIfEmpty(Mono.error(() -> new ConflictException(
+                                    "Concurrent version creation for template id=" + masterTemplateId + ", retry the request")))
+                            .flatMap(created -> (copyVendorMappings
+                                    ? vendorDao.cloneActiveMappings(masterTemplateId, templateVersion, created.getTemplateVersion(), updatedBy)
+                                            .collectList()
+                                    : Mono.just(List.<TemplateVendorMappingDto>of()))
+                                    .flatMap(vendors -> recordChanges(versionCreatedEvents(created, vendors, updatedBy))
+                                            .thenReturn(copyVendorMappings
+                                                    ? TemplateResponse.of(created, vendors)
+                                                    : TemplateResponse.of(created))));
                 });
     }
 
@@ -159,44 +204,72 @@ public class TemplateService {
         return templateDao.findByIdAndVersion(masterTemplateId, templateVersion)
                 .switchIfEmpty(Mono.error(new ResourceNotFoundException(
                         "Template not found: id=" + masterTemplateId + ", version=" + templateVersion)))
-                .flatMap(template -> templateDao.archiveTemplate(masterTemplateId, templateVersion, deletedBy))
+                .flatMap(template -> templateDao.archiveTemplate(masterTemplateId, templateVersion, deletedBy)
+                        .filter(count -> count > 0)
+                        .flatMap(count -> recordChange(CatalogChangeEvent.template(ChangeType.TEMPLATE_ARCHIVED, template, deletedBy))))
                 .then();
     }
 
+    /**
+     * Archive a template version, or every version when templateVersion is null, together with all
+     * of its vendor mappings in a single statement
+     */
+    @Transactional
+    public Mono<Void> archiveTemplateCascade(UUID masterTemplateId, Integer templateVersion, String deletedBy) {
+        log.info("Cascade archiving template: id={}, version={}", masterTemplateId, templateVersion == null ? "all" : templateVersion);
+
+        return templateDao.archiveTemplateCascade(masterTemplateId, templateVersion, deletedBy)
+                .collectList()
+                .flatMap(rows -> {
+                    List<VendorMappingKey> vendors = rows.stream()
+                            .filter(row -> row.templateVendorId() != null)
+                            .collect(Collectors.toList());
+                    int templates = rows.size() - vendors.size();
+                    if (templates == 0 && vendors.isEmpty()) {
+                        return Mono.error(new ResourceNotFoundException(templateVersion == null
+                                ? "Template not found: id=" + masterTemplateId
+                                : "Template not found: id=" + masterTemplateId + ", version=" + templateVersion));
+                    }
+                    vendorDao.invalidateMappings(vendors);
+                    log.info("Template cascade archived: id={}, templates={}, vendorMappings={}",
+                            masterTemplateId, templates, vendors.size());
+                    return recordChanges(rows.stream()
+                            .map(row -> row.templateVendorId() == null
+                                    ? keyChange(ChangeType.TEMPLATE_ARCHIVED, row, deletedBy)
+                                    : keyChange(ChangeType.VENDOR_MAPPING_ARCHIVED, row, deletedBy))
+                            .collect(Collectors.toList()));
+                });
+    }
+
     // ========================================================================
     // Vendor Mapping Operations
     // ========================================================================
 
     /**
-     * Create vendor mapping
+     * Create vendor mapping. The parent-template check, the duplicate check and the insert are one
+     * statement; only a refused insert reads the template again, to tell 404 from 409.
      */
     @Transactional
     public Mono<TemplateVendorResponse> createVendorMapping(TemplateVendorCreateRequest request, String createdBy) {
         log.info("Creating vendor mapping: templateId={}, vendor={}, type={}",
                 request.getMasterTemplateId(), request.getVendor(), request.getVendorType());
 
-        // Verify template exists
-        return templateDao.findByIdAndVersion(request.getMasterTemplateId(), request.getTemplateVersion())
-                .switchIfEmpty(Mono.error(new ResourceNotFoundException(
-                        "Template not found: id=" + request.getMasterTemplateId() + ", version=" + request.getTemplateVersion())))
-                .flatMap(template -> vendorDao.existsDuplicateMapping(
-                                request.getMasterTemplateId(),
-                                request.getTemplateVersion(),
-                                request.getVendor(),
-                                request.getVendorType())
-                        .flatMap(exists -> {
-                            if (exists) {
-                                return Mono.error(new ConflictException(
-                                        "Vendor mapping already exists for template=" + request.getMasterTemplateId() +
-                                                ", version=" + request.getTemplateVersion() +
-                                                ", vendor=" + request.getVendor() +
-                                                ", type=" + request.getVendorType()));
-                            }
-
-                            TemplateVendorMappingEntity entity = buildVendorEntity(request, createdBy);
-                            return vendorDao.save(entity)
-                                    .map(vendor -> TemplateVendorResponse.of(vendor, template));
-                        }));
+        TemplateVendorMappingEntity entity = buildVendorEntity(request, createdBy);
+
+        return vendorDao.insertIfTemplateLiveAndUnmapped(entity)
+                .flatMap(vendor -> recordChange(CatalogChangeEvent.vendorMapping(ChangeType.VENDOR_MAPPING_CREATED, vendor, createdBy))
+                        .thenReturn(vendor))
+                .flatMap(vendor -> templateDao.findByIdAndVersion(request.getMasterTemplateId(), request.getTemplateVersion())
+                        .map(template -> TemplateVendorResponse.of(vendor, template))
+                        .defaultIfEmpty(TemplateVendorResponse.of(vendor)))
+                .switchIfEmpty(Mono.defer(() -> templateDao.findByIdAndVersion(request.getMasterTemplateId(), request.getTemplateVersion())
+                        .switchIfEmpty(Mono.error(new ResourceNotFoundException(
+                                "Template not found: id=" + request.getMasterTemplateId() + ", version=" + request.getTemplateVersion())))
+                        .flatMap(template -> Mono.<TemplateVendorResponse>error(new ConflictException(
+                                "Vendor mapping already exists for template=" + request.getMasterTemplateId() +
+                                        ", version=" + request.getTemplateVersion() +
+                                        ", vendor=" + request.getVendor() +
+                                        ", type=" + request.getVendorType())))));
     }
 
     /**
@@ -241,23 +314,77 @@ public class TemplateService {
     }
 
     /**
-     * Update vendor mapping
+     * Stream a page of vendor mappings with filters, without the total count
+     */
+    public Flux<TemplateVendorMappingDto> streamVendorMappings(
+            UUID masterTemplateId,
+            String vendorType,
+            String vendor,
+            Boolean activeFlag,
+            int page,
+            int size) {
+        log.debug("Streaming vendor mappings: templateId={}, type={}, vendor={}, active={}, page={}, size={}",
+                masterTemplateId, vendorType, vendor, activeFlag, page, size);
+
+        return vendorDao.findWithFilters(masterTemplateId, vendorType, vendor, activeFlag, page, size);
+    }
+
+    /**
+     * Update vendor mapping, writing only the fields present in the request without reading the row first.
+     * With expectedVersionNumber (from If-Match) the write only succeeds if the stored version_number
+     * still matches; otherwise PreconditionFailedException.
      */
     @Transactional
     public Mono<TemplateVendorResponse> updateVendorMapping(
             UUID vendorId,
             TemplateVendorUpdateRequest request,
-            String updatedBy) {
-        log.info("Updating vendor mapping: id={}", vendorId);
+            String updatedBy,
+            Long expectedVersionNumber) {
+        log.info("Updating vendor mapping: id={}, expectedVersion={}", vendorId, expectedVersionNumber);
+
+        return vendorDao.update(vendorChanges(vendorId, request), updatedBy, expectedVersionNumber)
+                .switchIfEmpty(Mono.defer(() -> {
+                    // Nothing matched: report 404 or 412 from the current row
+                    vendorDao.invalidateCache(vendorId);
+                    return findVendorForUpdate(vendorId, expectedVersionNumber)
+                            .then(Mono.<TemplateVendorMappingDto>error(new PreconditionFailedException(
+                                    "Vendor mapping was modified concurrently: id=" + vendorId)));
+                }))
+                .flatMap(updated -> recordChange(CatalogChangeEvent.vendorMapping(ChangeType.VENDOR_MAPPING_UPDATED, updated, updatedBy))
+                        .thenReturn(updated))
+                .map(TemplateVendorResponse::of);
+    }
 
-        return vendorDao.findById(vendorId)
-                .switchIfEmpty(Mono.error(new ResourceNotFoundException(
-                        "Vendor mapping not found: id=" + vendorId)))
-                .flatMap(existing -> {
-                    TemplateVendorMappingEntity updatedEntity = buildUpdatedVendorEntity(existing, request, updatedBy);
-                    return vendorDao.update(updatedEntity)
-                            .map(TemplateVendorResponse::of);
-                });
+    /**
+     * Bulk update status, active flag and/or priority of the mappings selected by vendor and
+     * vendor type, or by an explicit ID list, in a single statement
+     */
+    @Transactional
+    public Mono<VendorBulkUpdateResponse> bulkUpdateVendorMappings(VendorBulkUpdateRequest request, String updatedBy) {
+        boolean byIds = request.getVendorIds() != null && !request.getVendorIds().isEmpty();
+        boolean byVendor = request.getVendor() != null || request.getVendorType() != null;
+
+        if (request.getVendorStatus() == null && request.getActiveFlag() == null && request.getPriorityOrder() == null) {
+            return Mono.error(new IllegalArgumentException(
+                    "At least one of vendorStatus, activeFlag or priorityOrder is required"));
+        }
+        if (byIds == byVendor) {
+            return Mono.error(new IllegalArgumentException(
+                    "Select mappings by vendorIds or by vendor/vendorType, not both or neither"));
+        }
+
+        log.info("Bulk updating vendor mappings: vendor={}, type={}, ids={}",
+                request.getVendor(), request.getVendorType(), byIds ? request.getVendorIds().size() : 0);
+
+        Mono<List<VendorMappingKey>> updated = byIds
+                ? vendorDao.bulkUpdateByIds(new LinkedHashSet<>(request.getVendorIds()), request.getVendorStatus(),
+                        request.getActiveFlag(), request.getPriorityOrder(), updatedBy)
+                : vendorDao.bulkUpdateByVendor(request.getVendor(), request.getVendorType(), request.getVendorStatus(),
+                        request.getActiveFlag(), request.getPriorityOrder(), updatedBy);
+        return updated.flatMap(keys -> recordChanges(keys.stream()
+                        .map(key -> keyChange(ChangeType.VENDOR_MAPPING_UPDATED, key, updatedBy))
+                        .collect(Collectors.toList()))
+                .thenReturn(VendorBulkUpdateResponse.of(keys.size())));
     }
 
     /**
@@ -270,10 +397,46 @@ public class TemplateService {
         return vendorDao.findById(vendorId)
                 .switchIfEmpty(Mono.error(new ResourceNotFoundException(
                         "Vendor mapping not found: id=" + vendorId)))
-                .flatMap(vendor -> vendorDao.archiveVendorMapping(vendorId, deletedBy))
+                .flatMap(vendor -> vendorDao.archiveVendorMapping(vendorId, deletedBy)
+                        .filter(count -> count > 0)
+                        .flatMap(count -> recordChange(CatalogChangeEvent.vendorMapping(ChangeType.VENDOR_MAPPING_ARCHIVED, vendor, deletedBy))))
                 .then();
     }
 
+    // ========================================================================
+    // Change Events
+    // ========================================================================
+
+    private Mono<Void> recordChange(CatalogChangeEvent event) {
+        return outboxDao.append(List.of(event));
+    }
+
+    private Mono<Void> recordChanges(List<CatalogChangeEvent> events) {
+        return outboxDao.append(events);
+    }
+
+    private static List<CatalogChangeEvent> versionCreatedEvents(
+            MasterTemplateDto created, List<TemplateVendorMappingDto> vendors, String createdBy) {
+        List<CatalogChangeEvent> events = new ArrayList<>();
+        events.add(CatalogChangeEvent.template(ChangeType.TEMPLATE_CREATED, created, createdBy));
+        vendors.forEach(vendor -> events.add(CatalogChangeEvent.vendorMapping(ChangeType.VENDOR_MAPPING_CREATED, vendor, createdBy)));
+        return events;
+    }
+
+    /**
+     * Event for a row returned by a set-based statement; the outbox fills in line of business and vendor
+     */
+    private static CatalogChangeEvent keyChange(ChangeType changeType, VendorMappingKey key, String changedBy) {
+        return CatalogChangeEvent.builder()
+                .changeType(changeType)
+                .masterTemplateId(key.masterTemplateId())
+                .templateVersion(key.templateVersion())
+                .templateVendorId(key.templateVendorId())
+                .vendorType(key.vendorType())
+                .changedBy(changedBy)
+                .build();
+    }
+
     /**
      * Get vendors for routing (for document generation)
      */
@@ -293,10 +456,55 @@ public class TemplateService {
     }
 
     // ========================================================================
-    // Private Helper Methods
+    // Helper Methods (entity builders are shared with TemplateImportService)
     // ========================================================================
 
-    private MasterTemplateDefinitionEntity buildTemplateEntity(
+    /**
+     * Version_number of a row as exposed in ETags; rows written before versioning count as 0
+     */
+    private static long versionOf(Long versionNumber) {
+        return versionNumber != null ? versionNumber : 0L;
+    }
+
+    /**
+     * Load the template to update. When the caller expects a version_number the cached copy is used
+     * only if it matches; a mismatching cached copy is re-read once before reporting 412.
+     */
+    private Mono<MasterTemplateDto> findTemplateForUpdate(UUID masterTemplateId, Integer templateVersion, Long expected) {
+        return templateDao.findByIdAndVersion(masterTemplateId, templateVersion)
+                .flatMap(found -> expected == null || expected == versionOf(found.getVersionNumber())
+                        ? Mono.just(found)
+                        : Mono.defer(() -> {
+                            templateDao.invalidateCache(masterTemplateId, templateVersion);
+                            return templateDao.findByIdAndVersion(masterTemplateId, templateVersion);
+                        }))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException(
+                        "Template not found: id=" + masterTemplateId + ", version=" + templateVersion)))
+                .flatMap(found -> expected == null || expected == versionOf(found.getVersionNumber())
+                        ? Mono.just(found)
+                        : Mono.<MasterTemplateDto>error(new PreconditionFailedException("If-Match does not match template id=" + masterTemplateId +
+                                ", version=" + templateVersion + ": current ETag \"" + versionOf(found.getVersionNumber()) + "\"")));
+    }
+
+    /**
+     * Vendor counterpart of findTemplateForUpdate
+     */
+    private Mono<TemplateVendorMappingDto> findVendorForUpdate(UUID vendorId, Long expected) {
+        return vendorDao.findById(vendorId)
+                .flatMap(found -> expected == null || expected == versionOf(found.getVersionNumber())
+                        ? Mono.just(found)
+                        : Mono.defer(() -> {
+                            vendorDao.invalidateCache(vendorId);
+                            return vendorDao.findById(vendorId);
+                        }))
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Vendor mapping not found: id=" + vendorId)))
+                .flatMap(found -> expected == null || expected == versionOf(found.getVersionNumber())
+                        ? Mono.just(found)
+                        : Mono.<TemplateVendorMappingDto>error(new PreconditionFailedException("If-Match does not match vendor mapping id=" + vendorId +
+                                ": current ETag \"" + versionOf(found.getVersionNumber()) + "\"")));
+    }
+
+    static MasterTemplateDefinitionEntity buildTemplateEntity(
             TemplateCreateRequest request,
             UUID masterTemplateId,
             Integer version,
@@ -335,14 +543,16 @@ public class TemplateService {
                 .build();
     }
 
-    private MasterTemplateDefinitionEntity buildUpdatedEntity(
+    /**
+     * The next version of a template: every field, JSON configs included, is the request's value
+     * when given and the source version's otherwise. The template version is left to the insert.
+     */
+    static MasterTemplateDto buildNextVersion(
             MasterTemplateDto existing,
             TemplateUpdateRequest request,
-            Integer version,
             String updatedBy) {
-        return MasterTemplateDefinitionEntity.builder()
+        return MasterTemplateDto.builder()
                 .masterTemplateId(existing.getMasterTemplateId())
-                .templateVersion(version)
                 .templateType(existing.getTemplateType())
                 .lineOfBusiness(existing.getLineOfBusiness())
                 .displayName(request.getDisplayName() != null ? request.getDisplayName() : existing.getDisplayName())
@@ -357,6 +567,13 @@ public class TemplateService {
                 .activeFlag(request.getActiveFlag() != null ? request.getActiveFlag() : existing.getActiveFlag())
                 .sharedDocumentFlag(request.getSharedDocumentFlag() != null ? request.getSharedDocumentFlag() : existing.getSharedDocumentFlag())
                 .sharingScope(request.getSharingScope() != null ? request.getSharingScope() : existing.getSharingScope())
+                .templateVariables(request.getTemplateVariables() != null ? request.getTemplateVariables() : existing.getTemplateVariables())
+                .dataExtractionConfig(request.getDataExtractionConfig() != null ? request.getDataExtractionConfig() : existing.getDataExtractionConfig())
+                .documentMatchingConfig(request.getDocumentMatchingConfig() != null ? request.getDocumentMatchingConfig() : existing.getDocumentMatchingConfig())
+                .eligibilityCriteria(request.getEligibilityCriteria() != null ? request.getEligibilityCriteria() : existing.getEligibilityCriteria())
+                .accessControl(request.getAccessControl() != null ? request.getAccessControl() : existing.getAccessControl())
+                .requiredFields(request.getRequiredFields() != null ? request.getRequiredFields() : existing.getRequiredFields())
+                .templateConfig(request.getTemplateConfig() != null ? request.getTemplateConfig() : existing.getTemplateConfig())
                 .startDate(request.getStartDate() != null ? request.getStartDate() : existing.getStartDate())
                 .endDate(request.getEndDate() != null ? request.getEndDate() : existing.getEndDate())
                 .communicationType(request.getCommunicationType() != null ? request.getCommunicationType() : existing.getCommunicationType())
@@ -367,14 +584,13 @@ public class TemplateService {
                 .createdBy(existing.getCreatedBy())
                 .createdTimestamp(existing.getCreatedTimestamp())
                 .updatedBy(updatedBy)
-                .updatedTimestamp(LocalDateTime.now())
                 .recordStatus(request.getRecordStatus() != null ? request.getRecordStatus() : existing.getRecordStatus())
-                .archiveIndicator(false)
-                .versionNumber((existing.getTemplateVersion() != null ? existing.getTemplateVersion() : 0) + 1L)
+                // A new row: its optimistic-lock version starts over, like a created template
+                .versionNumber(1L)
                 .build();
     }
 
-    private TemplateVendorMappingEntity buildVendorEntity(TemplateVendorCreateRequest request, String createdBy) {
+    static TemplateVendorMappingEntity buildVendorEntity(TemplateVendorCreateRequest request, String createdBy) {
         return TemplateVendorMappingEntity.builder()
                 .templateVendorId(UUID.randomUUID())
                 .masterTemplateId(request.getMasterTemplateId())
@@ -411,43 +627,72 @@ public class TemplateService {
                 .build();
     }
 
-    private TemplateVendorMappingEntity buildUpdatedVendorEntity(
-            TemplateVendorMappingDto existing,
-            TemplateVendorUpdateRequest request,
-            String updatedBy) {
-        return TemplateVendorMappingEntity.builder()
-                .templateVendorId(existing.getTemplateVendorId())
-                .masterTemplateId(existing.getMasterTemplateId())
-                .templateVersion(existing.getTemplateVersion())
-                .vendor(existing.getVendor())
-                .vendorType(existing.getVendorType())
-                .vendorTemplateKey(request.getVendorTemplateKey() != null ? request.getVendorTemplateKey() : existing.getVendorTemplateKey())
-                .vendorTemplateName(request.getVendorTemplateName() != null ? request.getVendorTemplateName() : existing.getVendorTemplateName())
-                .referenceKeyType(request.getReferenceKeyType() != null ? request.getReferenceKeyType() : existing.getReferenceKeyType())
-                .consumerId(request.getConsumerId() != null ? request.getConsumerId() : existing.getConsumerId())
-                .startDate(request.getStartDate() != null ? request.getStartDate() : existing.getStartDate())
-                .endDate(request.getEndDate() != null ? request.getEndDate() : existing.getEndDate())
-                .vendorMappingVersion(existing.getVendorMappingVersion())
-                .primaryFlag(request.getPrimaryFlag() != null ? request.getPrimaryFlag() : existing.getPrimaryFlag())
-                .activeFlag(request.getActiveFlag() != null ? request.getActiveFlag() : existing.getActiveFlag())
-                .templateStatus(request.getTemplateStatus() != null ? request.getTemplateStatus() : existing.getTemplateStatus())
-                .priorityOrder(request.getPriorityOrder() != null ? request.getPriorityOrder() : existing.getPriorityOrder())
-                .vendorStatus(request.getVendorStatus() != null ? request.getVendorStatus() : existing.getVendorStatus())
-                .rateLimitPerMinute(request.getRateLimitPerMinute() != null ? request.getRateLimitPerMinute() : existing.getRateLimitPerMinute())
-                .rateLimitPerDay(request.getRateLimitPerDay() != null ? request.getRateLimitPerDay() : existing.getRateLimitPerDay())
-                .timeoutMs(request.getTimeoutMs() != null ? request.getTimeoutMs() : existing.getTimeoutMs())
-                .maxRetryAttempts(request.getMaxRetryAttempts() != null ? request.getMaxRetryAttempts() : existing.getMaxRetryAttempts())
-                .retryBackoffMs(request.getRetryBackoffMs() != null ? request.getRetryBackoffMs() : existing.getRetryBackoffMs())
-                .costPerUnit(request.getCostPerUnit() != null ? request.getCostPerUnit() : existing.getCostPerUnit())
-                .costUnit(request.getCostUnit() != null ? request.getCostUnit() : existing.getCostUnit())
-                .healthCheckEndpoint(request.getHealthCheckEndpoint() != null ? request.getHealthCheckEndpoint() : existing.getHealthCheckEndpoint())
-                .createdBy(existing.getCreatedBy())
-                .createdTimestamp(existing.getCreatedTimestamp())
-                .updatedBy(updatedBy)
-                .updatedTimestamp(LocalDateTime.now())
-                .recordStatus(existing.getRecordStatus())
-                .archiveIndicator(false)
-                .versionNumber(existing.getVendorMappingVersion() != null ? existing.getVendorMappingVersion() + 1L : 1L)
+    /**
+     * The fields of a template PATCH, keyed by template version; null fields stay unchanged
+     */
+    private static MasterTemplateDto templateChanges(UUID masterTemplateId, Integer templateVersion, TemplateUpdateRequest request) {
+        return MasterTemplateDto.builder()
+                .masterTemplateId(masterTemplateId)
+                .templateVersion(templateVersion)
+                .displayName(request.getDisplayName())
+                .templateName(request.getTemplateName())
+                .templateDescription(request.getTemplateDescription())
+                .templateCategory(request.getTemplateCategory())
+                .languageCode(request.getLanguageCode())
+                .owningDept(request.getOwningDept())
+                .notificationNeeded(request.getNotificationNeeded())
+                .regulatoryFlag(request.getRegulatoryFlag())
+                .messageCenterDocFlag(request.getMessageCenterDocFlag())
+                .activeFlag(request.getActiveFlag())
+                .sharedDocumentFlag(request.getSharedDocumentFlag())
+                .sharingScope(request.getSharingScope())
+                .templateVariables(request.getTemplateVariables())
+                .dataExtractionConfig(request.getDataExtractionConfig())
+                .documentMatchingConfig(request.getDocumentMatchingConfig())
+                .eligibilityCriteria(request.getEligibilityCriteria())
+                .accessControl(request.getAccessControl())
+                .requiredFields(request.getRequiredFields())
+                .templateConfig(request.getTemplateConfig())
+                .startDate(request.getStartDate())
+                .endDate(request.getEndDate())
+                .communicationType(request.getCommunicationType())
+                .workflow(request.getWorkflow())
+                .singleDocumentFlag(request.getSingleDocumentFlag())
+                .recordStatus(request.getRecordStatus())
+                .build();
+    }
+
+    /**
+     * The fields of a vendor mapping PATCH, keyed by mapping id; null fields stay unchanged
+     */
+    private static TemplateVendorMappingDto vendorChanges(UUID vendorId, TemplateVendorUpdateRequest request) {
+        return TemplateVendorMappingDto.builder()
+                .templateVendorId(vendorId)
+                .vendorTemplateKey(request.getVendorTemplateKey())
+                .vendorTemplateName(request.getVendorTemplateName())
+                .referenceKeyType(request.getReferenceKeyType())
+                .consumerId(request.getConsumerId())
+                .startDate(request.getStartDate())
+                .endDate(request.getEndDate())
+                .primaryFlag(request.getPrimaryFlag())
+                .activeFlag(request.getActiveFlag())
+                .templateStatus(request.getTemplateStatus())
+                .priorityOrder(request.getPriorityOrder())
+                .schemaInfo(request.getSchemaInfo())
+                .templateFields(request.getTemplateFields())
+                .vendorConfig(request.getVendorConfig())
+                .apiConfig(request.getApiConfig())
+                .supportedRegions(request.getSupportedRegions())
+                .vendorStatus(request.getVendorStatus())
+                .rateLimitPerMinute(request.getRateLimitPerMinute())
+                .rateLimitPerDay(request.getRateLimitPerDay())
+                .timeoutMs(request.getTimeoutMs())
+                .maxRetryAttempts(request.getMaxRetryAttempts())
+                .retryBackoffMs(request.getRetryBackoffMs())
+                .costPerUnit(request.getCostPerUnit())
+                .costUnit(request.getCostUnit())
+                .supportedFormats(request.getSupportedFormats())
+                .healthCheckEndpoint(request.getHealthCheckEndpoint())
                 .build();
     }
 }
@@ -0,0 +1,131 @@
+package com.templatemanagement.snapshot;
+
+import com.templatemanagement.dto.MasterTemplateDto;
+import com.templatemanagement.dto.TemplateVendorMappingDto;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Immutable, indexed copy of the template catalog (templates, vendor mappings and routing lists).
+ * Routing lists are derived from the vendor mappings using the same rules as the routing query.
+ */
+@Getter
+public final class CatalogSnapshot {
+
+    private static final Comparator<TemplateVendorMappingDto> BY_PRIORITY = Comparator.comparing(
+            TemplateVendorMappingDto::getPriorityOrder, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private static final Comparator<MasterTemplateDto> BY_VERSION_DESC = Comparator.comparing(
+            MasterTemplateDto::getTemplateVersion, Comparator.nullsLast(Comparator.<Integer>reverseOrder()));
+
+    private final Instant createdAt;
+    private final List<MasterTemplateDto> templates;
+    private final List<TemplateVendorMappingDto> vendorMappings;
+    private final List<RoutingList> routingLists;
+
+    @Getter(AccessLevel.NONE)
+    private final Map<String, MasterTemplateDto> templatesByVersion = new HashMap<>();
+    @Getter(AccessLevel.NONE)
+    private final Map<UUID, List<MasterTemplateDto>> templateVersions = new HashMap<>();
+    @Getter(AccessLevel.NONE)
+    private final Map<UUID, TemplateVendorMappingDto> vendorsById = new HashMap<>();
+    @Getter(AccessLevel.NONE)
+    private final Map<String, List<TemplateVendorMappingDto>> vendorsByTemplateVersion = new HashMap<>();
+    @Getter(AccessLevel.NONE)
+    private final Map<String, List<TemplateVendorMappingDto>> routingByKey = new HashMap<>();
+
+    public CatalogSnapshot(Instant createdAt, List<MasterTemplateDto> templates, List<TemplateVendorMappingDto> vendorMappings) {
+        this.createdAt = createdAt;
+        this.templates = Collections.unmodifiableList(new ArrayList<>(templates));
+        this.vendorMappings = Collections.unmodifiableList(new ArrayList<>(vendorMappings));
+
+        for (MasterTemplateDto template : this.templates) {
+            templatesByVersion.put(versionKey(template.getMasterTemplateId(), template.getTemplateVersion()), template);
+            templateVersions.computeIfAbsent(template.getMasterTemplateId(), id -> new ArrayList<>()).add(template);
+        }
+        templateVersions.values().forEach(versions -> versions.sort(BY_VERSION_DESC));
+
+        for (TemplateVendorMappingDto vendor : this.vendorMappings) {
+            vendorsById.put(vendor.getTemplateVendorId(), vendor);
+            vendorsByTemplateVersion
+                    .computeIfAbsent(versionKey(vendor.getMasterTemplateId(), vendor.getTemplateVersion()), key -> new ArrayList<>())
+                    .add(vendor);
+            if (isRoutable(vendor)) {
+                routingByKey
+                        .computeIfAbsent(routingKey(vendor.getMasterTemplateId(), vendor.getTemplateVersion(), vendor.getVendorType()),
+                                key -> new ArrayList<>())
+                        .add(vendor);
+            }
+        }
+        vendorsByTemplateVersion.values().forEach(vendors -> vendors.sort(BY_PRIORITY));
+        routingByKey.values().forEach(vendors -> vendors.sort(BY_PRIORITY));
+
+        List<RoutingList> lists = new ArrayList<>(routingByKey.size());
+        routingByKey.values().forEach(vendors -> {
+            TemplateVendorMappingDto first = vendors.get(0);
+            lists.add(new RoutingList(first.getMasterTemplateId(), first.getTemplateVersion(), first.getVendorType(),
+                    Collections.unmodifiableList(vendors)));
+        });
+        this.routingLists = Collections.unmodifiableList(lists);
+    }
+
+    /**
+     * Age of the snapshot relative to now
+     */
+    public Duration getAge() {
+        return Duration.between(createdAt, Instant.now());
+    }
+
+    public MasterTemplateDto findTemplate(UUID masterTemplateId, Integer templateVersion) {
+        return templatesByVersion.get(versionKey(masterTemplateId, templateVersion));
+    }
+
+    public List<MasterTemplateDto> findTemplateVersions(UUID masterTemplateId) {
+        return templateVersions.getOrDefault(masterTemplateId, List.of());
+    }
+
+    public TemplateVendorMappingDto findVendorMapping(UUID vendorId) {
+        return vendorsById.get(vendorId);
+    }
+
+    public List<TemplateVendorMappingDto> findVendorMappings(UUID masterTemplateId, Integer templateVersion) {
+        return vendorsByTemplateVersion.getOrDefault(versionKey(masterTemplateId, templateVersion), List.of());
+    }
+
+    public List<TemplateVendorMappingDto> findRoutingList(UUID masterTemplateId, Integer templateVersion, String vendorType) {
+        return routingByKey.getOrDefault(routingKey(masterTemplateId, templateVersion, vendorType), List.of());
+    }
+
+    /**
+     * Mirrors the filter of TemplateVendorMappingRepository.findActiveVendorsForRouting
+     */
+    private static boolean isRoutable(TemplateVendorMappingDto vendor) {
+        String status = vendor.getVendorStatus();
+        return Boolean.TRUE.equals(vendor.getActiveFlag())
+                && (status == null || "ACTIVE".equals(status) || "DEGRADED".equals(status));
+    }
+
+    private static String versionKey(UUID masterTemplateId, Integer templateVersion) {
+        return masterTemplateId + ":" + templateVersion;
+    }
+
+    private static String routingKey(UUID masterTemplateId, Integer templateVersion, String vendorType) {
+        return masterTemplateId + ":" + templateVersion + ":" + vendorType;
+    }
+
+    /**
+     * Active vendors for one template version and vendor type, in priority order
+     */
+    public record RoutingList(UUID masterTemplateId, Integer templateVersion, String vendorType,
+                              List<TemplateVendorMappingDto> vendors) {}
+}
@@ -0,0 +1,115 @@
+package com.templatemanagement.snapshot;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import com.templatemanagement.dto.MasterTemplateDto;
+import com.templatemanagement.dto.TemplateVendorMappingDto;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Binary encoding of a {@link CatalogSnapshot}.
+ *
+ * <pre>
+ * int   magic ("TMCS")
+ * short format version
+ * long  created-at epoch millis
+ * long  CRC32 of the body
+ * body: [int length, templates JSON array] [int length, vendor mappings JSON array]
+ * </pre>
+ *
+ * Files are written to a temporary sibling and atomically moved into place, and read
+ * through a read-only memory mapping so sections are parsed without an intermediate copy.
+ */
+final class CatalogSnapshotCodec {
+
+    private static final int MAGIC = 0x544D4353;
+    private static final short FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = Integer.BYTES + Short.BYTES + Long.BYTES + Long.BYTES;
+
+    private static final TypeReference<List<MasterTemplateDto>> TEMPLATE_LIST = new TypeReference<>() {};
+    private static final TypeReference<List<TemplateVendorMappingDto>> VENDOR_LIST = new TypeReference<>() {};
+
+    private CatalogSnapshotCodec() {
+    }
+
+    static void write(Path path, CatalogSnapshot snapshot, ObjectMapper objectMapper) throws IOException {
+        byte[] templates = objectMapper.writeValueAsBytes(snapshot.getTemplates());
+        byte[] vendors = objectMapper.writeValueAsBytes(snapshot.getVendorMappings());
+
+        ByteBuffer body = ByteBuffer.allocate(Integer.BYTES + templates.length + Integer.BYTES + vendors.length);
+        body.putInt(templates.length).put(templates).putInt(vendors.length).put(vendors).flip();
+
+        CRC32 crc = new CRC32();
+        crc.update(body.duplicate());
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(MAGIC)
+                .putShort(FORMAT_VERSION)
+                .putLong(snapshot.getCreatedAt().toEpochMilli())
+                .putLong(crc.getValue())
+                .flip();
+
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (header.hasRemaining()) {
+                channel.write(header);
+            }
+            while (body.hasRemaining()) {
+                channel.write(body);
+            }
+            channel.force(true);
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static CatalogSnapshot read(Path path, ObjectMapper objectMapper) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC) {
+                throw new IOException("Not a catalog snapshot: " + path);
+            }
+            short version = buffer.getShort();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported catalog snapshot version " + version + ": " + path);
+            }
+            Instant createdAt = Instant.ofEpochMilli(buffer.getLong());
+            long expectedCrc = buffer.getLong();
+
+            ByteBuffer body = buffer.slice();
+            CRC32 crc = new CRC32();
+            crc.update(body.duplicate());
+            if (crc.getValue() != expectedCrc) {
+                throw new IOException("Catalog snapshot checksum mismatch: " + path);
+            }
+
+            List<MasterTemplateDto> templates = readSection(body, objectMapper, TEMPLATE_LIST);
+            List<TemplateVendorMappingDto> vendors = readSection(body, objectMapper, VENDOR_LIST);
+            return new CatalogSnapshot(createdAt, templates, vendors);
+        }
+    }
+
+    private static <T> List<T> readSection(ByteBuffer body, ObjectMapper objectMapper, TypeReference<List<T>> type)
+            throws IOException {
+        int length = body.getInt();
+        ByteBuffer section = body.slice(body.position(), length);
+        body.position(body.position() + length);
+        return objectMapper.readValue(new ByteBufferBackedInputStream(section), type);
+    }
+}
@@ -0,0 +1,32 @@
+package com.templatemanagement.snapshot;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the age and size of the catalog snapshot under /actuator/health.
+ * The snapshot is a fallback only, so a missing snapshot reports UNKNOWN rather than DOWN.
+ */
+@Component("catalogSnapshot")
+@RequiredArgsConstructor
+public class CatalogSnapshotHealthIndicator implements HealthIndicator {
+
+    private final CatalogSnapshotHolder snapshotHolder;
+
+    @Override
+    public Health health() {
+        return snapshotHolder.getSnapshot()
+                .map(snapshot -> Health.up()
+                        .withDetail("createdAt", snapshot.getCreatedAt().toString())
+                        .withDetail("ageSeconds", snapshot.getAge().getSeconds())
+                        .withDetail("templates", snapshot.getTemplates().size())
+                        .withDetail("vendorMappings", snapshot.getVendorMappings().size())
+                        .withDetail("fallbackReads", snapshotHolder.getFallbackReads())
+                        .build())
+                .orElseGet(() -> Health.unknown()
+                        .withDetail("available", false)
+                        .build());
+    }
+}
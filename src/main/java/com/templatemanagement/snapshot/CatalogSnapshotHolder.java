@@ -0,0 +1,107 @@
+package com.templatemanagement.snapshot;
+
+import com.templatemanagement.metrics.ResponseSource;
+import com.templatemanagement.tracing.ReactiveTracing;
+import io.r2dbc.spi.R2dbcNonTransientResourceException;
+import io.r2dbc.spi.R2dbcTimeoutException;
+import io.r2dbc.spi.R2dbcTransientResourceException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Holds the most recent catalog snapshot and serves read-only fallbacks from it
+ * while the database is unreachable.
+ */
+@Slf4j
+@Component
+public class CatalogSnapshotHolder {
+
+    private final AtomicReference<CatalogSnapshot> current = new AtomicReference<>();
+    private final AtomicLong fallbackReads = new AtomicLong();
+
+    public Optional<CatalogSnapshot> getSnapshot() {
+        return Optional.ofNullable(current.get());
+    }
+
+    public void update(CatalogSnapshot snapshot) {
+        current.set(snapshot);
+    }
+
+    /**
+     * Number of reads served from the snapshot because the database was unavailable
+     */
+    public long getFallbackReads() {
+        return fallbackReads.get();
+    }
+
+    /**
+     * Resolve a single value from the snapshot, or re-emit the original error when no snapshot is loaded
+     */
+    public <T> Mono<T> fallbackMono(Throwable error, Function<CatalogSnapshot, T> lookup) {
+        CatalogSnapshot snapshot = current.get();
+        if (snapshot == null) {
+            return Mono.error(error);
+        }
+        recordFallback(snapshot, error);
+        return Mono.deferContextual(context -> {
+            ResponseSource.snapshotRead(context);
+            ReactiveTracing.setAttribute(context, "snapshot.fallback", true);
+            return Mono.justOrEmpty(lookup.apply(snapshot));
+        });
+    }
+
+    /**
+     * Resolve a list from the snapshot, or re-emit the original error when no snapshot is loaded
+     */
+    public <T> Flux<T> fallbackFlux(Throwable error, Function<CatalogSnapshot, List<T>> lookup) {
+        CatalogSnapshot snapshot = current.get();
+        if (snapshot == null) {
+            return Flux.error(error);
+        }
+        recordFallback(snapshot, error);
+        return Flux.deferContextual(context -> {
+            ResponseSource.snapshotRead(context);
+            ReactiveTracing.setAttribute(context, "snapshot.fallback", true);
+            return Flux.fromIterable(lookup.apply(snapshot));
+        });
+    }
+
+    /**
+     * Whether the error means the database could not be reached, as opposed to a query or data error
+     */
+    public static boolean isDatabaseUnavailable(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof DataAccessResourceFailureException
+                    || t instanceof QueryTimeoutException
+                    || t instanceof R2dbcNonTransientResourceException
+                    || t instanceof R2dbcTransientResourceException
+                    || t instanceof R2dbcTimeoutException
+                    || t instanceof ConnectException
+                    || t instanceof TimeoutException) {
+                return true;
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    private void recordFallback(CatalogSnapshot snapshot, Throwable error) {
+        fallbackReads.incrementAndGet();
+        log.warn("Database unavailable, serving from catalog snapshot: createdAt={}, error={}",
+                snapshot.getCreatedAt(), error.getMessage());
+    }
+}
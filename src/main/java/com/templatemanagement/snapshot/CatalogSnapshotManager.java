@@ -0,0 +1,112 @@
+package com.templatemanagement.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.templatemanagement.dao.MasterTemplateDao;
+import com.templatemanagement.dao.TemplateVendorMappingDao;
+import com.templatemanagement.tracing.ReactiveTracing;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Periodically persists the catalog to a local snapshot file and loads it at boot.
+ * A loaded snapshot backs read-only fallbacks while PostgreSQL is unreachable; the DAO caches
+ * fill from the database as usual. Pre-populating the caches from it is opt-in and bounded by
+ * catalog.snapshot.warm-max-age-minutes, since a warmed entry is served until the cache expires
+ * it even when the database has a newer row.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "catalog.snapshot.enabled", havingValue = "true", matchIfMissing = true)
+public class CatalogSnapshotManager {
+
+    private static final Duration WRITE_TIMEOUT = Duration.ofMinutes(2);
+
+    private final MasterTemplateDao templateDao;
+    private final TemplateVendorMappingDao vendorDao;
+    private final CatalogSnapshotHolder snapshotHolder;
+    private final ObjectMapper objectMapper;
+    private final Path snapshotPath;
+    private final Duration warmMaxAge;
+
+    public CatalogSnapshotManager(
+            MasterTemplateDao templateDao,
+            TemplateVendorMappingDao vendorDao,
+            CatalogSnapshotHolder snapshotHolder,
+            ObjectMapper objectMapper,
+            @Value("${catalog.snapshot.path:data/catalog-snapshot.bin}") String snapshotPath,
+            @Value("${catalog.snapshot.warm-max-age-minutes:0}") long warmMaxAgeMinutes) {
+        this.templateDao = templateDao;
+        this.vendorDao = vendorDao;
+        this.snapshotHolder = snapshotHolder;
+        this.objectMapper = objectMapper;
+        this.snapshotPath = Paths.get(snapshotPath);
+        this.warmMaxAge = Duration.ofMinutes(warmMaxAgeMinutes);
+    }
+
+    /**
+     * Load the snapshot file, if any, as the read fallback; warm the caches only when warm-up is
+     * enabled and the snapshot is recent enough
+     */
+    @PostConstruct
+    public void loadSnapshot() {
+        if (!Files.isRegularFile(snapshotPath)) {
+            log.info("No catalog snapshot found: path={}", snapshotPath);
+            return;
+        }
+        try {
+            CatalogSnapshot snapshot = CatalogSnapshotCodec.read(snapshotPath, objectMapper);
+            snapshotHolder.update(snapshot);
+            log.info("Catalog snapshot loaded: path={}, createdAt={}, templates={}, vendorMappings={}",
+                    snapshotPath, snapshot.getCreatedAt(), snapshot.getTemplates().size(), snapshot.getVendorMappings().size());
+
+            if (warmMaxAge.isZero()) {
+                log.debug("Catalog snapshot cache warm-up disabled");
+            } else if (snapshot.getAge().compareTo(warmMaxAge) <= 0) {
+                templateDao.warmCache(snapshot.getTemplates());
+                vendorDao.warmCache(snapshot.getVendorMappings(), snapshot.getRoutingLists());
+            } else {
+                log.info("Catalog snapshot older than {}, skipping cache warm-up", warmMaxAge);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to load catalog snapshot: path={}, error={}", snapshotPath, e.getMessage());
+        }
+    }
+
+    /**
+     * Read the full catalog from the database and replace the snapshot file.
+     * On failure the previous snapshot is kept.
+     */
+    @Scheduled(initialDelayString = "${catalog.snapshot.initial-delay-ms:60000}",
+            fixedDelayString = "${catalog.snapshot.interval-ms:300000}")
+    public void writeSnapshot() {
+        try {
+            CatalogSnapshot snapshot = Mono.zip(
+                            templateDao.findAllForSnapshot().collectList(),
+                            vendorDao.findAllForSnapshot().collectList())
+                    .map(catalog -> new CatalogSnapshot(Instant.now(), catalog.getT1(), catalog.getT2()))
+                    .contextWrite(ReactiveTracing::suppress)
+                    .block(WRITE_TIMEOUT);
+            if (snapshot == null) {
+                return;
+            }
+            CatalogSnapshotCodec.write(snapshotPath, snapshot, objectMapper);
+            snapshotHolder.update(snapshot);
+            log.info("Catalog snapshot written: path={}, templates={}, vendorMappings={}",
+                    snapshotPath, snapshot.getTemplates().size(), snapshot.getVendorMappings().size());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to write catalog snapshot, keeping previous: path={}, error={}", snapshotPath, e.getMessage());
+        }
+    }
+}
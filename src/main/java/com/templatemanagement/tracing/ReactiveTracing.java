@@ -0,0 +1,116 @@
+package com.templatemanagement.tracing;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+import reactor.util.context.ContextView;
+
+/**
+ * Creates OpenTelemetry spans around Mono/Flux pipelines. The active span context travels in the
+ * Reactor Context (not a ThreadLocal), so child spans are parented correctly across thread hops.
+ */
+public class ReactiveTracing {
+
+    public static final String CONTEXT_KEY = ReactiveTracing.class.getName() + ".context";
+    private static final String SUPPRESS_KEY = ReactiveTracing.class.getName() + ".suppress";
+
+    private final Tracer tracer;
+
+    public ReactiveTracing(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    public Tracer getTracer() {
+        return tracer;
+    }
+
+    /**
+     * Record no spans for the pipeline this context is written to; for background work such as
+     * pollers and scheduled exports, which would otherwise start a root trace on every run
+     */
+    public static reactor.util.context.Context suppress(reactor.util.context.Context context) {
+        return context.put(SUPPRESS_KEY, Boolean.TRUE);
+    }
+
+    /**
+     * Run the Mono inside a span that starts on subscription and ends on termination or cancel
+     */
+    public <T> Mono<T> mono(String spanName, SpanKind kind, Attributes attributes, Mono<T> mono) {
+        return Mono.deferContextual(context -> {
+            if (context.hasKey(SUPPRESS_KEY)) {
+                return mono;
+            }
+            Context parent = parentOf(context);
+            Span span = startSpan(spanName, kind, attributes, parent);
+            return mono
+                    .doOnError(error -> recordError(span, error))
+                    .doFinally(signal -> end(span, signal))
+                    .contextWrite(ctx -> ctx.put(CONTEXT_KEY, parent.with(span)));
+        });
+    }
+
+    /**
+     * Run the Flux inside a span that starts on subscription and ends on termination or cancel
+     */
+    public <T> Flux<T> flux(String spanName, SpanKind kind, Attributes attributes, Flux<T> flux) {
+        return Flux.deferContextual(context -> {
+            if (context.hasKey(SUPPRESS_KEY)) {
+                return flux;
+            }
+            Context parent = parentOf(context);
+            Span span = startSpan(spanName, kind, attributes, parent);
+            return flux
+                    .doOnError(error -> recordError(span, error))
+                    .doFinally(signal -> end(span, signal))
+                    .contextWrite(ctx -> ctx.put(CONTEXT_KEY, parent.with(span)));
+        });
+    }
+
+    /**
+     * Set an attribute on the span active in the given Reactor Context, if any
+     */
+    public static void setAttribute(ContextView context, String key, boolean value) {
+        context.<Context>getOrEmpty(CONTEXT_KEY)
+                .map(Span::fromContext)
+                .ifPresent(span -> span.setAttribute(key, value));
+    }
+
+    /**
+     * Set an attribute on the span active in the given Reactor Context, if any
+     */
+    public static void setAttribute(ContextView context, String key, String value) {
+        context.<Context>getOrEmpty(CONTEXT_KEY)
+                .map(Span::fromContext)
+                .ifPresent(span -> span.setAttribute(key, value));
+    }
+
+    static Context parentOf(ContextView context) {
+        return context.getOrDefault(CONTEXT_KEY, Context.root());
+    }
+
+    static void recordError(Span span, Throwable error) {
+        span.recordException(error);
+        span.setStatus(StatusCode.ERROR, error.getClass().getSimpleName());
+    }
+
+    static void end(Span span, SignalType signal) {
+        if (signal == SignalType.CANCEL) {
+            span.setAttribute("cancelled", true);
+        }
+        span.end();
+    }
+
+    private Span startSpan(String spanName, SpanKind kind, Attributes attributes, Context parent) {
+        return tracer.spanBuilder(spanName)
+                .setParent(parent)
+                .setSpanKind(kind)
+                .setAllAttributes(attributes)
+                .startSpan();
+    }
+}
@@ -0,0 +1,71 @@
+package com.templatemanagement.tracing;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.SpanKind;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps reactive methods of one bean in a span named {@code <Class>.<method>}, tagged with the
+ * application layer (processor, service, dao, repository). Non-reactive methods are passed through.
+ */
+public class TracingInterceptor implements MethodInterceptor {
+
+    private final ObjectProvider<ReactiveTracing> tracingProvider;
+    private final String layer;
+    private final String className;
+    private final SpanKind kind;
+    private final Map<Method, Attributes> attributesByMethod = new ConcurrentHashMap<>();
+
+    public TracingInterceptor(ObjectProvider<ReactiveTracing> tracingProvider, String layer, Class<?> type, SpanKind kind) {
+        this.tracingProvider = tracingProvider;
+        this.layer = layer;
+        this.className = type.getSimpleName();
+        this.kind = kind;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        if (!(result instanceof Mono) && !(result instanceof Flux)) {
+            return result;
+        }
+        ReactiveTracing tracing = tracingProvider.getIfAvailable();
+        if (tracing == null) {
+            return result;
+        }
+
+        Method method = invocation.getMethod();
+        String spanName = className + "." + method.getName();
+        Attributes attributes = attributesByMethod.computeIfAbsent(method, m -> attributes(m.getName()));
+
+        if (result instanceof Mono<?> mono) {
+            return tracing.mono(spanName, kind, attributes, mono);
+        }
+        return tracing.flux(spanName, kind, attributes, (Flux<?>) result);
+    }
+
+    private Attributes attributes(String methodName) {
+        if (kind == SpanKind.CLIENT) {
+            return Attributes.builder()
+                    .put("layer", layer)
+                    .put("code.namespace", className)
+                    .put("code.function", methodName)
+                    .put("db.system", "postgresql")
+                    .put("db.operation", methodName)
+                    .build();
+        }
+        return Attributes.builder()
+                .put("layer", layer)
+                .put("code.namespace", className)
+                .put("code.function", methodName)
+                .build();
+    }
+}
@@ -0,0 +1,71 @@
+package com.templatemanagement.tracing;
+
+import io.opentelemetry.api.trace.SpanKind;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Adds {@link TracingInterceptor} to the processor, service and DAO beans and to every
+ * Spring Data repository proxy. Beans that are already proxied (e.g. @Transactional services)
+ * get the interceptor as their outermost advice so the span also covers the transaction.
+ */
+public class TracingPostProcessor implements BeanPostProcessor {
+
+    private static final String BASE_PACKAGE = "com.templatemanagement.";
+
+    private final ObjectProvider<ReactiveTracing> tracingProvider;
+
+    public TracingPostProcessor(ObjectProvider<ReactiveTracing> tracingProvider) {
+        this.tracingProvider = tracingProvider;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                    (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(0, new TracingInterceptor(
+                            tracingProvider, "repository", repositoryInformation.getRepositoryInterface(), SpanKind.CLIENT))));
+        }
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        Class<?> targetClass = AopUtils.getTargetClass(bean);
+        String layer = layerOf(targetClass);
+        if (layer == null) {
+            return bean;
+        }
+
+        TracingInterceptor interceptor = new TracingInterceptor(tracingProvider, layer, targetClass, SpanKind.INTERNAL);
+        if (bean instanceof Advised advised && !advised.isFrozen()) {
+            advised.addAdvice(0, interceptor);
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(interceptor);
+        return proxyFactory.getProxy(targetClass.getClassLoader());
+    }
+
+    private static String layerOf(Class<?> type) {
+        if (!type.getName().startsWith(BASE_PACKAGE)) {
+            return null;
+        }
+        String name = type.getSimpleName();
+        if (name.endsWith("Processor") && !name.endsWith("PostProcessor")) {
+            return "processor";
+        }
+        if (name.endsWith("Service")) {
+            return "service";
+        }
+        if (name.endsWith("Dao")) {
+            return "dao";
+        }
+        return null;
+    }
+}
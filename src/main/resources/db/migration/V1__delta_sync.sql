@@ -0,0 +1,43 @@
+-- Delta sync (GET /api/v1/templates/changes and /changes/vendors).
+-- Run once against the document_hub schema, as the schema owner. Idempotent.
+
+-- 1. Rows written before updated_timestamp was maintained would never be returned: backfill them,
+--    then forbid NULL. Runs before the trigger exists so the backfill keeps the original times.
+UPDATE document_hub.master_template_definition
+   SET updated_timestamp = COALESCE(created_timestamp, TIMESTAMP '1970-01-01 00:00:00')
+ WHERE updated_timestamp IS NULL;
+UPDATE document_hub.template_vendor_mapping
+   SET updated_timestamp = COALESCE(created_timestamp, TIMESTAMP '1970-01-01 00:00:00')
+ WHERE updated_timestamp IS NULL;
+ALTER TABLE document_hub.master_template_definition ALTER COLUMN updated_timestamp SET NOT NULL;
+ALTER TABLE document_hub.template_vendor_mapping ALTER COLUMN updated_timestamp SET NOT NULL;
+
+-- 2. One clock: every insert and update is stamped by the database, whatever the writer sent, so
+--    watermarks never mix application and database clocks. clock_timestamp() rather than now():
+--    rows written later in a transaction sort after earlier ones.
+CREATE OR REPLACE FUNCTION document_hub.stamp_updated_timestamp() RETURNS trigger AS $$
+BEGIN
+    NEW.updated_timestamp := clock_timestamp()::timestamp;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_mtd_updated_timestamp ON document_hub.master_template_definition;
+CREATE TRIGGER trg_mtd_updated_timestamp
+    BEFORE INSERT OR UPDATE ON document_hub.master_template_definition
+    FOR EACH ROW EXECUTE FUNCTION document_hub.stamp_updated_timestamp();
+
+DROP TRIGGER IF EXISTS trg_tvm_updated_timestamp ON document_hub.template_vendor_mapping;
+CREATE TRIGGER trg_tvm_updated_timestamp
+    BEFORE INSERT OR UPDATE ON document_hub.template_vendor_mapping
+    FOR EACH ROW EXECUTE FUNCTION document_hub.stamp_updated_timestamp();
+
+-- 3. Keyset indexes for the delta pages
+CREATE INDEX IF NOT EXISTS idx_mtd_updated
+    ON document_hub.master_template_definition (updated_timestamp, master_template_id, template_version);
+CREATE INDEX IF NOT EXISTS idx_tvm_updated
+    ON document_hub.template_vendor_mapping (updated_timestamp, template_vendor_id);
+
+-- The delta query caps its cutoff at the oldest open write transaction (pg_stat_activity). Grant the
+-- service's role pg_read_all_stats if it does not share a role with the other writers:
+-- GRANT pg_read_all_stats TO <service role>;
@@ -0,0 +1,17 @@
+-- Backstops for the conditional creates (INSERT ... ON CONFLICT DO NOTHING): without them a
+-- concurrent create of the same template type or vendor mapping inserts a duplicate live row.
+-- Run once against the document_hub schema, as the schema owner. Idempotent.
+--
+-- The index build fails if live duplicates already exist. Find them first:
+--   SELECT template_type, template_version, COUNT(*) FROM document_hub.master_template_definition
+--    WHERE archive_indicator = false GROUP BY 1, 2 HAVING COUNT(*) > 1;
+--   SELECT master_template_id, template_version, vendor, vendor_type, COUNT(*) FROM document_hub.template_vendor_mapping
+--    WHERE archive_indicator = false GROUP BY 1, 2, 3, 4 HAVING COUNT(*) > 1;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_mtd_live_type_version
+    ON document_hub.master_template_definition (template_type, template_version)
+    WHERE archive_indicator = false;
+
+CREATE UNIQUE INDEX IF NOT EXISTS uq_tvm_live_vendor
+    ON document_hub.template_vendor_mapping (master_template_id, template_version, vendor, vendor_type)
+    WHERE archive_indicator = false;
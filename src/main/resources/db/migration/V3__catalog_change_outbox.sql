@@ -0,0 +1,17 @@
+-- Change outbox: appended in the same transaction as each catalog write, relayed to change stream
+-- subscribers. Run once against the document_hub schema, as the schema owner. Idempotent.
+
+CREATE TABLE IF NOT EXISTS document_hub.catalog_change_outbox (
+    sequence_number    BIGSERIAL    PRIMARY KEY,
+    change_type        VARCHAR(50)  NOT NULL,
+    master_template_id UUID,
+    template_version   INTEGER,
+    template_vendor_id UUID,
+    line_of_business   VARCHAR(100),
+    vendor             VARCHAR(100),
+    vendor_type        VARCHAR(50),
+    changed_by         VARCHAR(100),
+    changed_at         TIMESTAMP    NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX IF NOT EXISTS idx_cco_changed_at ON document_hub.catalog_change_outbox (changed_at);
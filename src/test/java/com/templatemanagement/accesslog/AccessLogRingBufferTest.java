@@ -0,0 +1,70 @@
+package com.templatemanagement.accesslog;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AccessLogRingBuffer Tests")
+class AccessLogRingBufferTest {
+
+    @Test
+    @DisplayName("Should reject offers when full and accept again after draining")
+    void offer_FullBuffer() {
+        AccessLogRingBuffer<Integer> buffer = new AccessLogRingBuffer<>(4);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+        assertThat(buffer.offer(4)).isFalse();
+
+        List<Integer> drained = new ArrayList<>();
+        assertThat(buffer.drain(drained::add, 2)).isEqualTo(2);
+        assertThat(drained).containsExactly(0, 1);
+        assertThat(buffer.offer(5)).isTrue();
+
+        buffer.drain(drained::add, 10);
+        assertThat(drained).containsExactly(0, 1, 2, 3, 5);
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should not lose or duplicate events across concurrent producers")
+    void offer_ConcurrentProducers() throws InterruptedException {
+        AccessLogRingBuffer<Integer> buffer = new AccessLogRingBuffer<>(64);
+        int producers = 4;
+        int perProducer = 10_000;
+        AtomicInteger accepted = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(producers);
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+
+        for (int p = 0; p < producers; p++) {
+            executor.submit(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    if (buffer.offer(i)) {
+                        accepted.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            });
+        }
+
+        AtomicInteger consumed = new AtomicInteger();
+        while (done.getCount() > 0) {
+            buffer.drain(e -> consumed.incrementAndGet(), 64);
+        }
+        buffer.drain(e -> consumed.incrementAndGet(), Integer.MAX_VALUE);
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(consumed.get()).isEqualTo(accepted.get());
+    }
+}
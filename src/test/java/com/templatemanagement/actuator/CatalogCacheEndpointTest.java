@@ -0,0 +1,54 @@
+package com.templatemanagement.actuator;
+
+import com.templatemanagement.dao.CatalogCaches;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CatalogCacheEndpoint Tests")
+class CatalogCacheEndpointTest {
+
+    @Mock
+    private CatalogCaches catalogCaches;
+
+    private CatalogCacheEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        endpoint = new CatalogCacheEndpoint(catalogCaches);
+    }
+
+    @Test
+    @DisplayName("Should invalidate every entry of a template")
+    void invalidateTemplate_Success() {
+        UUID templateId = UUID.randomUUID();
+        when(catalogCaches.getCaches()).thenReturn(Map.of());
+
+        endpoint.invalidateTemplate(templateId.toString());
+
+        verify(catalogCaches).invalidateTemplate(templateId);
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed templateId as a bad request")
+    void invalidateTemplate_MalformedId() {
+        assertThatThrownBy(() -> endpoint.invalidateTemplate("not-a-uuid"))
+                .isInstanceOf(InvalidEndpointRequestException.class);
+
+        verify(catalogCaches, never()).invalidateTemplate(any());
+    }
+}
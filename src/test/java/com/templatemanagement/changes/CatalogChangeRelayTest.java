@@ -0,0 +1,137 @@
+package com.templatemanagement.changes;
+
+import com.templatemanagement.dao.CatalogChangeOutboxDao;
+import com.templatemanagement.dto.CatalogChangeEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CatalogChangeRelay Tests")
+class CatalogChangeRelayTest {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @Mock
+    private CatalogChangeOutboxDao outboxDao;
+
+    @Test
+    @DisplayName("Should hold back at a sequence gap until the gap timeout")
+    void poll_HoldsAtGap() {
+        CatalogChangeRelay relay = relay(60_000);
+        when(outboxDao.findMaxSequence()).thenReturn(Mono.just(0L));
+        when(outboxDao.findAfter(0L, Long.MAX_VALUE, BATCH_SIZE)).thenReturn(Flux.just(event(1), event(3)));
+        when(outboxDao.findAfter(1L, Long.MAX_VALUE, BATCH_SIZE)).thenReturn(Flux.just(event(3)));
+        relay.poll().block();
+
+        StepVerifier.create(relay.changes(null, CatalogChangeFilter.ALL))
+                .then(() -> relay.poll().block())
+                .assertNext(event -> assertThat(event.getSequenceNumber()).isEqualTo(1))
+                .then(() -> relay.poll().block())
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should skip a sequence gap once the gap timeout has passed")
+    void poll_SkipsExpiredGap() {
+        CatalogChangeRelay relay = relay(0);
+        when(outboxDao.findMaxSequence()).thenReturn(Mono.just(0L));
+        when(outboxDao.findAfter(0L, Long.MAX_VALUE, BATCH_SIZE)).thenReturn(Flux.just(event(1), event(3)));
+        when(outboxDao.findAfter(1L, 2L, BATCH_SIZE)).thenReturn(Flux.empty());
+        relay.poll().block();
+
+        StepVerifier.create(relay.changes(null, CatalogChangeFilter.ALL))
+                .then(() -> relay.poll().block())
+                .assertNext(event -> assertThat(event.getSequenceNumber()).isEqualTo(1))
+                .assertNext(event -> assertThat(event.getSequenceNumber()).isEqualTo(3))
+                .thenCancel()
+                .verify();
+        assertThat(registry.get("catalog.changes.gaps.skipped").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should reset live subscribers when a skipped sequence number commits late")
+    void poll_LateEventInSkippedGap() {
+        CatalogChangeRelay relay = relay(0);
+        when(outboxDao.findMaxSequence()).thenReturn(Mono.just(0L));
+        when(outboxDao.findAfter(0L, Long.MAX_VALUE, BATCH_SIZE)).thenReturn(Flux.just(event(1), event(3)));
+        when(outboxDao.findAfter(3L, Long.MAX_VALUE, BATCH_SIZE)).thenReturn(Flux.empty());
+        when(outboxDao.findAfter(1L, 2L, BATCH_SIZE)).thenReturn(Flux.empty(), Flux.just(event(2)));
+        relay.poll().block();
+
+        StepVerifier.create(relay.changes(null, CatalogChangeFilter.ALL))
+                .then(() -> relay.poll().block())
+                .assertNext(event -> assertThat(event.getSequenceNumber()).isEqualTo(1))
+                .assertNext(event -> assertThat(event.getSequenceNumber()).isEqualTo(3))
+                .then(() -> relay.poll().block())
+                .assertNext(event -> {
+                    assertThat(event.getChangeType()).isEqualTo(CatalogChangeEvent.ChangeType.RESET);
+                    assertThat(event.getSequenceNumber()).isEqualTo(3);
+                })
+                .thenCancel()
+                .verify();
+        assertThat(registry.get("catalog.changes.gaps.late").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should replay retained changes after the resume point")
+    void changes_ResumesFromOutbox() {
+        CatalogChangeRelay relay = relay(5_000);
+        when(outboxDao.findMaxSequence()).thenReturn(Mono.just(3L));
+        when(outboxDao.findMinSequence()).thenReturn(Mono.just(1L));
+        when(outboxDao.findAfter(1L, 3L, BATCH_SIZE)).thenReturn(Flux.just(event(2), event(3)));
+        relay.poll().block();
+
+        StepVerifier.create(relay.changes(1L, CatalogChangeFilter.ALL))
+                .assertNext(event -> assertThat(event.getSequenceNumber()).isEqualTo(2))
+                .assertNext(event -> assertThat(event.getSequenceNumber()).isEqualTo(3))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    @DisplayName("Should emit RESET when the resume point has been purged")
+    void changes_PurgedResumePoint() {
+        CatalogChangeRelay relay = relay(5_000);
+        when(outboxDao.findMaxSequence()).thenReturn(Mono.just(5L));
+        when(outboxDao.findMinSequence()).thenReturn(Mono.just(5L));
+        when(outboxDao.findAfter(1L, 5L, BATCH_SIZE)).thenReturn(Flux.just(event(5)));
+        relay.poll().block();
+
+        StepVerifier.create(relay.changes(1L, CatalogChangeFilter.ALL))
+                .assertNext(event -> {
+                    assertThat(event.getChangeType()).isEqualTo(CatalogChangeEvent.ChangeType.RESET);
+                    assertThat(event.getSequenceNumber()).isEqualTo(4);
+                })
+                .assertNext(event -> assertThat(event.getSequenceNumber()).isEqualTo(5))
+                .thenCancel()
+                .verify();
+    }
+
+    private CatalogChangeRelay relay(long gapTimeoutMs) {
+        return new CatalogChangeRelay(outboxDao, registry, 500, BATCH_SIZE, gapTimeoutMs, 300_000, 16, 168);
+    }
+
+    private static CatalogChangeEvent event(long sequenceNumber) {
+        return CatalogChangeEvent.builder()
+                .sequenceNumber(sequenceNumber)
+                .changeType(CatalogChangeEvent.ChangeType.TEMPLATE_UPDATED)
+                .build();
+    }
+}
@@ -0,0 +1,40 @@
+package com.templatemanagement.changes;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CatalogWatermark Tests")
+class CatalogWatermarkTest {
+
+    @Test
+    @DisplayName("Should round-trip a watermark with microsecond precision")
+    void encode_RoundTrip() {
+        CatalogWatermark watermark = new CatalogWatermark(
+                LocalDateTime.of(2026, 10, 18, 9, 30, 15, 123_456_000), UUID.randomUUID(), 3);
+
+        assertThat(CatalogWatermark.parse(watermark.encode())).isEqualTo(watermark);
+    }
+
+    @Test
+    @DisplayName("Should start from the beginning without a watermark")
+    void parse_Blank() {
+        assertThat(CatalogWatermark.parse(null)).isEqualTo(CatalogWatermark.INITIAL);
+        assertThat(CatalogWatermark.parse(" ")).isEqualTo(CatalogWatermark.INITIAL);
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed watermark")
+    void parse_Malformed() {
+        assertThatThrownBy(() -> CatalogWatermark.parse("12345:not-a-uuid:1"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Invalid watermark");
+        assertThatThrownBy(() -> CatalogWatermark.parse("12345"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
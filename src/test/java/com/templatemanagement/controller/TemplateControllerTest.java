@@ -8,6 +8,7 @@ import com.templatemanagement.dto.response.TemplatePageResponse;
 import com.templatemanagement.dto.response.TemplateResponse;
 import com.templatemanagement.exception.ConflictException;
 import com.templatemanagement.exception.GlobalExceptionHandler;
+import com.templatemanagement.exception.PreconditionFailedException;
 import com.templatemanagement.exception.ResourceNotFoundException;
 import com.templatemanagement.processor.TemplateManagementProcessor;
 import org.junit.jupiter.api.BeforeEach;
@@ -26,6 +27,8 @@ import java.util.List;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -76,7 +79,7 @@ class TemplateControllerTest {
 
             TemplateResponse response = TemplateResponse.of(sampleTemplate);
 
-            when(processor.processCreateTemplate(any(), anyString(), anyString()))
+            when(processor.processCreateTemplate(any(), anyString()))
                     .thenReturn(Mono.just(response));
 
             webTestClient.post()
@@ -102,7 +105,7 @@ class TemplateControllerTest {
                     .startDate(System.currentTimeMillis())
                     .build();
 
-            when(processor.processCreateTemplate(any(), anyString(), anyString()))
+            when(processor.processCreateTemplate(any(), anyString()))
                     .thenReturn(Mono.error(new ConflictException("Template already exists")));
 
             webTestClient.post()
@@ -128,7 +131,7 @@ class TemplateControllerTest {
             PaginationResponse pagination = PaginationResponse.of(0, 20, 1);
             TemplatePageResponse response = TemplatePageResponse.of(List.of(sampleTemplate), pagination);
 
-            when(processor.processListTemplates(any(), any(), any(), any(), anyInt(), anyInt(), anyString()))
+            when(processor.processListTemplates(any(), any(), any(), any(), anyInt(), anyInt()))
                     .thenReturn(Mono.just(response));
 
             webTestClient.get()
@@ -152,7 +155,7 @@ class TemplateControllerTest {
             PaginationResponse pagination = PaginationResponse.of(0, 20, 1);
             TemplatePageResponse response = TemplatePageResponse.of(List.of(sampleTemplate), pagination);
 
-            when(processor.processListTemplates(eq("CREDIT_CARD"), any(), any(), any(), anyInt(), anyInt(), anyString()))
+            when(processor.processListTemplates(eq("CREDIT_CARD"), any(), any(), any(), anyInt(), anyInt()))
                     .thenReturn(Mono.just(response));
 
             webTestClient.get()
@@ -176,7 +179,7 @@ class TemplateControllerTest {
         void getTemplateVersion_Success() {
             TemplateResponse response = TemplateResponse.of(sampleTemplate);
 
-            when(processor.processGetTemplateByIdAndVersion(eq(templateId), eq(1), anyBoolean(), anyString()))
+            when(processor.processGetTemplateByIdAndVersion(eq(templateId), eq(1), anyBoolean()))
                     .thenReturn(Mono.just(response));
 
             webTestClient.get()
@@ -192,7 +195,7 @@ class TemplateControllerTest {
         @Test
         @DisplayName("Should return 404 when template version not found")
         void getTemplateVersion_NotFound() {
-            when(processor.processGetTemplateByIdAndVersion(eq(templateId), eq(1), anyBoolean(), anyString()))
+            when(processor.processGetTemplateByIdAndVersion(eq(templateId), eq(1), anyBoolean()))
                     .thenReturn(Mono.error(new ResourceNotFoundException("Template not found")));
 
             webTestClient.get()
@@ -226,7 +229,7 @@ class TemplateControllerTest {
 
             TemplateResponse response = TemplateResponse.of(updatedTemplate);
 
-            when(processor.processUpdateTemplate(eq(templateId), eq(1), any(), anyBoolean(), anyString(), anyString()))
+            when(processor.processUpdateTemplate(eq(templateId), eq(1), any(), anyBoolean(), anyBoolean(), isNull(), anyString()))
                     .thenReturn(Mono.just(response));
 
             webTestClient.patch()
@@ -240,6 +243,72 @@ class TemplateControllerTest {
                     .expectBody()
                     .jsonPath("$.template.displayName").isEqualTo("Updated Statement");
         }
+
+        @Test
+        @DisplayName("Should pass If-Match as expected version and return the new ETag")
+        void updateTemplate_IfMatch() {
+            MasterTemplateDto updatedTemplate = MasterTemplateDto.builder()
+                    .masterTemplateId(templateId)
+                    .templateVersion(1)
+                    .versionNumber(4L)
+                    .build();
+
+            when(processor.processUpdateTemplate(eq(templateId), eq(1), any(), anyBoolean(), anyBoolean(), eq(3L), anyString()))
+                    .thenReturn(Mono.just(TemplateResponse.of(updatedTemplate)));
+
+            webTestClient.patch()
+                    .uri("/templates/{id}/versions/{version}", templateId, 1)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(TemplateUpdateRequest.builder().activeFlag(false).build())
+                    .header("If-Match", "\"3\"")
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().valueEquals("ETag", "\"4\"");
+        }
+
+        @Test
+        @DisplayName("Should use the one ETag of ours in an If-Match list")
+        void updateTemplate_IfMatchList() {
+            when(processor.processUpdateTemplate(eq(templateId), eq(1), any(), anyBoolean(), anyBoolean(), eq(3L), anyString()))
+                    .thenReturn(Mono.just(TemplateResponse.of(sampleTemplate)));
+
+            webTestClient.patch()
+                    .uri("/templates/{id}/versions/{version}", templateId, 1)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(TemplateUpdateRequest.builder().activeFlag(false).build())
+                    .header("If-Match", "W/\"abc\", \"3\"")
+                    .exchange()
+                    .expectStatus().isOk();
+        }
+
+        @Test
+        @DisplayName("Should return 412, not 400, for an If-Match list naming several versions")
+        void updateTemplate_IfMatchSeveralVersions() {
+            webTestClient.patch()
+                    .uri("/templates/{id}/versions/{version}", templateId, 1)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(TemplateUpdateRequest.builder().activeFlag(false).build())
+                    .header("If-Match", "\"3\", \"4\"")
+                    .exchange()
+                    .expectStatus().isEqualTo(412);
+
+            verify(processor, never()).processUpdateTemplate(any(), any(), any(), anyBoolean(), anyBoolean(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should return 412 when If-Match is stale")
+        void updateTemplate_PreconditionFailed() {
+            when(processor.processUpdateTemplate(eq(templateId), eq(1), any(), anyBoolean(), anyBoolean(), eq(3L), anyString()))
+                    .thenReturn(Mono.error(new PreconditionFailedException("Template was modified concurrently")));
+
+            webTestClient.patch()
+                    .uri("/templates/{id}/versions/{version}", templateId, 1)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(TemplateUpdateRequest.builder().activeFlag(false).build())
+                    .header("If-Match", "\"3\"")
+                    .exchange()
+                    .expectStatus().isEqualTo(412);
+        }
     }
 
     @Nested
@@ -249,7 +318,7 @@ class TemplateControllerTest {
         @Test
         @DisplayName("Should delete template and return 204")
         void deleteTemplate_Success() {
-            when(processor.processDeleteTemplate(eq(templateId), eq(1), anyString(), anyString()))
+            when(processor.processDeleteTemplate(eq(templateId), eq(1), anyString()))
                     .thenReturn(Mono.empty());
 
             webTestClient.delete()
@@ -263,7 +332,7 @@ class TemplateControllerTest {
         @Test
         @DisplayName("Should return 404 when template not found for deletion")
         void deleteTemplate_NotFound() {
-            when(processor.processDeleteTemplate(eq(templateId), eq(1), anyString(), anyString()))
+            when(processor.processDeleteTemplate(eq(templateId), eq(1), anyString()))
                     .thenReturn(Mono.error(new ResourceNotFoundException("Template not found")));
 
             webTestClient.delete()
@@ -272,5 +341,20 @@ class TemplateControllerTest {
                     .exchange()
                     .expectStatus().isNotFound();
         }
+
+        @Test
+        @DisplayName("Should cascade archive the version's vendor mappings when cascade=true")
+        void deleteTemplate_Cascade() {
+            when(processor.processArchiveTemplateCascade(eq(templateId), eq(1), anyString()))
+                    .thenReturn(Mono.empty());
+
+            webTestClient.delete()
+                    .uri("/templates/{id}/versions/{version}?cascade=true", templateId, 1)
+                    .header("X-Correlation-Id", "test-123")
+                    .exchange()
+                    .expectStatus().isNoContent();
+
+            verify(processor, never()).processDeleteTemplate(any(), any(), any());
+        }
     }
 }
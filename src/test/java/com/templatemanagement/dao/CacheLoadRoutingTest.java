@@ -0,0 +1,159 @@
+package com.templatemanagement.dao;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.templatemanagement.config.ReadRouting;
+import com.templatemanagement.entity.MasterTemplateDefinitionEntity;
+import com.templatemanagement.entity.TemplateVendorMappingEntity;
+import com.templatemanagement.repository.MasterTemplateRepository;
+import com.templatemanagement.repository.TemplateVendorMappingRepository;
+import com.templatemanagement.snapshot.CatalogSnapshotHolder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Reads that fill a DAO cache must see a write as soon as it commits, even with a lagging replica.
+ * The repository mocks answer from a "primary" and a "replica" row depending on the read route.
+ * Replica reads must also survive a replica outage by retrying on the primary.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Cache load routing Tests")
+class CacheLoadRoutingTest {
+
+    private final UUID templateId = UUID.randomUUID();
+    private final UUID vendorId = UUID.randomUUID();
+
+    @Mock
+    private MasterTemplateRepository templateRepository;
+
+    @Mock
+    private TemplateVendorMappingRepository vendorRepository;
+
+    private MasterTemplateDao templateDao;
+    private TemplateVendorMappingDao vendorDao;
+    private CatalogSnapshotHolder snapshotHolder;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        snapshotHolder = new CatalogSnapshotHolder();
+        RowMappingStage rowMapping = new RowMappingStage(false, 0, 1, 1);
+        templateDao = new MasterTemplateDao(templateRepository, objectMapper, snapshotHolder, rowMapping, 30, 1000);
+        vendorDao = new TemplateVendorMappingDao(vendorRepository, objectMapper, snapshotHolder, rowMapping, 30, 10, 500);
+    }
+
+    @Test
+    @DisplayName("Should return the new template after a write although the replica still has the old row")
+    void findByIdAndVersion_AfterWrite() {
+        AtomicReference<MasterTemplateDefinitionEntity> primary = new AtomicReference<>(template("Before", 1L));
+        MasterTemplateDefinitionEntity replica = template("Before", 1L);
+        when(templateRepository.findByMasterTemplateIdAndVersion(templateId, 1))
+                .thenAnswer(invocation -> routed(primary.get(), replica));
+
+        templateDao.findByIdAndVersion(templateId, 1).block();
+        primary.set(template("After", 2L));
+        templateDao.invalidateCache(templateId, 1);
+
+        StepVerifier.create(templateDao.findByIdAndVersion(templateId, 1))
+                .assertNext(dto -> assertThat(dto.getTemplateName()).isEqualTo("After"))
+                .verifyComplete();
+        // Served from the cache, which now holds the new row
+        StepVerifier.create(templateDao.findByIdAndVersion(templateId, 1))
+                .assertNext(dto -> assertThat(dto.getVersionNumber()).isEqualTo(2L))
+                .verifyComplete();
+        verify(templateRepository, times(2)).findByMasterTemplateIdAndVersion(templateId, 1);
+    }
+
+    @Test
+    @DisplayName("Should return the new vendor mapping and routing list after a write although the replica lags")
+    void vendorLookups_AfterWrite() {
+        AtomicReference<TemplateVendorMappingEntity> primary = new AtomicReference<>(vendor("ACTIVE", 1L));
+        TemplateVendorMappingEntity replica = vendor("ACTIVE", 1L);
+        when(vendorRepository.findByVendorId(vendorId))
+                .thenAnswer(invocation -> routed(primary.get(), replica));
+        when(vendorRepository.findActiveVendorsForRouting(templateId, 1, "GENERATION"))
+                .thenAnswer(invocation -> routed(primary.get(), replica).flux());
+
+        vendorDao.findById(vendorId).block();
+        vendorDao.findActiveVendorsForRouting(templateId, 1, "GENERATION").collectList().block();
+        primary.set(vendor("DEGRADED", 2L));
+        vendorDao.invalidateCache(vendorId);
+        vendorDao.invalidateListCache(templateId);
+
+        StepVerifier.create(vendorDao.findById(vendorId))
+                .assertNext(dto -> assertThat(dto.getVendorStatus()).isEqualTo("DEGRADED"))
+                .verifyComplete();
+        StepVerifier.create(vendorDao.findActiveVendorsForRouting(templateId, 1, "GENERATION"))
+                .assertNext(dto -> assertThat(dto.getVersionNumber()).isEqualTo(2L))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should read from the primary, not the snapshot, when only the replica is down")
+    void replicaDown_RetriesOnPrimary() {
+        when(templateRepository.findAllVersionsByMasterTemplateId(templateId))
+                .thenAnswer(invocation -> replicaDown(template("Primary", 1L)).flux());
+        when(templateRepository.countWithFilters(null, null, null, null))
+                .thenAnswer(invocation -> replicaDown(7L));
+        when(vendorRepository.findByMasterTemplateIdAndVersion(templateId, 1))
+                .thenAnswer(invocation -> replicaDown(vendor("ACTIVE", 1L)).flux());
+
+        StepVerifier.create(templateDao.findAllVersionsById(templateId))
+                .assertNext(dto -> assertThat(dto.getTemplateName()).isEqualTo("Primary"))
+                .verifyComplete();
+        StepVerifier.create(templateDao.countWithFilters(null, null, null, null))
+                .expectNext(7L)
+                .verifyComplete();
+        StepVerifier.create(vendorDao.findByMasterTemplateIdAndVersion(templateId, 1))
+                .assertNext(dto -> assertThat(dto.getVendorStatus()).isEqualTo("ACTIVE"))
+                .verifyComplete();
+        assertThat(snapshotHolder.getFallbackReads()).isZero();
+    }
+
+    private static <T> Mono<T> replicaDown(T primary) {
+        return Mono.deferContextual(context -> ReadRouting.resolve(context) == ReadRouting.Target.REPLICA
+                ? Mono.error(new DataAccessResourceFailureException("replica unavailable"))
+                : Mono.just(primary));
+    }
+
+    private static <T> Mono<T> routed(T primary, T replica) {
+        return Mono.deferContextual(context ->
+                Mono.just(ReadRouting.resolve(context) == ReadRouting.Target.REPLICA ? replica : primary));
+    }
+
+    private MasterTemplateDefinitionEntity template(String templateName, long versionNumber) {
+        return MasterTemplateDefinitionEntity.builder()
+                .masterTemplateId(templateId)
+                .templateVersion(1)
+                .templateName(templateName)
+                .templateType("MONTHLY_STATEMENT")
+                .versionNumber(versionNumber)
+                .build();
+    }
+
+    private TemplateVendorMappingEntity vendor(String vendorStatus, long versionNumber) {
+        return TemplateVendorMappingEntity.builder()
+                .templateVendorId(vendorId)
+                .masterTemplateId(templateId)
+                .templateVersion(1)
+                .vendor("SmartComm")
+                .vendorType("GENERATION")
+                .vendorStatus(vendorStatus)
+                .versionNumber(versionNumber)
+                .build();
+    }
+}
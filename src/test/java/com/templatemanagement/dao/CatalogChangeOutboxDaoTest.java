@@ -0,0 +1,95 @@
+package com.templatemanagement.dao;
+
+import com.templatemanagement.dto.CatalogChangeEvent;
+import com.templatemanagement.dto.CatalogChangeEvent.ChangeType;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the outbox SQL against the in-memory H2 load-test schema
+ */
+@DisplayName("CatalogChangeOutboxDao Tests")
+class CatalogChangeOutboxDaoTest {
+
+    private final UUID templateId = UUID.randomUUID();
+    private R2dbcEntityTemplate entityTemplate;
+    private CatalogChangeOutboxDao outboxDao;
+
+    @BeforeEach
+    void setUp() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get("r2dbc:h2:mem:///outbox-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("loadtest/schema-h2.sql")).populate(connectionFactory).block();
+        entityTemplate = new R2dbcEntityTemplate(connectionFactory);
+        entityTemplate.getDatabaseClient()
+                .sql("INSERT INTO document_hub.master_template_definition " +
+                        "(master_template_id, template_version, template_type, line_of_business, archive_indicator) " +
+                        "VALUES (:id, 1, 'STATEMENT', 'CREDIT_CARD', false)")
+                .bind("id", templateId)
+                .fetch()
+                .rowsUpdated()
+                .block();
+        outboxDao = new CatalogChangeOutboxDao(entityTemplate);
+    }
+
+    @Test
+    @DisplayName("Should append a batch in one statement and read it back in sequence order")
+    void append_ThenFindAfter() {
+        outboxDao.append(List.of(event(ChangeType.TEMPLATE_CREATED, "CREDIT_CARD"), event(ChangeType.TEMPLATE_UPDATED, null)))
+                .block();
+
+        StepVerifier.create(outboxDao.findAfter(0, Long.MAX_VALUE, 10))
+                .assertNext(event -> {
+                    assertThat(event.getSequenceNumber()).isEqualTo(1);
+                    assertThat(event.getChangeType()).isEqualTo(ChangeType.TEMPLATE_CREATED);
+                    assertThat(event.getMasterTemplateId()).isEqualTo(templateId);
+                    assertThat(event.getChangedAt()).isNotNull();
+                })
+                // Line of business filled in from the catalog
+                .assertNext(event -> assertThat(event.getLineOfBusiness()).isEqualTo("CREDIT_CARD"))
+                .verifyComplete();
+        StepVerifier.create(outboxDao.findAfter(1, 1, 10)).verifyComplete();
+        StepVerifier.create(outboxDao.findMaxSequence()).expectNext(2L).verifyComplete();
+        StepVerifier.create(outboxDao.findMinSequence()).expectNext(1L).verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should purge old events but always keep the newest one")
+    void deleteOlderThan_KeepsNewest() {
+        outboxDao.append(List.of(event(ChangeType.TEMPLATE_CREATED, null), event(ChangeType.TEMPLATE_UPDATED, null)))
+                .block();
+
+        StepVerifier.create(outboxDao.deleteOlderThan(LocalDateTime.now().plusMinutes(1)))
+                .expectNext(1)
+                .verifyComplete();
+        StepVerifier.create(outboxDao.findMinSequence()).expectNext(2L).verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should report 0 as the highest sequence of an empty outbox")
+    void findMaxSequence_Empty() {
+        StepVerifier.create(outboxDao.findMaxSequence()).expectNext(0L).verifyComplete();
+    }
+
+    private CatalogChangeEvent event(ChangeType changeType, String lineOfBusiness) {
+        return CatalogChangeEvent.builder()
+                .changeType(changeType)
+                .masterTemplateId(templateId)
+                .templateVersion(1)
+                .lineOfBusiness(lineOfBusiness)
+                .changedBy("test-user")
+                .build();
+    }
+}
@@ -0,0 +1,122 @@
+package com.templatemanagement.dao;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.templatemanagement.entity.MasterTemplateDefinitionEntity;
+import com.templatemanagement.entity.TemplateVendorMappingEntity;
+import io.r2dbc.postgresql.codec.Json;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.H2Dialect;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the batched inserts against the in-memory H2 load-test schema, JSON columns stored as text
+ */
+@DisplayName("CatalogImportDao Tests")
+class CatalogImportDaoTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private DatabaseClient databaseClient;
+    private CatalogImportDao importDao;
+
+    @BeforeEach
+    void setUp() {
+        ConnectionFactory connectionFactory = ConnectionFactories.get("r2dbc:h2:mem:///import-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("loadtest/schema-h2.sql")).populate(connectionFactory).block();
+        databaseClient = DatabaseClient.create(connectionFactory);
+        R2dbcCustomConversions conversions = R2dbcCustomConversions.of(H2Dialect.INSTANCE,
+                List.of(new JsonToString(), new JsonNodeToString()));
+        MappingR2dbcConverter converter = new MappingR2dbcConverter(new R2dbcMappingContext(), conversions);
+        importDao = new CatalogImportDao(new R2dbcEntityTemplate(databaseClient, H2Dialect.INSTANCE, converter));
+    }
+
+    @Test
+    @DisplayName("Should insert every template row of a batch in one statement")
+    void insertTemplates_Batch() {
+        UUID templateId = UUID.randomUUID();
+        List<MasterTemplateDefinitionEntity> templates = IntStream.rangeClosed(1, 3)
+                .mapToObj(version -> MasterTemplateDefinitionEntity.builder()
+                        .masterTemplateId(templateId)
+                        .templateVersion(version)
+                        .templateType("STATEMENT")
+                        .templateConfig(version == 1 ? Json.of("{\"channel\":\"PRINT\"}") : null)
+                        .archiveIndicator(false)
+                        .versionNumber(1L)
+                        .build())
+                .collect(Collectors.toList());
+
+        StepVerifier.create(importDao.insertTemplates(templates)).expectNext(3L).verifyComplete();
+        StepVerifier.create(databaseClient
+                        .sql("SELECT template_config FROM document_hub.master_template_definition " +
+                                "WHERE master_template_id = :id ORDER BY template_version")
+                        .bind("id", templateId)
+                        .map((row, metadata) -> String.valueOf(row.get("template_config", String.class)))
+                        .all())
+                .expectNext("{\"channel\":\"PRINT\"}", "null", "null")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should insert vendor mapping rows and return 0 for an empty batch")
+    void insertVendorMappings_Batch() {
+        UUID templateId = UUID.randomUUID();
+        List<TemplateVendorMappingEntity> vendors = List.of("SmartComm", "Assentis").stream()
+                .map(vendor -> TemplateVendorMappingEntity.builder()
+                        .templateVendorId(UUID.randomUUID())
+                        .masterTemplateId(templateId)
+                        .templateVersion(1)
+                        .vendor(vendor)
+                        .vendorType("GENERATION")
+                        .vendorConfig(OBJECT_MAPPER.createObjectNode().put("timeout", 30))
+                        .archiveIndicator(false)
+                        .build())
+                .collect(Collectors.toList());
+
+        StepVerifier.create(importDao.insertVendorMappings(vendors)).expectNext(2L).verifyComplete();
+        StepVerifier.create(importDao.insertVendorMappings(List.of())).expectNext(0L).verifyComplete();
+        StepVerifier.create(databaseClient
+                        .sql("SELECT COUNT(*) AS mappings FROM document_hub.template_vendor_mapping WHERE master_template_id = :id")
+                        .bind("id", templateId)
+                        .map((row, metadata) -> row.get("mappings", Long.class))
+                        .one())
+                .assertNext(count -> assertThat(count).isEqualTo(2L))
+                .verifyComplete();
+    }
+
+    @WritingConverter
+    static class JsonToString implements Converter<Json, String> {
+        @Override
+        public String convert(Json source) {
+            return source.asString();
+        }
+    }
+
+    @WritingConverter
+    static class JsonNodeToString implements Converter<JsonNode, String> {
+        @Override
+        public String convert(JsonNode source) {
+            return source.toString();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.templatemanagement.dao;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RowMappingStage Tests")
+class RowMappingStageTest {
+
+    private final RowMappingStage stage = new RowMappingStage(true, 100, 8, 4);
+    private final Set<String> mappingThreads = ConcurrentHashMap.newKeySet();
+
+    @AfterEach
+    void tearDown() {
+        stage.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should map a small read inline on the subscribing thread")
+    void map_BelowThreshold() {
+        StepVerifier.create(stage.map(Flux.range(0, 10), 10, this::mapRow))
+                .expectNextSequence(expected(10))
+                .verifyComplete();
+
+        assertThat(mappingThreads).containsExactly(Thread.currentThread().getName());
+    }
+
+    @Test
+    @DisplayName("Should map a large read on the row-mapping scheduler and keep row order")
+    void map_Offloaded() {
+        StepVerifier.create(stage.map(Flux.range(0, 1000), 1000, this::mapRow))
+                .expectNextSequence(expected(1000))
+                .verifyComplete();
+
+        assertThat(mappingThreads).allMatch(name -> name.startsWith("row-mapping"));
+    }
+
+    private String mapRow(Integer row) {
+        mappingThreads.add(Thread.currentThread().getName());
+        return "row-" + row;
+    }
+
+    private static List<String> expected(int rows) {
+        return IntStream.range(0, rows).mapToObj(row -> "row-" + row).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,28 @@
+package com.templatemanagement.loadtest;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Keys of the seeded catalog, used to build request URLs that hit real rows.
+ */
+record Catalog(List<Entry> entries) {
+
+    record Entry(
+            UUID masterTemplateId,
+            int templateVersion,
+            String lineOfBusiness,
+            String templateType,
+            String communicationType,
+            List<String> vendorTypes) {
+
+        String randomVendorType() {
+            return vendorTypes.get(ThreadLocalRandom.current().nextInt(vendorTypes.size()));
+        }
+    }
+
+    Entry randomEntry() {
+        return entries.get(ThreadLocalRandom.current().nextInt(entries.size()));
+    }
+}
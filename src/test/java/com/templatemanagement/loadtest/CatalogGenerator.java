@@ -0,0 +1,251 @@
+package com.templatemanagement.loadtest;
+
+import io.r2dbc.postgresql.codec.Json;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Seeds a synthetic catalog of templates, versions and vendor mappings.
+ * <p>
+ * The JSON configs follow the shape of real catalog entries (variables, extraction sources,
+ * eligibility rules, vendor endpoints) so that serialization and cache sizes are representative.
+ * Rows are written with batched multi-binding statements, and a fixed seed makes runs repeatable.
+ */
+@Slf4j
+class CatalogGenerator {
+
+    private static final int BATCH_SIZE = 500;
+
+    private static final String[] LINES_OF_BUSINESS = {"CREDIT_CARD", "DIGITAL_BANK", "AUTO_LOAN", "ENTERPRISE"};
+    private static final String[] TEMPLATE_FAMILIES = {
+            "STATEMENT", "PRIVACY_NOTICE", "ADVERSE_ACTION", "PAYMENT_CONFIRMATION",
+            "ACCOUNT_OPENING", "RATE_CHANGE", "COLLECTIONS_NOTICE", "TAX_FORM"};
+    private static final String[] COMMUNICATION_TYPES = {"LETTER", "EMAIL", "SMS", "PUSH"};
+    private static final String[] VENDOR_TYPES = {"GENERATION", "PRINT", "EMAIL", "SMS"};
+    private static final String[][] VENDORS_BY_TYPE = {
+            {"SMARTCOMM", "ASSENTIS", "HANDLEBARS"},
+            {"BROADRIDGE", "RRDONNELLEY"},
+            {"SENDGRID", "SES"},
+            {"TWILIO", "SINCH"}};
+    private static final String[] REGIONS = {"US-EAST", "US-WEST", "EU-WEST", "AP-SOUTH"};
+    private static final String[] FORMATS = {"PDF", "HTML", "AFP", "TXT"};
+
+    private static final List<String> TEMPLATE_COLUMNS = List.of(
+            "master_template_id", "template_version", "legacy_template_id", "template_name",
+            "template_description", "line_of_business", "template_category", "template_type",
+            "language_code", "owning_dept", "notification_needed", "regulatory_flag",
+            "message_center_doc_flag", "display_name", "active_flag", "shared_document_flag",
+            "sharing_scope", "template_variables", "data_extraction_config", "document_matching_config",
+            "eligibility_criteria", "access_control", "required_fields", "template_config",
+            "start_date", "created_by", "created_timestamp", "updated_by", "updated_timestamp",
+            "archive_indicator", "version_number", "record_status", "communication_type",
+            "workflow", "single_document_flag");
+
+    private static final List<String> VENDOR_COLUMNS = List.of(
+            "template_vendor_id", "master_template_id", "template_version", "vendor",
+            "vendor_template_key", "vendor_template_name", "reference_key_type", "template_content",
+            "start_date", "vendor_mapping_version", "primary_flag", "active_flag", "template_status",
+            "schema_info", "template_fields", "vendor_config", "api_config", "created_by",
+            "created_timestamp", "updated_by", "updated_timestamp", "archive_indicator",
+            "version_number", "record_status", "vendor_type", "priority_order", "supported_regions",
+            "vendor_status", "rate_limit_per_minute", "rate_limit_per_day", "timeout_ms",
+            "max_retry_attempts", "retry_backoff_ms", "cost_per_unit", "cost_unit",
+            "supported_formats", "health_check_endpoint");
+
+    private final ConnectionFactory connectionFactory;
+    private final Function<String, Object> jsonValue;
+    private final Random random = new Random(42);
+
+    /**
+     * @param postgres bind JSON as the r2dbc-postgresql Json codec type (jsonb) rather than text
+     */
+    CatalogGenerator(ConnectionFactory connectionFactory, boolean postgres) {
+        this.connectionFactory = connectionFactory;
+        this.jsonValue = postgres ? Json::of : json -> json;
+    }
+
+    /**
+     * Insert templates x versions, each version with vendorsPerVersion mappings spread across
+     * the vendor types, and return the keys the traffic driver should hit.
+     */
+    Mono<Catalog> seed(int templates, int versionsPerTemplate, int vendorsPerVersion) {
+        List<Object[]> templateRows = new ArrayList<>();
+        List<Object[]> vendorRows = new ArrayList<>();
+        List<Catalog.Entry> entries = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int t = 0; t < templates; t++) {
+            UUID masterTemplateId = UUID.randomUUID();
+            String family = TEMPLATE_FAMILIES[t % TEMPLATE_FAMILIES.length];
+            String templateType = family + "_" + t;
+            String lineOfBusiness = LINES_OF_BUSINESS[random.nextInt(LINES_OF_BUSINESS.length)];
+            String communicationType = COMMUNICATION_TYPES[random.nextInt(COMMUNICATION_TYPES.length)];
+
+            for (int version = 1; version <= versionsPerTemplate; version++) {
+                templateRows.add(templateRow(masterTemplateId, version, family, templateType,
+                        lineOfBusiness, communicationType, now));
+
+                List<String> vendorTypes = new ArrayList<>();
+                for (int v = 0; v < vendorsPerVersion; v++) {
+                    int typeIndex = v % VENDOR_TYPES.length;
+                    String[] vendors = VENDORS_BY_TYPE[typeIndex];
+                    int priority = v / VENDOR_TYPES.length + 1;
+                    vendorRows.add(vendorRow(masterTemplateId, version, VENDOR_TYPES[typeIndex],
+                            vendorName(vendors, priority), priority, now));
+                    if (!vendorTypes.contains(VENDOR_TYPES[typeIndex])) {
+                        vendorTypes.add(VENDOR_TYPES[typeIndex]);
+                    }
+                }
+                entries.add(new Catalog.Entry(masterTemplateId, version, lineOfBusiness,
+                        templateType, communicationType, List.copyOf(vendorTypes)));
+            }
+        }
+
+        long start = System.nanoTime();
+        return insert("document_hub.master_template_definition", TEMPLATE_COLUMNS, templateRows)
+                .then(insert("document_hub.template_vendor_mapping", VENDOR_COLUMNS, vendorRows))
+                .doOnSuccess(v -> log.info("Catalog seeded: templates={}, versions={}, vendorMappings={}, durationMs={}",
+                        templates, templateRows.size(), vendorRows.size(), (System.nanoTime() - start) / 1_000_000))
+                .thenReturn(new Catalog(entries));
+    }
+
+    private Object[] templateRow(UUID masterTemplateId, int version, String family, String templateType,
+                                 String lineOfBusiness, String communicationType, LocalDateTime now) {
+        String name = family.replace('_', ' ').toLowerCase();
+        return new Object[]{
+                masterTemplateId, version, "LEG-" + Math.abs(masterTemplateId.hashCode()), name + " template",
+                "Synthetic " + name + " template, version " + version + ", used for load testing",
+                lineOfBusiness, family, templateType,
+                random.nextInt(10) == 0 ? "es" : "en", "OPS-" + lineOfBusiness,
+                random.nextBoolean(), random.nextInt(4) == 0, random.nextBoolean(),
+                name + " v" + version, random.nextInt(10) != 0, random.nextInt(5) == 0,
+                "LOB",
+                jsonValue.apply(templateVariables()),
+                jsonValue.apply(dataExtractionConfig()),
+                jsonValue.apply("{\"matchBy\":\"accountNumber\",\"fallback\":\"customerId\",\"windowDays\":" + (30 + random.nextInt(60)) + "}"),
+                jsonValue.apply(eligibilityCriteria(lineOfBusiness)),
+                jsonValue.apply("{\"roles\":[\"DOC_ADMIN\",\"OPS_READ\"],\"piiMasking\":" + random.nextBoolean() + "}"),
+                jsonValue.apply("{\"fields\":[\"accountNumber\",\"customerName\",\"mailingAddress\",\"statementDate\"]}"),
+                jsonValue.apply("{\"pageSize\":\"LETTER\",\"duplex\":" + random.nextBoolean()
+                        + ",\"retentionDays\":" + (365 * (1 + random.nextInt(7))) + ",\"watermark\":null}"),
+                System.currentTimeMillis() - 86_400_000L * (1 + random.nextInt(365)),
+                "loadtest", now, "loadtest", now,
+                false, 1L, "APPROVED", communicationType,
+                random.nextBoolean() ? "STANDARD" : "REGULATORY_REVIEW", random.nextBoolean()};
+    }
+
+    /**
+     * Cycle through the type's vendors, suffixing repeats so each (vendor, vendor type) stays unique
+     */
+    private static String vendorName(String[] vendors, int priority) {
+        String vendor = vendors[(priority - 1) % vendors.length];
+        int round = (priority - 1) / vendors.length;
+        return round == 0 ? vendor : vendor + "_" + (round + 1);
+    }
+
+    private Object[] vendorRow(UUID masterTemplateId, int version, String vendorType, String vendor,
+                               int priority, LocalDateTime now) {
+        String key = vendor.toLowerCase() + "-" + masterTemplateId.toString().substring(0, 8) + "-v" + version;
+        return new Object[]{
+                UUID.randomUUID(), masterTemplateId, version, vendor,
+                key, vendor + " " + vendorType.toLowerCase() + " template", "TEMPLATE_KEY",
+                ("<template id=\"" + key + "\">{{customerName}} {{accountNumber}}</template>").getBytes(StandardCharsets.UTF_8),
+                System.currentTimeMillis() - 86_400_000L * (1 + random.nextInt(180)), 1,
+                priority == 1, true, "PUBLISHED",
+                jsonValue.apply("{\"format\":\"json-schema\",\"version\":\"2020-12\",\"required\":[\"accountNumber\",\"customerName\"]}"),
+                jsonValue.apply(templateFields()),
+                jsonValue.apply("{\"endpoint\":\"https://" + vendor.toLowerCase() + ".example.com/render\",\"auth\":\"OAUTH2\","
+                        + "\"tenant\":\"tenant-" + random.nextInt(20) + "\",\"compression\":" + random.nextBoolean() + "}"),
+                jsonValue.apply("{\"method\":\"POST\",\"contentType\":\"application/json\",\"timeoutMs\":"
+                        + (1000 + random.nextInt(9000)) + ",\"headers\":{\"X-Client\":\"template-management\"}}"),
+                "loadtest", now, "loadtest", now, false, 1L, "APPROVED",
+                vendorType, priority,
+                pick(REGIONS, 1 + random.nextInt(REGIONS.length)),
+                "ACTIVE", 600 + random.nextInt(5400), 100_000 + random.nextInt(900_000),
+                2000 + random.nextInt(8000), 1 + random.nextInt(5), 100 + random.nextInt(900),
+                BigDecimal.valueOf(random.nextInt(5000), 4), "PER_DOCUMENT",
+                pick(FORMATS, 1 + random.nextInt(FORMATS.length)),
+                "https://" + vendor.toLowerCase() + ".example.com/health"};
+    }
+
+    private String templateVariables() {
+        return IntStream.range(0, 5 + random.nextInt(15))
+                .mapToObj(i -> "{\"name\":\"var" + i + "\",\"type\":\"" + (i % 3 == 0 ? "date" : "string")
+                        + "\",\"required\":" + (i % 2 == 0) + ",\"source\":\"profile.field" + i + "\"}")
+                .collect(Collectors.joining(",", "{\"variables\":[", "]}"));
+    }
+
+    private String dataExtractionConfig() {
+        return IntStream.range(0, 1 + random.nextInt(4))
+                .mapToObj(i -> "{\"source\":\"service-" + i + "\",\"path\":\"/v1/accounts/{accountId}/data" + i
+                        + "\",\"cacheSeconds\":" + (60 * (1 + random.nextInt(10))) + "}")
+                .collect(Collectors.joining(",", "{\"sources\":[", "],\"parallel\":true}"));
+    }
+
+    private String eligibilityCriteria(String lineOfBusiness) {
+        return "{\"all\":[{\"field\":\"lineOfBusiness\",\"op\":\"eq\",\"value\":\"" + lineOfBusiness + "\"},"
+                + "{\"field\":\"accountStatus\",\"op\":\"in\",\"value\":[\"OPEN\",\"DELINQUENT\"]},"
+                + "{\"field\":\"balance\",\"op\":\"gt\",\"value\":" + random.nextInt(1000) + "}]}";
+    }
+
+    private String templateFields() {
+        return IntStream.range(0, 3 + random.nextInt(10))
+                .mapToObj(i -> "{\"field\":\"f" + i + "\",\"maxLength\":" + (20 + random.nextInt(200)) + "}")
+                .collect(Collectors.joining(",", "[", "]"));
+    }
+
+    private String[] pick(String[] values, int count) {
+        int offset = random.nextInt(values.length);
+        String[] picked = new String[count];
+        for (int i = 0; i < count; i++) {
+            picked[i] = values[(offset + i) % values.length];
+        }
+        return picked;
+    }
+
+    private Mono<Void> insert(String table, List<String> columns, List<Object[]> rows) {
+        String sql = "INSERT INTO " + table + " (" + String.join(", ", columns) + ") VALUES ("
+                + IntStream.rangeClosed(1, columns.size()).mapToObj(i -> "$" + i).collect(Collectors.joining(", "))
+                + ")";
+
+        return Flux.range(0, (rows.size() + BATCH_SIZE - 1) / BATCH_SIZE)
+                .concatMap(batch -> Mono.usingWhen(
+                        Mono.from(connectionFactory.create()),
+                        connection -> executeBatch(connection, sql,
+                                rows.subList(batch * BATCH_SIZE, Math.min(rows.size(), (batch + 1) * BATCH_SIZE))),
+                        Connection::close))
+                .then();
+    }
+
+    private Mono<Long> executeBatch(Connection connection, String sql, List<Object[]> rows) {
+        Statement statement = connection.createStatement(sql);
+        for (int r = 0; r < rows.size(); r++) {
+            if (r > 0) {
+                statement.add();
+            }
+            Object[] row = rows.get(r);
+            for (int c = 0; c < row.length; c++) {
+                statement.bind(c, row[c]);
+            }
+        }
+        return Flux.from(statement.execute())
+                .flatMap(Result::getRowsUpdated)
+                .reduce(0L, (total, updated) -> total + updated.longValue());
+    }
+}
@@ -0,0 +1,106 @@
+package com.templatemanagement.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.postgresql.codec.Json;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.dialect.DialectResolver;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+import org.springframework.data.r2dbc.dialect.R2dbcDialect;
+
+import java.util.List;
+
+/**
+ * R2DBC converters for the entity JSON columns, added to the harness context only.
+ * <p>
+ * On PostgreSQL the vendor mapping JsonNode columns are bridged to the driver's Json codec type.
+ * On H2, which has no jsonb, both Json and JsonNode are stored as text.
+ * Not annotated with @Configuration so that component scanning in the regular tests skips it.
+ */
+class LoadTestConversions {
+
+    @Bean
+    public R2dbcCustomConversions r2dbcCustomConversions(ConnectionFactory connectionFactory, ObjectMapper objectMapper) {
+        R2dbcDialect dialect = DialectResolver.getDialect(connectionFactory);
+        if (dialect instanceof PostgresDialect) {
+            return R2dbcCustomConversions.of(dialect, List.of(
+                    new JsonNodeToJson(objectMapper),
+                    new JsonToJsonNode(objectMapper)));
+        }
+        return R2dbcCustomConversions.of(dialect, List.of(
+                new JsonToString(),
+                new StringToJson(),
+                new JsonNodeToString(objectMapper),
+                new StringToJsonNode(objectMapper)));
+    }
+
+    @WritingConverter
+    record JsonNodeToJson(ObjectMapper objectMapper) implements Converter<JsonNode, Json> {
+        @Override
+        public Json convert(JsonNode source) {
+            return Json.of(write(objectMapper, source));
+        }
+    }
+
+    @ReadingConverter
+    record JsonToJsonNode(ObjectMapper objectMapper) implements Converter<Json, JsonNode> {
+        @Override
+        public JsonNode convert(Json source) {
+            return read(objectMapper, source.asString());
+        }
+    }
+
+    @WritingConverter
+    record JsonToString() implements Converter<Json, String> {
+        @Override
+        public String convert(Json source) {
+            return source.asString();
+        }
+    }
+
+    @ReadingConverter
+    record StringToJson() implements Converter<String, Json> {
+        @Override
+        public Json convert(String source) {
+            return Json.of(source);
+        }
+    }
+
+    @WritingConverter
+    record JsonNodeToString(ObjectMapper objectMapper) implements Converter<JsonNode, String> {
+        @Override
+        public String convert(JsonNode source) {
+            return write(objectMapper, source);
+        }
+    }
+
+    @ReadingConverter
+    record StringToJsonNode(ObjectMapper objectMapper) implements Converter<String, JsonNode> {
+        @Override
+        public JsonNode convert(String source) {
+            return read(objectMapper, source);
+        }
+    }
+
+    private static String write(ObjectMapper objectMapper, JsonNode node) {
+        try {
+            return objectMapper.writeValueAsString(node);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize JSON column", e);
+        }
+    }
+
+    private static JsonNode read(ObjectMapper objectMapper, String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot parse JSON column", e);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.templatemanagement.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.templatemanagement.TemplateManagementApplication;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Self-contained load test: seeds a synthetic catalog, boots the service against it and drives
+ * each scenario at a fixed rate, then prints latency percentiles, throughput and repository
+ * query counts and writes the same figures as JSON.
+ * <p>
+ * Runs against in-memory H2 by default, or a local PostgreSQL with --db=postgres. Not a JUnit
+ * test; see the README for how to launch it.
+ */
+@Slf4j
+public final class LoadTestHarness {
+
+    private LoadTestHarness() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        LoadTestSettings settings = LoadTestSettings.parse(args);
+        if (settings.targetRate() <= 0 || settings.duration().isZero()) {
+            throw new IllegalArgumentException("rate and duration-seconds must be positive");
+        }
+
+        Catalog catalog = prepareDatabase(settings);
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                TemplateManagementApplication.class, LoadTestConversions.class)
+                .properties(applicationProperties(settings))
+                .run();
+        TrafficDriver driver = null;
+        try {
+            String port = context.getEnvironment().getRequiredProperty("local.server.port");
+            String basePath = context.getEnvironment().getProperty("spring.webflux.base-path", "");
+            driver = new TrafficDriver("http://localhost:" + port + basePath, catalog,
+                    context.getBean(MeterRegistry.class), settings.targetRate(), settings.maxInFlight());
+
+            List<ScenarioResult> results = new ArrayList<>();
+            for (Scenario scenario : settings.scenarios()) {
+                if (!settings.warmup().isZero()) {
+                    log.info("Warming up: scenario={}, seconds={}", scenario, settings.warmup().toSeconds());
+                    driver.run(scenario, settings.warmup());
+                }
+                log.info("Measuring: scenario={}, rate={}, seconds={}",
+                        scenario, settings.targetRate(), settings.duration().toSeconds());
+                results.add(driver.run(scenario, settings.duration()));
+            }
+
+            print(settings, results, System.out);
+            writeReport(settings, results);
+        } finally {
+            if (driver != null) {
+                driver.close();
+            }
+            SpringApplication.exit(context);
+        }
+    }
+
+    /**
+     * Create the schema (when reset is requested) and seed the catalog before the service starts,
+     * so caches and the snapshot warm up against the seeded data exactly as they would in production.
+     */
+    private static Catalog prepareDatabase(LoadTestSettings settings) {
+        ConnectionFactory connectionFactory = ConnectionFactoryBuilder.withUrl(settings.url())
+                .username(settings.username())
+                .password(settings.password())
+                .build();
+
+        Mono<Void> schema = settings.resetSchema()
+                ? new ResourceDatabasePopulator(new ClassPathResource(settings.schemaScript())).populate(connectionFactory)
+                : Mono.empty();
+
+        return schema
+                .then(new CatalogGenerator(connectionFactory, settings.database() == LoadTestSettings.Database.POSTGRES)
+                        .seed(settings.templates(), settings.versionsPerTemplate(), settings.vendorsPerVersion()))
+                .block();
+    }
+
+    private static Map<String, Object> applicationProperties(LoadTestSettings settings) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.rsocket.server.port", 0);
+        properties.put("spring.r2dbc.url", settings.url());
+        properties.put("spring.r2dbc.username", settings.username());
+        properties.put("spring.r2dbc.password", settings.password());
+        properties.put("database.replica.enabled", false);
+        // Keep the run from reading or overwriting a real snapshot file
+        properties.put("catalog.snapshot.enabled", false);
+        properties.put("tracing.exporter", "none");
+        properties.put("logging.level.com.templatemanagement", "WARN");
+        properties.put("logging.level.com.templatemanagement.loadtest", "INFO");
+        properties.put("logging.level.access", "WARN");
+        return properties;
+    }
+
+    private static void print(LoadTestSettings settings, List<ScenarioResult> results, PrintStream out) {
+        out.printf("%nCatalog: %d templates x %d versions x %d vendor mappings, database=%s%n",
+                settings.templates(), settings.versionsPerTemplate(), settings.vendorsPerVersion(), settings.database());
+        for (ScenarioResult result : results) {
+            out.printf("%nScenario %s: target=%d/s achieved=%.1f/s requests=%d errors=%d dbQueries=%d (%.2f/request)%n",
+                    result.scenario(), result.targetRate(), result.achievedRate(), result.requests(),
+                    result.errors(), result.dbQueries(), result.dbQueriesPerRequest());
+            out.printf("  %-8s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                    "op", "count", "errors", "mean", "p50", "p90", "p99", "p99.9", "max");
+            for (ScenarioResult.OperationResult operation : result.operations()) {
+                printRow(operation, out);
+            }
+            printRow(result.total(), out);
+        }
+        out.println("\nLatencies in ms, measured from each request's scheduled start.");
+    }
+
+    private static void printRow(ScenarioResult.OperationResult row, PrintStream out) {
+        out.printf("  %-8s %9d %7d %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                row.operation(), row.count(), row.errors(), row.meanMs(),
+                row.p50Ms(), row.p90Ms(), row.p99Ms(), row.p999Ms(), row.maxMs());
+    }
+
+    private static void writeReport(LoadTestSettings settings, List<ScenarioResult> results) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now());
+        report.put("database", settings.database());
+        report.put("templates", settings.templates());
+        report.put("versionsPerTemplate", settings.versionsPerTemplate());
+        report.put("vendorsPerVersion", settings.vendorsPerVersion());
+        report.put("targetRate", settings.targetRate());
+        report.put("durationSeconds", settings.duration().toSeconds());
+        report.put("scenarios", results);
+
+        Files.createDirectories(settings.reportDirectory());
+        Path file = settings.reportDirectory().resolve("loadtest-" + System.currentTimeMillis() + ".json");
+        new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(file.toFile(), report);
+        log.info("Report written: path={}", file.toAbsolutePath());
+    }
+}
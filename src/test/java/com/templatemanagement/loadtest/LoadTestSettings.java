@@ -0,0 +1,70 @@
+package com.templatemanagement.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Load-test settings, parsed from --key=value arguments.
+ */
+record LoadTestSettings(
+        Database database,
+        String url,
+        String username,
+        String password,
+        boolean resetSchema,
+        int templates,
+        int versionsPerTemplate,
+        int vendorsPerVersion,
+        int targetRate,
+        int maxInFlight,
+        Duration warmup,
+        Duration duration,
+        List<Scenario> scenarios,
+        Path reportDirectory) {
+
+    enum Database { H2, POSTGRES }
+
+    static LoadTestSettings parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        Database database = Database.valueOf(options.getOrDefault("db", "h2").toUpperCase());
+        boolean h2 = database == Database.H2;
+        List<Scenario> scenarios = Arrays.stream(options.getOrDefault("scenarios", "routing,get,list,write,mixed").split(","))
+                .map(name -> Scenario.valueOf(name.trim().toUpperCase()))
+                .toList();
+
+        return new LoadTestSettings(
+                database,
+                options.getOrDefault("url", h2
+                        ? "r2dbc:h2:mem:///loadtest;DB_CLOSE_DELAY=-1"
+                        : "r2dbc:postgresql://localhost:5432/document_hub"),
+                options.getOrDefault("username", h2 ? "sa" : "postgres"),
+                options.getOrDefault("password", h2 ? "" : "postgres"),
+                // Never drop tables in a real database unless asked to
+                Boolean.parseBoolean(options.getOrDefault("reset", String.valueOf(h2))),
+                Integer.parseInt(options.getOrDefault("templates", "500")),
+                Integer.parseInt(options.getOrDefault("versions", "3")),
+                Integer.parseInt(options.getOrDefault("vendors", "4")),
+                Integer.parseInt(options.getOrDefault("rate", "500")),
+                Integer.parseInt(options.getOrDefault("max-in-flight", "256")),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup-seconds", "10"))),
+                Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration-seconds", "30"))),
+                scenarios,
+                Path.of(options.getOrDefault("report-dir", "target/loadtest")));
+    }
+
+    String schemaScript() {
+        return database == Database.H2 ? "loadtest/schema-h2.sql" : "loadtest/schema-postgresql.sql";
+    }
+}
@@ -0,0 +1,15 @@
+package com.templatemanagement.loadtest;
+
+/**
+ * Request types the load harness can issue against the running service.
+ */
+enum Operation {
+    /** GET /templates/vendors/routing */
+    ROUTING,
+    /** GET /templates/{id}/versions/{version} */
+    GET,
+    /** GET /templates with filters */
+    LIST,
+    /** PATCH /templates/{id}/versions/{version} */
+    UPDATE
+}
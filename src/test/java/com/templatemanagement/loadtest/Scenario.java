@@ -0,0 +1,42 @@
+package com.templatemanagement.loadtest;
+
+/**
+ * Traffic mixes, as percentage weights per {@link Operation}. MIXED approximates production,
+ * which is dominated by routing lookups.
+ */
+enum Scenario {
+    ROUTING(100, 0, 0, 0),
+    GET(0, 100, 0, 0),
+    LIST(0, 0, 100, 0),
+    WRITE(0, 0, 0, 100),
+    MIXED(60, 25, 10, 5);
+
+    private final int routing;
+    private final int get;
+    private final int list;
+
+    Scenario(int routing, int get, int list, int update) {
+        if (routing + get + list + update != 100) {
+            throw new IllegalArgumentException("Scenario weights must add up to 100");
+        }
+        this.routing = routing;
+        this.get = get;
+        this.list = list;
+    }
+
+    /**
+     * Pick the operation for a roll in [0, 100)
+     */
+    Operation pick(int roll) {
+        if (roll < routing) {
+            return Operation.ROUTING;
+        }
+        if (roll < routing + get) {
+            return Operation.GET;
+        }
+        if (roll < routing + get + list) {
+            return Operation.LIST;
+        }
+        return Operation.UPDATE;
+    }
+}
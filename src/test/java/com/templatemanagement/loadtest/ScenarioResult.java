@@ -0,0 +1,42 @@
+package com.templatemanagement.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.List;
+
+/**
+ * Outcome of one measured scenario run. Latencies are in milliseconds.
+ */
+record ScenarioResult(
+        String scenario,
+        int targetRate,
+        double achievedRate,
+        long requests,
+        long errors,
+        long dbQueries,
+        double dbQueriesPerRequest,
+        OperationResult total,
+        List<OperationResult> operations) {
+
+    record OperationResult(
+            String operation,
+            long count,
+            long errors,
+            double meanMs,
+            double p50Ms,
+            double p90Ms,
+            double p99Ms,
+            double p999Ms,
+            double maxMs) {
+
+        static OperationResult of(String operation, Histogram micros, long errors) {
+            return new OperationResult(operation, micros.getTotalCount(), errors,
+                    micros.getMean() / 1000d,
+                    micros.getValueAtPercentile(50) / 1000d,
+                    micros.getValueAtPercentile(90) / 1000d,
+                    micros.getValueAtPercentile(99) / 1000d,
+                    micros.getValueAtPercentile(99.9) / 1000d,
+                    micros.getMaxValue() / 1000d);
+        }
+    }
+}
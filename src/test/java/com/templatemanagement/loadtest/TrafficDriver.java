@@ -0,0 +1,161 @@
+package com.templatemanagement.loadtest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+/**
+ * Open-loop traffic generator.
+ * <p>
+ * Requests are scheduled at fixed intervals for the target rate regardless of how fast earlier
+ * ones complete, and latency is measured from each request's intended start. When the service
+ * falls behind, queueing delay therefore shows up in the percentiles instead of silently
+ * lowering the offered rate (coordinated omission).
+ */
+class TrafficDriver {
+
+    private static final Duration TICK = Duration.ofMillis(10);
+    private static final String REPOSITORY_QUERY_METRIC = "r2dbc.repository.query";
+
+    private final WebClient webClient;
+    private final ConnectionProvider connectionProvider;
+    private final Catalog catalog;
+    private final MeterRegistry meterRegistry;
+    private final int targetRate;
+    private final int maxInFlight;
+    private final AtomicLong updateSequence = new AtomicLong();
+
+    TrafficDriver(String baseUrl, Catalog catalog, MeterRegistry meterRegistry, int targetRate, int maxInFlight) {
+        this.connectionProvider = ConnectionProvider.builder("loadtest")
+                .maxConnections(maxInFlight)
+                .pendingAcquireMaxCount(-1)
+                .build();
+        this.webClient = WebClient.builder()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)))
+                .build();
+        this.catalog = catalog;
+        this.meterRegistry = meterRegistry;
+        this.targetRate = targetRate;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Drive the scenario for the given duration and return its latency histograms and counts
+     */
+    ScenarioResult run(Scenario scenario, Duration duration) {
+        Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+        Map<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(3));
+            errors.put(operation, new AtomicLong());
+        }
+
+        long totalRequests = targetRate * duration.toMillis() / 1000;
+        double intervalNanos = 1_000_000_000d / targetRate;
+        long queriesBefore = repositoryQueryCount();
+        long start = System.nanoTime();
+        AtomicLong scheduled = new AtomicLong();
+
+        Flux.interval(TICK)
+                .concatMapIterable(tick -> {
+                    long due = Math.min(totalRequests, (long) ((System.nanoTime() - start) / intervalNanos) + 1);
+                    long from = scheduled.getAndSet(due);
+                    return LongStream.range(from, due).boxed().toList();
+                })
+                .takeUntil(index -> index >= totalRequests - 1)
+                .onBackpressureBuffer()
+                .flatMap(index -> {
+                    long intendedStart = start + (long) (index * intervalNanos);
+                    Operation operation = scenario.pick(ThreadLocalRandom.current().nextInt(100));
+                    return execute(operation)
+                            .doOnNext(status -> {
+                                if (status >= 400) {
+                                    errors.get(operation).incrementAndGet();
+                                }
+                            })
+                            .onErrorResume(error -> {
+                                errors.get(operation).incrementAndGet();
+                                return Mono.empty();
+                            })
+                            .doFinally(signal -> histograms.get(operation)
+                                    .recordValue(Math.max(0, (System.nanoTime() - intendedStart) / 1000)));
+                }, maxInFlight)
+                .blockLast();
+
+        double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000d;
+        long dbQueries = repositoryQueryCount() - queriesBefore;
+
+        List<ScenarioResult.OperationResult> operations = new ArrayList<>();
+        for (Operation operation : Operation.values()) {
+            Histogram histogram = histograms.get(operation);
+            if (histogram.getTotalCount() > 0) {
+                operations.add(ScenarioResult.OperationResult.of(operation.name(), histogram, errors.get(operation).get()));
+            }
+        }
+        Histogram all = new Histogram(3);
+        histograms.values().forEach(all::add);
+        long errorCount = errors.values().stream().mapToLong(AtomicLong::get).sum();
+
+        return new ScenarioResult(scenario.name(), targetRate, all.getTotalCount() / elapsedSeconds,
+                all.getTotalCount(), errorCount, dbQueries,
+                all.getTotalCount() == 0 ? 0 : (double) dbQueries / all.getTotalCount(),
+                ScenarioResult.OperationResult.of("ALL", all, errorCount), operations);
+    }
+
+    void close() {
+        connectionProvider.dispose();
+    }
+
+    private Mono<Integer> execute(Operation operation) {
+        Catalog.Entry entry = catalog.randomEntry();
+        WebClient.RequestHeadersSpec<?> request = switch (operation) {
+            case ROUTING -> webClient.get().uri(uri -> uri.path("/templates/vendors/routing")
+                    .queryParam("templateId", entry.masterTemplateId())
+                    .queryParam("templateVersion", entry.templateVersion())
+                    .queryParam("vendorType", entry.randomVendorType())
+                    .build());
+            case GET -> webClient.get().uri("/templates/{id}/versions/{version}",
+                    entry.masterTemplateId(), entry.templateVersion());
+            // All filters are bound: H2 cannot type a bare "? IS NULL" parameter
+            case LIST -> webClient.get().uri(uri -> uri.path("/templates")
+                    .queryParam("lineOfBusiness", entry.lineOfBusiness())
+                    .queryParam("templateType", entry.templateType())
+                    .queryParam("activeFlag", true)
+                    .queryParam("communicationType", entry.communicationType())
+                    .queryParam("page", 0)
+                    .queryParam("size", 20)
+                    .build());
+            case UPDATE -> webClient.patch().uri("/templates/{id}/versions/{version}",
+                            entry.masterTemplateId(), entry.templateVersion())
+                    .header("X-User-Id", "loadtest")
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .bodyValue("{\"templateDescription\":\"Load test update " + updateSequence.incrementAndGet() + "\"}");
+        };
+        return request.exchangeToMono(response -> response.releaseBody().thenReturn(response.rawStatusCode()));
+    }
+
+    private long repositoryQueryCount() {
+        return meterRegistry.find(REPOSITORY_QUERY_METRIC).timers().stream()
+                .mapToLong(Timer::count)
+                .sum();
+    }
+}
@@ -0,0 +1,107 @@
+package com.templatemanagement.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.EventLoopGroup;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import reactor.blockhound.BlockingOperationError;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("EventLoopStallDetector Tests")
+class EventLoopStallDetectorTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private EventLoopGroup group;
+    private EventLoopStallDetector detector;
+
+    @BeforeEach
+    void setUp() {
+        group = new DefaultEventLoopGroup(1);
+        detector = new EventLoopStallDetector(registry, Map.of("test", group),
+                Duration.ofMillis(100), Duration.ofMillis(50), 32);
+    }
+
+    @AfterEach
+    void tearDown() {
+        group.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("Should record probe latency on an idle loop without reporting a stall")
+    void check_IdleLoop() throws Exception {
+        detector.check();
+        drain();
+        detector.check();
+        drain();
+
+        assertThat(registry.get("eventloop.task.latency").tag("loop", "test-0").timer().count()).isEqualTo(2);
+        assertThat(registry.get("eventloop.stalls").tag("loop", "test-0").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should report a stall once while the loop is busy and record its duration when it recovers")
+    void check_StalledLoop() throws Exception {
+        detector.check();
+        drain();
+
+        // Spin rather than sleep: a CPU-bound task stalls the loop the same way and is not a blocking call
+        AtomicBoolean released = new AtomicBoolean();
+        group.execute(() -> {
+            while (!released.get()) {
+                Thread.onSpinWait();
+            }
+        });
+        detector.check();
+        Thread.sleep(80);
+        detector.check();
+        detector.check();
+
+        assertThat(registry.get("eventloop.stalls").tag("loop", "test-0").counter().count()).isEqualTo(1);
+
+        released.set(true);
+        drain();
+
+        assertThat(registry.get("eventloop.stall.duration").tag("loop", "test-0").timer().count()).isEqualTo(1);
+        assertThat(registry.get("eventloop.task.latency").tag("loop", "test-0").timer().count()).isEqualTo(2);
+    }
+
+    /**
+     * Waits for everything queued on the loop so far, probes included
+     */
+    private void drain() throws Exception {
+        group.submit(() -> { }).get();
+    }
+
+    @Nested
+    @DisplayName("Blocking guard (-Pblocking-guard)")
+    @EnabledIfSystemProperty(named = "blockhound.enabled", matches = "true")
+    class BlockingGuard {
+
+        @Test
+        @DisplayName("Should fail a blocking call on a non-blocking thread")
+        void blockingCall_OnParallelScheduler() {
+            StepVerifier.create(Mono.fromCallable(() -> {
+                        Thread.sleep(10);
+                        return "slept";
+                    })
+                    .subscribeOn(Schedulers.parallel()))
+                    .expectError(BlockingOperationError.class)
+                    .verify();
+        }
+    }
+}
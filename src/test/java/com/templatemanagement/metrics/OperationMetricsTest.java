@@ -0,0 +1,34 @@
+package com.templatemanagement.metrics;
+
+import com.templatemanagement.exception.ConflictException;
+import com.templatemanagement.exception.PreconditionFailedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("OperationMetrics Tests")
+class OperationMetricsTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final OperationMetrics metrics = new OperationMetrics(registry, new long[]{10, 100});
+
+    @Test
+    @DisplayName("Should tag a failed If-Match precondition apart from conflicts and errors")
+    void outcome_PreconditionFailed() {
+        StepVerifier.create(metrics.timed("updateTemplate", Mono.error(new PreconditionFailedException("stale"))))
+                .verifyError(PreconditionFailedException.class);
+        StepVerifier.create(metrics.timed("updateTemplate", Mono.error(new ConflictException("duplicate"))))
+                .verifyError(ConflictException.class);
+
+        assertThat(registry.find("template.operation").tag("outcome", "precondition_failed").timer())
+                .isNotNull()
+                .satisfies(timer -> assertThat(timer.count()).isEqualTo(1));
+        assertThat(registry.find("template.operation").tag("outcome", "conflict").timer()).isNotNull();
+        assertThat(registry.find("template.operation").tag("outcome", "error").timer()).isNull();
+    }
+}
@@ -0,0 +1,133 @@
+package com.templatemanagement.service;
+
+import com.templatemanagement.dao.CatalogChangeOutboxDao;
+import com.templatemanagement.dao.CatalogImportDao;
+import com.templatemanagement.dao.MasterTemplateDao;
+import com.templatemanagement.dto.request.TemplateCreateRequest;
+import com.templatemanagement.dto.request.TemplateImportRequest;
+import com.templatemanagement.dto.request.TemplateVendorCreateRequest;
+import com.templatemanagement.dto.response.TemplateImportResult;
+import com.templatemanagement.entity.TemplateVendorMappingEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.ReactiveTransaction;
+import org.springframework.transaction.ReactiveTransactionManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import javax.validation.Validation;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TemplateImportService Tests")
+class TemplateImportServiceTest {
+
+    @Mock
+    private MasterTemplateDao templateDao;
+
+    @Mock
+    private CatalogImportDao importDao;
+
+    @Mock
+    private CatalogChangeOutboxDao outboxDao;
+
+    @Mock
+    private ReactiveTransactionManager transactionManager;
+
+    private TemplateImportService importService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionManager.getReactiveTransaction(any())).thenReturn(Mono.just(mock(ReactiveTransaction.class)));
+        lenient().when(transactionManager.commit(any())).thenReturn(Mono.empty());
+        lenient().when(outboxDao.append(any())).thenReturn(Mono.empty());
+        importService = new TemplateImportService(templateDao, importDao, outboxDao,
+                Validation.buildDefaultValidatorFactory().getValidator(), transactionManager, 2);
+    }
+
+    @Test
+    @DisplayName("Should batch-insert new templates and report duplicates and invalid records in input order")
+    void importTemplates_MixedRecords() {
+        when(templateDao.findExistingTemplateTypes(anyCollection())).thenReturn(Flux.just("EXISTING"));
+        when(importDao.insertTemplates(any())).thenAnswer(invocation -> Mono.just((long) invocation.<List<?>>getArgument(0).size()));
+        when(importDao.insertVendorMappings(any())).thenAnswer(invocation -> Mono.just((long) invocation.<List<?>>getArgument(0).size()));
+
+        Flux<TemplateImportRequest> records = Flux.just(
+                record("NEW_1", vendor("SMARTCOMM", "GENERATION")),
+                record("EXISTING"),
+                record("NEW_2"),
+                record(null),
+                record("NEW_1"));
+
+        StepVerifier.create(importService.importTemplates(records, "importer"))
+                .assertNext(result -> {
+                    assertThat(result.getLine()).isEqualTo(1);
+                    assertThat(result.getStatus()).isEqualTo(TemplateImportResult.Status.CREATED);
+                    assertThat(result.getVendorMappingsCreated()).isEqualTo(1);
+                })
+                .assertNext(result -> assertThat(result.getStatus()).isEqualTo(TemplateImportResult.Status.DUPLICATE))
+                .assertNext(result -> assertThat(result.getStatus()).isEqualTo(TemplateImportResult.Status.CREATED))
+                .assertNext(result -> assertThat(result.getStatus()).isEqualTo(TemplateImportResult.Status.INVALID))
+                .assertNext(result -> {
+                    assertThat(result.getLine()).isEqualTo(5);
+                    assertThat(result.getStatus()).isEqualTo(TemplateImportResult.Status.DUPLICATE);
+                })
+                .verifyComplete();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TemplateVendorMappingEntity>> vendors = ArgumentCaptor.forClass(List.class);
+        verify(importDao, times(2)).insertVendorMappings(vendors.capture());
+        TemplateVendorMappingEntity vendor = vendors.getAllValues().get(0).get(0);
+        assertThat(vendor.getTemplateVersion()).isEqualTo(1);
+        assertThat(vendor.getMasterTemplateId()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should report FAILED for every record of a window whose insert fails")
+    void importTemplates_WindowFails() {
+        when(transactionManager.rollback(any())).thenReturn(Mono.empty());
+        when(templateDao.findExistingTemplateTypes(anyCollection())).thenReturn(Flux.empty());
+        when(importDao.insertTemplates(any())).thenReturn(Mono.error(new IllegalStateException("connection reset")));
+        when(importDao.insertVendorMappings(any())).thenReturn(Mono.just(0L));
+
+        StepVerifier.create(importService.importTemplates(Flux.just(record("A"), record("B")), "importer"))
+                .expectNextMatches(result -> result.getStatus() == TemplateImportResult.Status.FAILED)
+                .expectNextMatches(result -> result.getStatus() == TemplateImportResult.Status.FAILED)
+                .verifyComplete();
+    }
+
+    private static TemplateImportRequest record(String templateType, TemplateVendorCreateRequest... vendors) {
+        return TemplateImportRequest.builder()
+                .template(TemplateCreateRequest.builder()
+                        .templateType(templateType)
+                        .lineOfBusiness("CREDIT_CARD")
+                        .displayName("Display " + templateType)
+                        .startDate(System.currentTimeMillis())
+                        .build())
+                .vendorMappings(List.of(vendors))
+                .build();
+    }
+
+    private static TemplateVendorCreateRequest vendor(String vendor, String vendorType) {
+        return TemplateVendorCreateRequest.builder()
+                .vendor(vendor)
+                .vendorType(vendorType)
+                .vendorTemplateKey(vendor.toLowerCase() + "-key")
+                .build();
+    }
+}
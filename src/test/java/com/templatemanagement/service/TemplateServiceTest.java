@@ -1,12 +1,15 @@
 package com.templatemanagement.service;
 
+import com.templatemanagement.dao.CatalogChangeOutboxDao;
 import com.templatemanagement.dao.MasterTemplateDao;
 import com.templatemanagement.dao.TemplateVendorMappingDao;
+import com.templatemanagement.dto.CatalogChangeEvent;
 import com.templatemanagement.dto.MasterTemplateDto;
 import com.templatemanagement.dto.TemplateVendorMappingDto;
 import com.templatemanagement.dto.request.TemplateCreateRequest;
 import com.templatemanagement.dto.request.TemplateUpdateRequest;
 import com.templatemanagement.dto.request.TemplateVendorCreateRequest;
+import com.templatemanagement.dto.request.VendorBulkUpdateRequest;
 import com.templatemanagement.dto.response.TemplatePageResponse;
 import com.templatemanagement.dto.response.TemplateResponse;
 import com.templatemanagement.dto.response.TemplateVendorPageResponse;
@@ -14,7 +17,9 @@ import com.templatemanagement.dto.response.TemplateVendorResponse;
 import com.templatemanagement.entity.MasterTemplateDefinitionEntity;
 import com.templatemanagement.entity.TemplateVendorMappingEntity;
 import com.templatemanagement.exception.ConflictException;
+import com.templatemanagement.exception.PreconditionFailedException;
 import com.templatemanagement.exception.ResourceNotFoundException;
+import com.templatemanagement.repository.VendorMappingKey;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -28,7 +33,10 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
@@ -44,6 +52,9 @@ class TemplateServiceTest {
     @Mock
     private TemplateVendorMappingDao vendorDao;
 
+    @Mock
+    private CatalogChangeOutboxDao outboxDao;
+
     @InjectMocks
     private TemplateService templateService;
 
@@ -54,6 +65,7 @@ class TemplateServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(outboxDao.append(any())).thenReturn(Mono.empty());
         templateId = UUID.randomUUID();
         vendorId = UUID.randomUUID();
 
@@ -95,8 +107,7 @@ class TemplateServiceTest {
                     .startDate(System.currentTimeMillis())
                     .build();
 
-            when(templateDao.existsByTemplateType(anyString())).thenReturn(Mono.just(false));
-            when(templateDao.save(any(MasterTemplateDefinitionEntity.class))).thenReturn(Mono.just(sampleTemplate));
+            when(templateDao.insertIfTypeAbsent(any(MasterTemplateDefinitionEntity.class))).thenReturn(Mono.just(sampleTemplate));
 
             StepVerifier.create(templateService.createTemplate(request, "test-user"))
                     .assertNext(response -> {
@@ -106,8 +117,12 @@ class TemplateServiceTest {
                     })
                     .verifyComplete();
 
-            verify(templateDao).existsByTemplateType("STATEMENT");
-            verify(templateDao).save(any(MasterTemplateDefinitionEntity.class));
+            verify(templateDao).insertIfTypeAbsent(argThat(entity -> "STATEMENT".equals(entity.getTemplateType())));
+            verify(templateDao, never()).save(any());
+            verify(outboxDao).append(argThat(events -> events.size() == 1
+                    && events.get(0).getChangeType() == CatalogChangeEvent.ChangeType.TEMPLATE_CREATED
+                    && templateId.equals(events.get(0).getMasterTemplateId())
+                    && "CREDIT_CARD".equals(events.get(0).getLineOfBusiness())));
         }
 
         @Test
@@ -120,14 +135,14 @@ class TemplateServiceTest {
                     .startDate(System.currentTimeMillis())
                     .build();
 
-            when(templateDao.existsByTemplateType(anyString())).thenReturn(Mono.just(true));
+            when(templateDao.insertIfTypeAbsent(any(MasterTemplateDefinitionEntity.class))).thenReturn(Mono.empty());
 
             StepVerifier.create(templateService.createTemplate(request, "test-user"))
                     .expectError(ConflictException.class)
                     .verify();
 
-            verify(templateDao).existsByTemplateType("STATEMENT");
             verify(templateDao, never()).save(any());
+            verifyNoInteractions(outboxDao);
         }
 
         @Test
@@ -171,7 +186,19 @@ class TemplateServiceTest {
         }
 
         @Test
-        @DisplayName("Should update template successfully")
+        @DisplayName("Should stream a page of templates without counting")
+        void streamTemplates_Success() {
+            when(templateDao.findWithFilters("CREDIT_CARD", null, null, null, 0, 20)).thenReturn(Flux.just(sampleTemplate));
+
+            StepVerifier.create(templateService.streamTemplates("CREDIT_CARD", null, null, null, 0, 20))
+                    .expectNext(sampleTemplate)
+                    .verifyComplete();
+
+            verify(templateDao, never()).countWithFilters(any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should update only the requested columns without reading the template first")
         void updateTemplate_Success() {
             TemplateUpdateRequest request = TemplateUpdateRequest.builder()
                     .displayName("Updated Statement")
@@ -184,15 +211,145 @@ class TemplateServiceTest {
                     .displayName("Updated Statement")
                     .build();
 
-            when(templateDao.findByIdAndVersion(templateId, 1)).thenReturn(Mono.just(sampleTemplate));
-            when(templateDao.update(any(MasterTemplateDefinitionEntity.class))).thenReturn(Mono.just(updatedTemplate));
+            when(templateDao.update(any(MasterTemplateDto.class), eq("test-user"), isNull())).thenReturn(Mono.just(updatedTemplate));
 
-            StepVerifier.create(templateService.updateTemplate(templateId, 1, request, "test-user", false))
+            StepVerifier.create(templateService.updateTemplate(templateId, 1, request, "test-user", false, false, null))
                     .assertNext(response -> {
                         assertThat(response).isNotNull();
                         assertThat(response.getTemplate().getDisplayName()).isEqualTo("Updated Statement");
                     })
                     .verifyComplete();
+
+            verify(templateDao).update(argThat(changes -> templateId.equals(changes.getMasterTemplateId())
+                    && changes.getTemplateVersion() == 1
+                    && "Updated Statement".equals(changes.getDisplayName())
+                    && changes.getActiveFlag() == null
+                    && changes.getTemplateConfig() == null), eq("test-user"), isNull());
+            verify(templateDao, never()).findByIdAndVersion(any(), any());
+        }
+
+        @Test
+        @DisplayName("Should report ResourceNotFoundException when the update matches no live template")
+        void updateTemplate_NotFound() {
+            when(templateDao.update(any(MasterTemplateDto.class), any(), isNull())).thenReturn(Mono.empty());
+            when(templateDao.findByIdAndVersion(templateId, 1)).thenReturn(Mono.empty());
+
+            StepVerifier.create(templateService.updateTemplate(templateId, 1,
+                            TemplateUpdateRequest.builder().activeFlag(false).build(), "test-user", false, false, null))
+                    .expectError(ResourceNotFoundException.class)
+                    .verify();
+        }
+
+        @Test
+        @DisplayName("Should create a new version with the version allocated by the insert")
+        void updateTemplate_NewVersion() {
+            TemplateUpdateRequest request = TemplateUpdateRequest.builder()
+                    .displayName("Updated Statement")
+                    .build();
+
+            MasterTemplateDto newVersion = MasterTemplateDto.builder()
+                    .masterTemplateId(templateId)
+                    .templateVersion(2)
+                    .templateType("STATEMENT")
+                    .displayName("Updated Statement")
+                    .build();
+
+            when(templateDao.findByIdAndVersion(templateId, 1)).thenReturn(Mono.just(sampleTemplate));
+            when(templateDao.insertNextVersion(any(MasterTemplateDto.class))).thenReturn(Mono.just(newVersion));
+
+            StepVerifier.create(templateService.updateTemplate(templateId, 1, request, "test-user", true, false, null))
+                    .assertNext(response -> assertThat(response.getTemplate().getTemplateVersion()).isEqualTo(2))
+                    .verifyComplete();
+
+            verify(templateDao).insertNextVersion(argThat(template -> template.getTemplateVersion() == null));
+            verify(templateDao, never()).getNextVersionNumber(any());
+            verify(vendorDao, never()).cloneActiveMappings(any(), any(), any(), any());
+        }
+
+        @Test
+        @DisplayName("Should carry the source version's JSON configs into a new version and apply the request's")
+        void updateTemplate_NewVersionKeepsConfigs() {
+            sampleTemplate.setVersionNumber(7L);
+            sampleTemplate.setTemplateConfig(Map.of("channel", "PRINT"));
+            sampleTemplate.setEligibilityCriteria(Map.of("minBalance", 100));
+            sampleTemplate.setAccessControl(Map.of("roles", List.of("ADMIN")));
+            TemplateUpdateRequest request = TemplateUpdateRequest.builder()
+                    .eligibilityCriteria(Map.of("minBalance", 250))
+                    .build();
+
+            when(templateDao.findByIdAndVersion(templateId, 1)).thenReturn(Mono.just(sampleTemplate));
+            when(templateDao.insertNextVersion(any(MasterTemplateDto.class))).thenAnswer(invocation -> {
+                MasterTemplateDto inserted = invocation.getArgument(0);
+                inserted.setTemplateVersion(2);
+                return Mono.just(inserted);
+            });
+
+            StepVerifier.create(templateService.updateTemplate(templateId, 1, request, "test-user", true, false, null))
+                    .assertNext(response -> {
+                        MasterTemplateDto created = response.getTemplate();
+                        assertThat(created.getTemplateConfig()).containsEntry("channel", "PRINT");
+                        assertThat(created.getAccessControl()).containsEntry("roles", List.of("ADMIN"));
+                        assertThat(created.getEligibilityCriteria()).containsEntry("minBalance", 250);
+                        assertThat(created.getVersionNumber()).isEqualTo(1L);
+                    })
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should copy the source version's active vendor mappings to a new version on request")
+        void updateTemplate_NewVersionWithVendorMappings() {
+            MasterTemplateDto newVersion = MasterTemplateDto.builder()
+                    .masterTemplateId(templateId)
+                    .templateVersion(2)
+                    .templateType("STATEMENT")
+                    .build();
+            TemplateVendorMappingDto clonedVendor = TemplateVendorMappingDto.builder()
+                    .templateVendorId(UUID.randomUUID())
+                    .masterTemplateId(templateId)
+                    .templateVersion(2)
+                    .vendor("SMARTCOMM")
+                    .vendorType("GENERATION")
+                    .build();
+
+            when(templateDao.findByIdAndVersion(templateId, 1)).thenReturn(Mono.just(sampleTemplate));
+            when(templateDao.insertNextVersion(any(MasterTemplateDto.class))).thenReturn(Mono.just(newVersion));
+            when(vendorDao.cloneActiveMappings(templateId, 1, 2, "test-user")).thenReturn(Flux.just(clonedVendor));
+
+            StepVerifier.create(templateService.updateTemplate(templateId, 1,
+                            TemplateUpdateRequest.builder().build(), "test-user", true, true, null))
+                    .assertNext(response -> {
+                        assertThat(response.getTemplate().getTemplateVersion()).isEqualTo(2);
+                        assertThat(response.getVendorMappings()).containsExactly(clonedVendor);
+                    })
+                    .verifyComplete();
+        }
+
+        @Test
+        @DisplayName("Should reject If-Match update when the stored version moved on")
+        void updateTemplate_StaleIfMatch() {
+            sampleTemplate.setVersionNumber(5L);
+            when(templateDao.update(any(MasterTemplateDto.class), any(), eq(4L))).thenReturn(Mono.empty());
+            when(templateDao.findByIdAndVersion(templateId, 1)).thenReturn(Mono.just(sampleTemplate));
+
+            StepVerifier.create(templateService.updateTemplate(templateId, 1,
+                            TemplateUpdateRequest.builder().activeFlag(false).build(), "test-user", false, false, 4L))
+                    .expectError(PreconditionFailedException.class)
+                    .verify();
+
+            verify(templateDao, atLeastOnce()).invalidateCache(templateId, 1);
+        }
+
+        @Test
+        @DisplayName("Should map a lost conditional update race to PreconditionFailedException")
+        void updateTemplate_ConcurrentWrite() {
+            sampleTemplate.setVersionNumber(4L);
+            when(templateDao.update(any(MasterTemplateDto.class), any(), eq(4L))).thenReturn(Mono.empty());
+            when(templateDao.findByIdAndVersion(templateId, 1)).thenReturn(Mono.just(sampleTemplate));
+
+            StepVerifier.create(templateService.updateTemplate(templateId, 1,
+                            TemplateUpdateRequest.builder().activeFlag(false).build(), "test-user", false, false, 4L))
+                    .expectError(PreconditionFailedException.class)
+                    .verify();
         }
 
         @Test
@@ -206,6 +363,37 @@ class TemplateServiceTest {
 
             verify(templateDao).archiveTemplate(templateId, 1, "test-user");
         }
+
+        @Test
+        @DisplayName("Should cascade archive all versions and invalidate the archived vendor mappings")
+        void archiveTemplateCascade_AllVersions() {
+            VendorMappingKey vendorRow = new VendorMappingKey(vendorId, templateId, 1, "GENERATION");
+            when(templateDao.archiveTemplateCascade(templateId, null, "test-user")).thenReturn(Flux.just(
+                    new VendorMappingKey(null, templateId, 1, null),
+                    new VendorMappingKey(null, templateId, 2, null),
+                    vendorRow));
+
+            StepVerifier.create(templateService.archiveTemplateCascade(templateId, null, "test-user"))
+                    .verifyComplete();
+
+            verify(vendorDao).invalidateMappings(List.of(vendorRow));
+            verify(outboxDao).append(argThat(events -> events.stream()
+                    .map(CatalogChangeEvent::getChangeType)
+                    .collect(Collectors.toList())
+                    .equals(List.of(CatalogChangeEvent.ChangeType.TEMPLATE_ARCHIVED,
+                            CatalogChangeEvent.ChangeType.TEMPLATE_ARCHIVED,
+                            CatalogChangeEvent.ChangeType.VENDOR_MAPPING_ARCHIVED))));
+        }
+
+        @Test
+        @DisplayName("Should throw not found when cascade archive touches no rows")
+        void archiveTemplateCascade_NotFound() {
+            when(templateDao.archiveTemplateCascade(templateId, 3, "test-user")).thenReturn(Flux.empty());
+
+            StepVerifier.create(templateService.archiveTemplateCascade(templateId, 3, "test-user"))
+                    .expectError(ResourceNotFoundException.class)
+                    .verify();
+        }
     }
 
     @Nested
@@ -223,17 +411,18 @@ class TemplateServiceTest {
                     .vendorTemplateKey("SC-001")
                     .build();
 
+            when(vendorDao.insertIfTemplateLiveAndUnmapped(any(TemplateVendorMappingEntity.class))).thenReturn(Mono.just(sampleVendor));
             when(templateDao.findByIdAndVersion(templateId, 1)).thenReturn(Mono.just(sampleTemplate));
-            when(vendorDao.existsDuplicateMapping(templateId, 1, "SmartComm", "GENERATION"))
-                    .thenReturn(Mono.just(false));
-            when(vendorDao.save(any(TemplateVendorMappingEntity.class))).thenReturn(Mono.just(sampleVendor));
 
             StepVerifier.create(templateService.createVendorMapping(request, "test-user"))
                     .assertNext(response -> {
                         assertThat(response).isNotNull();
                         assertThat(response.getVendorMapping().getVendor()).isEqualTo("SmartComm");
+                        assertThat(response.getTemplateDetails()).isEqualTo(sampleTemplate);
                     })
                     .verifyComplete();
+
+            verify(vendorDao, never()).save(any());
         }
 
         @Test
@@ -247,9 +436,8 @@ class TemplateServiceTest {
                     .vendorTemplateKey("SC-001")
                     .build();
 
+            when(vendorDao.insertIfTemplateLiveAndUnmapped(any(TemplateVendorMappingEntity.class))).thenReturn(Mono.empty());
             when(templateDao.findByIdAndVersion(templateId, 1)).thenReturn(Mono.just(sampleTemplate));
-            when(vendorDao.existsDuplicateMapping(templateId, 1, "SmartComm", "GENERATION"))
-                    .thenReturn(Mono.just(true));
 
             StepVerifier.create(templateService.createVendorMapping(request, "test-user"))
                     .expectError(ConflictException.class)
@@ -258,6 +446,25 @@ class TemplateServiceTest {
             verify(vendorDao, never()).save(any());
         }
 
+        @Test
+        @DisplayName("Should throw ResourceNotFoundException when the mapping's template version is not live")
+        void createVendorMapping_TemplateNotFound() {
+            TemplateVendorCreateRequest request = TemplateVendorCreateRequest.builder()
+                    .masterTemplateId(templateId)
+                    .templateVersion(2)
+                    .vendor("SmartComm")
+                    .vendorType("GENERATION")
+                    .vendorTemplateKey("SC-001")
+                    .build();
+
+            when(vendorDao.insertIfTemplateLiveAndUnmapped(any(TemplateVendorMappingEntity.class))).thenReturn(Mono.empty());
+            when(templateDao.findByIdAndVersion(templateId, 2)).thenReturn(Mono.empty());
+
+            StepVerifier.create(templateService.createVendorMapping(request, "test-user"))
+                    .expectError(ResourceNotFoundException.class)
+                    .verify();
+        }
+
         @Test
         @DisplayName("Should get vendor mapping by ID successfully")
         void getVendorMappingById_Success() {
@@ -300,5 +507,44 @@ class TemplateServiceTest {
                     })
                     .verifyComplete();
         }
+
+        @Test
+        @DisplayName("Should bulk update mappings of a vendor and return the affected count")
+        void bulkUpdateVendorMappings_ByVendor() {
+            when(vendorDao.bulkUpdateByVendor("SmartComm", null, "INACTIVE", false, null, "admin"))
+                    .thenReturn(Mono.just(List.of(
+                            new VendorMappingKey(UUID.randomUUID(), templateId, 1, "GENERATION"),
+                            new VendorMappingKey(UUID.randomUUID(), templateId, 1, "PRINT"),
+                            new VendorMappingKey(UUID.randomUUID(), templateId, 2, "GENERATION"))));
+
+            VendorBulkUpdateRequest request = VendorBulkUpdateRequest.builder()
+                    .vendor("SmartComm")
+                    .vendorStatus("INACTIVE")
+                    .activeFlag(false)
+                    .build();
+
+            StepVerifier.create(templateService.bulkUpdateVendorMappings(request, "admin"))
+                    .assertNext(response -> assertThat(response.getAffectedCount()).isEqualTo(3))
+                    .verifyComplete();
+
+            verify(outboxDao).append(argThat(events -> events.size() == 3 && events.stream()
+                    .allMatch(event -> event.getChangeType() == CatalogChangeEvent.ChangeType.VENDOR_MAPPING_UPDATED)));
+        }
+
+        @Test
+        @DisplayName("Should reject bulk update that mixes vendorIds with a vendor selector")
+        void bulkUpdateVendorMappings_AmbiguousSelector() {
+            VendorBulkUpdateRequest request = VendorBulkUpdateRequest.builder()
+                    .vendor("SmartComm")
+                    .vendorIds(List.of(vendorId))
+                    .priorityOrder(2)
+                    .build();
+
+            StepVerifier.create(templateService.bulkUpdateVendorMappings(request, "admin"))
+                    .expectError(IllegalArgumentException.class)
+                    .verify();
+
+            verifyNoInteractions(vendorDao);
+        }
     }
 }
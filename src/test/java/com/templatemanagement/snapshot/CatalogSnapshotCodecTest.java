@@ -0,0 +1,102 @@
+package com.templatemanagement.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.templatemanagement.dto.MasterTemplateDto;
+import com.templatemanagement.dto.TemplateVendorMappingDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CatalogSnapshotCodec Tests")
+class CatalogSnapshotCodecTest {
+
+    @TempDir
+    Path tempDir;
+
+    private ObjectMapper objectMapper;
+    private UUID templateId;
+    private CatalogSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        templateId = UUID.randomUUID();
+        MasterTemplateDto template = MasterTemplateDto.builder()
+                .masterTemplateId(templateId)
+                .templateVersion(1)
+                .templateType("STATEMENT")
+                .templateConfig(Map.of("channel", "PRINT"))
+                .createdTimestamp(LocalDateTime.now())
+                .build();
+
+        TemplateVendorMappingDto primary = vendor("SmartComm", 1, "ACTIVE");
+        TemplateVendorMappingDto backup = vendor("Assentis", 2, "DEGRADED");
+        TemplateVendorMappingDto down = vendor("LPS", 3, "INACTIVE");
+
+        snapshot = new CatalogSnapshot(Instant.now().truncatedTo(ChronoUnit.MILLIS),
+                List.of(template), List.of(backup, down, primary));
+    }
+
+    @Test
+    @DisplayName("Should round-trip templates, vendors and routing lists")
+    void writeAndRead_RoundTrip() throws IOException {
+        Path path = tempDir.resolve("catalog.bin");
+
+        CatalogSnapshotCodec.write(path, snapshot, objectMapper);
+        CatalogSnapshot loaded = CatalogSnapshotCodec.read(path, objectMapper);
+
+        assertThat(loaded.getCreatedAt()).isEqualTo(snapshot.getCreatedAt());
+        assertThat(loaded.findTemplate(templateId, 1).getTemplateConfig()).containsEntry("channel", "PRINT");
+        assertThat(loaded.getVendorMappings()).hasSize(3);
+        assertThat(loaded.findRoutingList(templateId, 1, "GENERATION"))
+                .extracting(TemplateVendorMappingDto::getVendor)
+                .containsExactly("SmartComm", "Assentis");
+    }
+
+    @Test
+    @DisplayName("Should reject a corrupted snapshot file")
+    void read_CorruptedFile() throws IOException {
+        Path path = tempDir.resolve("catalog.bin");
+        CatalogSnapshotCodec.write(path, snapshot, objectMapper);
+
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length - 2] ^= 0x7F;
+        Files.write(path, bytes);
+
+        assertThatThrownBy(() -> CatalogSnapshotCodec.read(path, objectMapper))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("checksum");
+    }
+
+    private TemplateVendorMappingDto vendor(String name, int priority, String status) {
+        return TemplateVendorMappingDto.builder()
+                .templateVendorId(UUID.randomUUID())
+                .masterTemplateId(templateId)
+                .templateVersion(1)
+                .vendor(name)
+                .vendorType("GENERATION")
+                .priorityOrder(priority)
+                .vendorStatus(status)
+                .activeFlag(true)
+                .build();
+    }
+}
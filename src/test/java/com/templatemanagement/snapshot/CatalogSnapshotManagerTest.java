@@ -0,0 +1,94 @@
+package com.templatemanagement.snapshot;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.templatemanagement.dao.MasterTemplateDao;
+import com.templatemanagement.dao.TemplateVendorMappingDao;
+import com.templatemanagement.dto.MasterTemplateDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CatalogSnapshotManager Tests")
+class CatalogSnapshotManagerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Mock
+    private MasterTemplateDao templateDao;
+
+    @Mock
+    private TemplateVendorMappingDao vendorDao;
+
+    private final CatalogSnapshotHolder snapshotHolder = new CatalogSnapshotHolder();
+    private ObjectMapper objectMapper;
+    private Path path;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        path = tempDir.resolve("catalog.bin");
+    }
+
+    @Test
+    @DisplayName("Should keep a snapshot as the read fallback only, without warming the caches, by default")
+    void loadSnapshot_WarmUpDisabled() throws IOException {
+        writeSnapshot(Duration.ofMinutes(1));
+
+        manager(0).loadSnapshot();
+
+        assertThat(snapshotHolder.getSnapshot()).isPresent();
+        verify(templateDao, never()).warmCache(anyList());
+        verify(vendorDao, never()).warmCache(anyList(), anyList());
+    }
+
+    @Test
+    @DisplayName("Should warm the caches only from a snapshot within the configured age")
+    void loadSnapshot_WarmUpBounded() throws IOException {
+        writeSnapshot(Duration.ofMinutes(10));
+
+        manager(5).loadSnapshot();
+        verify(templateDao, never()).warmCache(anyList());
+
+        manager(15).loadSnapshot();
+        verify(templateDao).warmCache(anyList());
+        verify(vendorDao).warmCache(anyList(), any());
+    }
+
+    private CatalogSnapshotManager manager(long warmMaxAgeMinutes) {
+        return new CatalogSnapshotManager(templateDao, vendorDao, snapshotHolder, objectMapper,
+                path.toString(), warmMaxAgeMinutes);
+    }
+
+    private void writeSnapshot(Duration age) throws IOException {
+        MasterTemplateDto template = MasterTemplateDto.builder()
+                .masterTemplateId(UUID.randomUUID())
+                .templateVersion(1)
+                .templateType("STATEMENT")
+                .build();
+        CatalogSnapshotCodec.write(path, new CatalogSnapshot(Instant.now().minus(age), List.of(template), List.of()),
+                objectMapper);
+    }
+}
@@ -0,0 +1,121 @@
+-- Load-test schema for the in-memory H2 database (r2dbc-h2). Mirrors the columns mapped by the R2DBC entities.
+-- JSON columns are plain strings here; LoadTestConversions maps them to the entity Json/JsonNode types.
+CREATE SCHEMA IF NOT EXISTS document_hub;
+
+DROP TABLE IF EXISTS document_hub.catalog_change_outbox;
+DROP TABLE IF EXISTS document_hub.template_vendor_mapping;
+DROP TABLE IF EXISTS document_hub.master_template_definition;
+
+CREATE TABLE document_hub.master_template_definition (
+    master_template_id       UUID         NOT NULL,
+    template_version         INTEGER      NOT NULL,
+    legacy_template_id       VARCHAR(100),
+    legacy_template_name     VARCHAR(255),
+    template_name            VARCHAR(255),
+    template_description     CHARACTER VARYING(4000),
+    line_of_business         VARCHAR(50),
+    template_category        VARCHAR(100),
+    template_type_old        VARCHAR(100),
+    template_type            VARCHAR(100),
+    language_code            VARCHAR(10),
+    owning_dept              VARCHAR(100),
+    notification_needed      BOOLEAN,
+    regulatory_flag          BOOLEAN,
+    message_center_doc_flag  BOOLEAN,
+    display_name             VARCHAR(255),
+    active_flag              BOOLEAN,
+    shared_document_flag     BOOLEAN,
+    sharing_scope            VARCHAR(50),
+    document_channel_old     CHARACTER VARYING(1048576),
+    template_variables       CHARACTER VARYING(1048576),
+    data_extraction_config   CHARACTER VARYING(1048576),
+    document_matching_config CHARACTER VARYING(1048576),
+    eligibility_criteria     CHARACTER VARYING(1048576),
+    access_control           CHARACTER VARYING(1048576),
+    required_fields          CHARACTER VARYING(1048576),
+    template_config          CHARACTER VARYING(1048576),
+    start_date               BIGINT,
+    end_date                 BIGINT,
+    created_by               VARCHAR(100),
+    created_timestamp        TIMESTAMP,
+    updated_by               VARCHAR(100),
+    updated_timestamp        TIMESTAMP,
+    archive_indicator        BOOLEAN      NOT NULL DEFAULT FALSE,
+    archive_timestamp        TIMESTAMP,
+    version_number           BIGINT,
+    record_status            VARCHAR(50),
+    communication_type       VARCHAR(50),
+    workflow                 VARCHAR(100),
+    single_document_flag     BOOLEAN,
+    PRIMARY KEY (master_template_id, template_version)
+);
+
+CREATE INDEX idx_mtd_type ON document_hub.master_template_definition (template_type);
+CREATE INDEX idx_mtd_created ON document_hub.master_template_definition (created_timestamp);
+-- Delta sync keyset order
+CREATE INDEX idx_mtd_updated ON document_hub.master_template_definition (updated_timestamp, master_template_id, template_version);
+
+CREATE TABLE document_hub.template_vendor_mapping (
+    template_vendor_id       UUID         PRIMARY KEY,
+    master_template_id       UUID         NOT NULL,
+    template_version         INTEGER      NOT NULL,
+    vendor                   VARCHAR(100),
+    vendor_template_key      VARCHAR(255),
+    vendor_template_name     VARCHAR(255),
+    reference_key_type       VARCHAR(50),
+    consumer_id              UUID,
+    template_content         BINARY VARYING(1048576),
+    start_date               BIGINT,
+    end_date                 BIGINT,
+    vendor_mapping_version   INTEGER,
+    primary_flag             BOOLEAN,
+    active_flag              BOOLEAN,
+    template_status          VARCHAR(50),
+    schema_info              CHARACTER VARYING(1048576),
+    template_fields          CHARACTER VARYING(1048576),
+    vendor_config            CHARACTER VARYING(1048576),
+    api_config               CHARACTER VARYING(1048576),
+    created_by               VARCHAR(100),
+    created_timestamp        TIMESTAMP,
+    updated_by               VARCHAR(100),
+    updated_timestamp        TIMESTAMP,
+    archive_indicator        BOOLEAN      NOT NULL DEFAULT FALSE,
+    archive_timestamp        TIMESTAMP,
+    version_number           BIGINT,
+    record_status            VARCHAR(50),
+    vendor_type              VARCHAR(50),
+    priority_order           INTEGER,
+    supported_regions        CHARACTER VARYING(100) ARRAY,
+    vendor_status            VARCHAR(50),
+    rate_limit_per_minute    INTEGER,
+    rate_limit_per_day       INTEGER,
+    timeout_ms               INTEGER,
+    max_retry_attempts       INTEGER,
+    retry_backoff_ms         INTEGER,
+    cost_per_unit            NUMERIC(12, 4),
+    cost_unit                VARCHAR(50),
+    supported_formats        CHARACTER VARYING(100) ARRAY,
+    last_health_check        TIMESTAMP,
+    last_health_status       VARCHAR(50),
+    health_check_endpoint    VARCHAR(500)
+);
+
+CREATE INDEX idx_tvm_template ON document_hub.template_vendor_mapping (master_template_id, template_version);
+CREATE INDEX idx_tvm_routing ON document_hub.template_vendor_mapping (master_template_id, template_version, vendor_type);
+-- Delta sync keyset order
+CREATE INDEX idx_tvm_updated ON document_hub.template_vendor_mapping (updated_timestamp, template_vendor_id);
+
+CREATE TABLE document_hub.catalog_change_outbox (
+    sequence_number          BIGINT       GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    change_type              VARCHAR(50)  NOT NULL,
+    master_template_id       UUID,
+    template_version         INTEGER,
+    template_vendor_id       UUID,
+    line_of_business         VARCHAR(100),
+    vendor                   VARCHAR(100),
+    vendor_type              VARCHAR(50),
+    changed_by               VARCHAR(100),
+    changed_at               TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_cco_changed_at ON document_hub.catalog_change_outbox (changed_at);
@@ -0,0 +1,19 @@
+package com.templatemanagement.client;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * A response body in the near-cache with the ETag it was served with and when it was last
+ * confirmed current
+ */
+record CachedResponse<T>(T body, String eTag, Instant validatedAt) {
+
+    boolean isFresh(Instant now, Duration freshFor) {
+        return now.isBefore(validatedAt.plus(freshFor));
+    }
+
+    CachedResponse<T> revalidated(Instant now) {
+        return new CachedResponse<>(body, eTag, now);
+    }
+}
@@ -0,0 +1,150 @@
+package com.templatemanagement.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.templatemanagement.client.dto.MasterTemplateDto;
+import com.templatemanagement.client.dto.TemplateResponse;
+import com.templatemanagement.client.dto.TemplateVendorMappingDto;
+import com.templatemanagement.client.dto.TemplateVendorPageResponse;
+import com.templatemanagement.client.dto.TemplateVendorResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Reactive client for the Template Management Service read paths (vendor routing, template
+ * versions, vendor mappings) with an in-process near-cache.
+ * <p>
+ * Responses are cached with their ETag and served according to {@link TemplateManagementClientSettings}.
+ * Concurrent lookups of the same key share one request. A 404 yields an empty Mono and drops the
+ * cached entry; other error statuses surface as WebClientResponseException. A failed background
+ * revalidation keeps serving the stale entry until its stale window ends.
+ */
+@Slf4j
+public class TemplateManagementClient {
+
+    private final WebClient webClient;
+    private final TemplateManagementClientSettings settings;
+    private final Clock clock;
+    private final Cache<String, CachedResponse<?>> cache;
+    private final Map<String, Mono<? extends CachedResponse<?>>> inFlight = new ConcurrentHashMap<>();
+
+    public TemplateManagementClient(WebClient.Builder webClientBuilder, TemplateManagementClientSettings settings) {
+        this(webClientBuilder, settings, Clock.systemUTC());
+    }
+
+    TemplateManagementClient(WebClient.Builder webClientBuilder, TemplateManagementClientSettings settings, Clock clock) {
+        this.webClient = webClientBuilder.clone().baseUrl(settings.getBaseUrl()).build();
+        this.settings = settings;
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(settings.getMaximumSize())
+                .expireAfterWrite(settings.getRetainFor())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Active vendors of a template version and vendor type, in failover order
+     */
+    public Mono<List<TemplateVendorMappingDto>> getVendorsForRouting(UUID templateId, int templateVersion, String vendorType) {
+        return lookup("routing:" + templateId + ":" + templateVersion + ":" + vendorType, TemplateVendorPageResponse.class,
+                spec -> spec.uri("/templates/vendors/routing?templateId={templateId}&templateVersion={templateVersion}&vendorType={vendorType}",
+                        templateId, templateVersion, vendorType))
+                .map(TemplateVendorPageResponse::getVendorMappings);
+    }
+
+    /**
+     * A template version; empty if it does not exist
+     */
+    public Mono<MasterTemplateDto> getTemplate(UUID templateId, int templateVersion) {
+        return lookup("template:" + templateId + ":" + templateVersion, TemplateResponse.class,
+                spec -> spec.uri("/templates/{templateId}/versions/{templateVersion}", templateId, templateVersion))
+                .map(TemplateResponse::getTemplate);
+    }
+
+    /**
+     * A vendor mapping; empty if it does not exist
+     */
+    public Mono<TemplateVendorMappingDto> getVendorMapping(UUID vendorId) {
+        return lookup("vendor:" + vendorId, TemplateVendorResponse.class,
+                spec -> spec.uri("/templates/vendors/{vendorId}", vendorId))
+                .map(TemplateVendorResponse::getVendorMapping);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private <T> Mono<T> lookup(String key, Class<T> type,
+                               Function<WebClient.RequestHeadersUriSpec<?>, WebClient.RequestHeadersSpec<?>> request) {
+        return Mono.defer(() -> {
+            @SuppressWarnings("unchecked")
+            CachedResponse<T> cached = (CachedResponse<T>) cache.getIfPresent(key);
+            Instant now = clock.instant();
+            if (cached != null && cached.isFresh(now, settings.getFreshFor())) {
+                return Mono.just(cached.body());
+            }
+            if (cached != null && cached.isFresh(now, settings.getFreshFor().plus(settings.getStaleWhileRevalidate()))) {
+                revalidate(key, type, request, cached).subscribe(
+                        refreshed -> log.debug("Revalidated in background: key={}", key),
+                        error -> log.warn("Background revalidation failed: key={}, error={}", key, error.getMessage()));
+                return Mono.just(cached.body());
+            }
+            return revalidate(key, type, request, cached).map(CachedResponse::body);
+        });
+    }
+
+    /**
+     * Conditional request for a key, shared by every caller until it completes
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Mono<CachedResponse<T>> revalidate(String key, Class<T> type,
+                                                   Function<WebClient.RequestHeadersUriSpec<?>, WebClient.RequestHeadersSpec<?>> request,
+                                                   CachedResponse<T> cached) {
+        return (Mono<CachedResponse<T>>) inFlight.computeIfAbsent(key, k -> exchange(k, type, request, cached)
+                .doFinally(signal -> inFlight.remove(k))
+                .cache());
+    }
+
+    private <T> Mono<CachedResponse<T>> exchange(String key, Class<T> type,
+                                                 Function<WebClient.RequestHeadersUriSpec<?>, WebClient.RequestHeadersSpec<?>> request,
+                                                 CachedResponse<T> cached) {
+        return request.apply(webClient.get())
+                .headers(headers -> {
+                    if (cached != null && cached.eTag() != null) {
+                        headers.setIfNoneMatch(cached.eTag());
+                    }
+                })
+                .exchangeToMono(response -> {
+                    Instant now = clock.instant();
+                    if (response.statusCode() == HttpStatus.NOT_MODIFIED && cached != null) {
+                        return response.releaseBody().thenReturn(cached.revalidated(now));
+                    }
+                    if (response.statusCode() == HttpStatus.NOT_FOUND) {
+                        cache.invalidate(key);
+                        return response.releaseBody().then(Mono.<CachedResponse<T>>empty());
+                    }
+                    if (response.statusCode().is2xxSuccessful()) {
+                        String eTag = response.headers().asHttpHeaders().getETag();
+                        return response.bodyToMono(type).map(body -> new CachedResponse<>(body, eTag, now));
+                    }
+                    return response.createException().flatMap(error -> Mono.<CachedResponse<T>>error(error));
+                })
+                .doOnNext(entry -> cache.put(key, entry));
+    }
+}
@@ -0,0 +1,34 @@
+package com.templatemanagement.client;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * Near-cache policy of {@link TemplateManagementClient}.
+ * <p>
+ * A cached response is served without a request for freshFor. For a further staleWhileRevalidate
+ * it is still served, while one background request revalidates it. After that, and until the entry
+ * has gone unrefreshed for retainFor, a lookup waits for a conditional request (If-None-Match), which
+ * the service answers with 304 and no body when nothing changed.
+ */
+@Value
+@Builder
+public class TemplateManagementClientSettings {
+
+    /** Base URL of the service API, e.g. http://template-management:8081/api/v1 */
+    String baseUrl;
+
+    @Builder.Default
+    Duration freshFor = Duration.ofSeconds(30);
+
+    @Builder.Default
+    Duration staleWhileRevalidate = Duration.ofMinutes(5);
+
+    @Builder.Default
+    Duration retainFor = Duration.ofHours(1);
+
+    @Builder.Default
+    long maximumSize = 10_000;
+}
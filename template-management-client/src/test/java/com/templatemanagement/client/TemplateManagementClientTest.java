@@ -0,0 +1,165 @@
+package com.templatemanagement.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TemplateManagementClient Tests")
+class TemplateManagementClientTest {
+
+    private static final String ROUTING_ETAG = "W/\"3f2a9c01d4e5b6a7\"";
+
+    private final UUID templateId = UUID.randomUUID();
+    private final List<ClientRequest> requests = new CopyOnWriteArrayList<>();
+    private final MutableClock clock = new MutableClock();
+    private Supplier<Mono<ClientResponse>> responder;
+    private TemplateManagementClient client;
+
+    @BeforeEach
+    void setUp() {
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+            requests.add(request);
+            return responder.get();
+        });
+        client = new TemplateManagementClient(builder, TemplateManagementClientSettings.builder()
+                .baseUrl("http://localhost:8081/api/v1")
+                .freshFor(Duration.ofSeconds(30))
+                .staleWhileRevalidate(Duration.ofMinutes(5))
+                .build(), clock);
+    }
+
+    @Test
+    @DisplayName("Should serve routing lookups from the near-cache while fresh")
+    void getVendorsForRouting_Fresh() {
+        responder = () -> Mono.just(routingResponse());
+
+        StepVerifier.create(client.getVendorsForRouting(templateId, 1, "GENERATION"))
+                .assertNext(vendors -> assertThat(vendors).hasSize(1))
+                .verifyComplete();
+        StepVerifier.create(client.getVendorsForRouting(templateId, 1, "GENERATION"))
+                .assertNext(vendors -> assertThat(vendors.get(0).getVendor()).isEqualTo("SmartComm"))
+                .verifyComplete();
+
+        assertThat(requests).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should serve a stale entry and revalidate it in the background with If-None-Match")
+    void getVendorsForRouting_StaleWhileRevalidate() {
+        responder = () -> Mono.just(routingResponse());
+        client.getVendorsForRouting(templateId, 1, "GENERATION").block();
+
+        clock.advance(Duration.ofSeconds(31));
+        responder = () -> Mono.just(ClientResponse.create(HttpStatus.NOT_MODIFIED).build());
+
+        StepVerifier.create(client.getVendorsForRouting(templateId, 1, "GENERATION"))
+                .assertNext(vendors -> assertThat(vendors).hasSize(1))
+                .verifyComplete();
+        // The 304 made the entry fresh again
+        client.getVendorsForRouting(templateId, 1, "GENERATION").block();
+
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(1).headers().getIfNoneMatch()).containsExactly(ROUTING_ETAG);
+    }
+
+    @Test
+    @DisplayName("Should wait for a conditional request once the stale window has passed")
+    void getTemplate_Revalidate() {
+        responder = () -> Mono.just(templateResponse());
+        client.getTemplate(templateId, 1).block();
+
+        clock.advance(Duration.ofMinutes(6));
+        responder = () -> Mono.just(ClientResponse.create(HttpStatus.NOT_MODIFIED).build());
+
+        StepVerifier.create(client.getTemplate(templateId, 1))
+                .assertNext(template -> assertThat(template.getTemplateType()).isEqualTo("STATEMENT"))
+                .verifyComplete();
+
+        assertThat(requests).hasSize(2);
+        assertThat(requests.get(1).headers().getIfNoneMatch()).containsExactly("\"4\"");
+    }
+
+    @Test
+    @DisplayName("Should share one request between concurrent lookups of the same key")
+    void getTemplate_Coalesced() {
+        responder = () -> Mono.delay(Duration.ofMillis(100)).thenReturn(templateResponse());
+
+        StepVerifier.create(Mono.zip(client.getTemplate(templateId, 1), client.getTemplate(templateId, 1)))
+                .assertNext(both -> assertThat(both.getT1()).isSameAs(both.getT2()))
+                .verifyComplete();
+
+        assertThat(requests).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should complete empty for a missing template")
+    void getTemplate_NotFound() {
+        responder = () -> Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build());
+
+        StepVerifier.create(client.getTemplate(templateId, 9))
+                .verifyComplete();
+    }
+
+    private ClientResponse routingResponse() {
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.ETAG, ROUTING_ETAG)
+                .body("{\"vendorMappings\":[{\"templateVendorId\":\"" + UUID.randomUUID() + "\",\"masterTemplateId\":\""
+                        + templateId + "\",\"templateVersion\":1,\"vendor\":\"SmartComm\",\"vendorType\":\"GENERATION\","
+                        + "\"priorityOrder\":1,\"versionNumber\":2}],\"pagination\":{\"page\":0,\"size\":1}}")
+                .build();
+    }
+
+    private ClientResponse templateResponse() {
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.ETAG, "\"4\"")
+                .body("{\"template\":{\"masterTemplateId\":\"" + templateId + "\",\"templateVersion\":1,"
+                        + "\"templateType\":\"STATEMENT\",\"createdTimestamp\":\"2026-10-18T09:30:15.123456\",\"versionNumber\":4}}")
+                .build();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2026-10-18T09:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}